@@ -1,10 +1,15 @@
 package io.github.thecsdev.betterstats.api.client.badge;
 
+import java.util.Arrays;
 import java.util.Objects;
 import java.util.function.Function;
 import net.minecraft.network.chat.Component;
+import net.minecraft.stats.Stat;
 import org.jetbrains.annotations.Nullable;
 
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+
 import io.github.thecsdev.betterstats.BetterStats;
 import io.github.thecsdev.betterstats.api.util.io.IStatsProvider;
 import io.github.thecsdev.betterstats.api.util.stats.SUPlayerBadgeStat;
@@ -23,6 +28,13 @@ public @Virtual class BSClientPlayerBadge extends ClientPlayerBadge
 	protected final Component name, description;
 	// --------------------------------------------------
 	protected @Nullable Function<IStatsProvider, Integer> statCriteria = EMPTY_CRITERIA;
+	protected Stat<?>[] statDependencies = null; //null when unknown
+	// --------------------------------------------------
+	/**
+	 * The last "stat criteria" result for each {@link IStatsProvider},
+	 * weakly keyed by the {@link IStatsProvider} instances.
+	 */
+	private final Cache<IStatsProvider, CriteriaResult> criteriaResults = CacheBuilder.newBuilder().weakKeys().build();
 	// ==================================================
 	public BSClientPlayerBadge(Component title, Component description) throws NullPointerException
 	{
@@ -57,6 +69,70 @@ public @Virtual class BSClientPlayerBadge extends ClientPlayerBadge
 		if(this.statCriteria != null && this.statCriteria != EMPTY_CRITERIA)
 			throw new IllegalStateException("Already defined.");
 		this.statCriteria = statCriteria;
+		this.criteriaResults.invalidateAll();
+	}
+	
+	/**
+	 * Sets the "stat criteria" {@link Function}, along with the {@link Stat}s it reads.
+	 * <p>
+	 * Declaring the {@link Stat}s allows the criteria's results to be cached, so that the
+	 * criteria is only evaluated again once the value of one of those {@link Stat}s changes.
+	 * The criteria must therefore not read any {@link Stat}s other than the declared ones.
+	 * @param statCriteria The "stat criteria" {@link Function}.
+	 * @param statDependencies The {@link Stat}s the criteria reads.
+	 * @see #getStatCriteria()
+	 * @see #evaluateStatCriteria(IStatsProvider)
+	 * @throws IllegalStateException If {@link #statCriteria} is already defined.
+	 * @throws NullPointerException If a {@link Stat} is {@code null}.
+	 */
+	public final void setStatCriteria(@Nullable Function<IStatsProvider, Integer> statCriteria, Stat<?>... statDependencies)
+			throws IllegalStateException, NullPointerException
+	{
+		for(final var stat : statDependencies) Objects.requireNonNull(stat);
+		setStatCriteria(statCriteria);
+		this.statDependencies = statDependencies.clone();
+	}
+	// --------------------------------------------------
+	/**
+	 * Evaluates the "stat criteria" {@link Function} for a given {@link IStatsProvider}.
+	 * <p>
+	 * If the criteria's {@link Stat}s were declared, the result is cached, and is only computed again once the
+	 * {@link IStatsProvider}'s {@link IStatsProvider#getVersion()} changes, and the value of a declared {@link Stat} differs.
+	 * @param statsProvider The {@link IStatsProvider}.
+	 * @return The "value" of this {@link BSClientPlayerBadge} to "award", or {@code 0} if there is no criteria.
+	 * @throws NullPointerException If the argument is {@code null}.
+	 * @see #setStatCriteria(Function, Stat...)
+	 */
+	public final int evaluateStatCriteria(IStatsProvider statsProvider) throws NullPointerException
+	{
+		Objects.requireNonNull(statsProvider);
+		final @Nullable var statCriteria = this.statCriteria;
+		if(statCriteria == null) return 0;
+		
+		//criteria whose stats aren't known cannot be cached
+		final @Nullable var statDependencies = this.statDependencies;
+		if(statDependencies == null) return statCriteria.apply(statsProvider);
+		
+		//if the stats didn't change at all, the cached result holds
+		final long version = statsProvider.getVersion();
+		final @Nullable var cached = this.criteriaResults.getIfPresent(statsProvider);
+		if(cached != null && version != -1 && cached.version == version) return cached.result;
+		
+		//if the declared stats didn't change, the cached result holds too
+		final int[] inputs = new int[statDependencies.length];
+		for(int i = 0; i < inputs.length; i++) inputs[i] = statsProvider.getStatValue(statDependencies[i]);
+		final int result = (cached != null && Arrays.equals(cached.inputs, inputs)) ?
+				cached.result : statCriteria.apply(statsProvider);
+		this.criteriaResults.put(statsProvider, new CriteriaResult(version, inputs, result));
+		return result;
+	}
+	// ==================================================
+	private static final class CriteriaResult
+	{
+		final long version;
+		final int[] inputs;
+		final int result;
+		CriteriaResult(long version, int[] inputs, int result) { this.version = version; this.inputs = inputs; this.result = result; }
 	}
 	// ==================================================
 }
\ No newline at end of file
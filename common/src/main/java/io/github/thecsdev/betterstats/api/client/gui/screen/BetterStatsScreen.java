@@ -41,6 +41,7 @@ public final class BetterStatsScreen extends TScreenPlus implements IParentScree
 	private final     StatFilterSettings filterSettings   = new StatFilterSettings();
 	// --------------------------------------------------
 	private boolean statsAlreadyRequested = false; //prevents duplicate requests and soft-locks
+	private long    statsVersion          = -1;    //the stats provider's version as of the last initialization
 	// --------------------------------------------------
 	private @Nullable BetterStatsPanel bsPanel;
 	// ==================================================
@@ -122,9 +123,24 @@ public final class BetterStatsScreen extends TScreenPlus implements IParentScree
 	 * Refreshes this screen by clearing and re-initializing its children.
 	 */
 	public final void refresh() { if(!isOpen()) return; clearChildren(); init(); }
+	
+	/**
+	 * Calls {@link #refresh()}, but only if the {@link IStatsProvider}'s statistics
+	 * changed since this screen was last initialized.
+	 * @see IStatsProvider#getVersion()
+	 */
+	public final void refreshIfChanged()
+	{
+		final long version = this.statsProvider.getVersion();
+		if(version != -1 && version == this.statsVersion) return;
+		refresh();
+	}
 	// --------------------------------------------------
 	protected final @Override void init()
 	{
+		//keep track of the version of the statistics that are about to be shown
+		this.statsVersion = this.statsProvider.getVersion();
+		
 		//initialize the content pane panel
 		this.bsPanel = new BetterStatsPanel(0, 0, getWidth(), getHeight(), new BetterStatsPanelProxy()
 		{
@@ -27,8 +27,8 @@ final @Internal class BetterStatsScreenWrapper
 	{
 		//if the user is viewing their own statistics, and they receive a statistics packet...
 		if(this.target.getStatsProvider() == LocalPlayerStatsProvider.getInstance())
-			//...refresh the statistics screen
-			this.target.refresh();
+			//...refresh the statistics screen, unless the packet didn't change anything
+			this.target.refreshIfChanged();
 	}
 	
 	public final @Override void onStatsReady(TpslContext context)
@@ -40,7 +40,7 @@ final @Internal class BetterStatsScreenWrapper
 			//handle based on response type
 			switch(context.getType())
 			{
-				case SAME_SERVER_PLAYER: this.target.refresh(); break;
+				case SAME_SERVER_PLAYER: this.target.refreshIfChanged(); break;
 				case SAME_SERVER_PLAYER_NOT_FOUND:
 					final var dialog = new TDialogBoxScreen(this,
 							translatable("mco.configure.world.players.error"),
@@ -52,6 +52,11 @@ final @Internal class BetterStatsScreenWrapper
 		}
 	}
 	// --------------------------------------------------
-	public @Override void onPlayerBadgesReady() { onStatsReady(); }
+	public @Override void onPlayerBadgesReady()
+	{
+		//player badge changes are not tracked by the local player's stats version, so always refresh here
+		if(this.target.getStatsProvider() == LocalPlayerStatsProvider.getInstance())
+			this.target.refresh();
+	}
 	// ==================================================
 }
\ No newline at end of file
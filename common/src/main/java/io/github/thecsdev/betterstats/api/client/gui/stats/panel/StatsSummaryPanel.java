@@ -4,8 +4,10 @@ import static io.github.thecsdev.tcdcommons.api.util.TextUtils.literal;
 
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.IdentityHashMap;
 import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Set;
 import net.minecraft.core.registries.BuiltInRegistries;
 import net.minecraft.network.chat.Component;
 import net.minecraft.stats.StatType;
@@ -16,12 +18,14 @@ import org.jetbrains.annotations.Nullable;
 import io.github.thecsdev.betterstats.api.client.gui.panel.BSComponentPanel;
 import io.github.thecsdev.betterstats.api.client.gui.stats.widget.GeneralStatWidget;
 import io.github.thecsdev.betterstats.api.registry.BSRegistries;
+import io.github.thecsdev.betterstats.api.util.io.IStatsProvider;
 import io.github.thecsdev.betterstats.api.util.stats.SUItemStat;
 import io.github.thecsdev.betterstats.api.util.stats.SUMobStat;
 import io.github.thecsdev.tcdcommons.api.client.gui.other.TLabelElement;
 import io.github.thecsdev.tcdcommons.api.client.gui.panel.TPanelElement;
 import io.github.thecsdev.tcdcommons.api.client.gui.util.TDrawContext;
 import io.github.thecsdev.tcdcommons.api.util.enumerations.HorizontalAlignment;
+import it.unimi.dsi.fastutil.objects.ReferenceOpenHashSet;
 
 /**
  * A {@link BSComponentPanel} that summarizes given {@link Collection}s
@@ -71,30 +75,31 @@ public final class StatsSummaryPanel extends BSComponentPanel
 		//first clear any existing entries
 		clearEntries();
 		
-		//create a map to track all the totals
+		//create a map to track all the totals, and initialize it with the item and block stat types
 		final var map = new LinkedHashMap<StatType<?>, Long>();
-		
-		//initialize the map, and count the stats totals
 		for(final var statType : BuiltInRegistries.STAT_TYPE)
 		{
-			//check stat type registry
 			final var stR = statType.getRegistry();
-			final var isBlock = (stR == BuiltInRegistries.BLOCK);
-			final var isItem = (stR == BuiltInRegistries.ITEM);
-			if(!(isBlock || isItem)) continue;
-			final @SuppressWarnings("unchecked") var statTypeO = (StatType<Object>)statType;
-			
-			//start counting
-			long count = 0;
-			for(final var itemStat : itemStats)
-				count += itemStat.getStatsProvider().getStatValue(
-						statTypeO,
-						isItem ? itemStat.getItem() : itemStat.getBlock());
-			
-			//add the count to the map
-			map.put(statType, count);
+			if(stR == BuiltInRegistries.BLOCK || stR == BuiltInRegistries.ITEM)
+				map.put(statType, 0L);
+		}
+		
+		//collect the summarized items and blocks, grouped by their stats providers
+		final var subjects = new IdentityHashMap<IStatsProvider, Set<Object>>();
+		for(final var itemStat : itemStats)
+		{
+			final var set = subjects.computeIfAbsent(itemStat.getStatsProvider(), __ -> new ReferenceOpenHashSet<>());
+			set.add(itemStat.getItem());
+			if(itemStat.getBlock() != null) set.add(itemStat.getBlock());
 		}
 		
+		//count the stats totals, by only visiting the non-zero stats
+		subjects.forEach((statsProvider, set) -> statsProvider.forEachNonZeroStat((stat, value) ->
+		{
+			if(map.containsKey(stat.getType()) && set.contains(stat.getValue()))
+				map.merge(stat.getType(), (long)value, Long::sum);
+		}));
+		
 		//add entries
 		map.forEach((statType, statValue) -> addEntry(statType.getDisplayName(), literal(Long.toString(statValue))));
 		
@@ -111,29 +116,29 @@ public final class StatsSummaryPanel extends BSComponentPanel
 		//first clear any existing entries
 		clearEntries();
 		
-		//create a map to track all the totals
-		final var map = new LinkedHashMap<StatType<EntityType<?>>, Long>();
-		
-		//initialize the map, and count the stats totals
+		//create a map to track all the totals, and initialize it with the entity stat types
+		final var map = new LinkedHashMap<StatType<?>, Long>();
 		for(final var statType : BuiltInRegistries.STAT_TYPE)
+			if(statType.getRegistry() == BuiltInRegistries.ENTITY_TYPE)
+				map.put(statType, 0L);
+		
+		//collect the summarized entity types, grouped by their stats providers
+		final var subjects = new IdentityHashMap<IStatsProvider, Set<Object>>();
+		for(final var mobStat : mobStats)
+			subjects.computeIfAbsent(mobStat.getStatsProvider(), __ -> new ReferenceOpenHashSet<>()).add(mobStat.getEntityType());
+		
+		//count the stats totals, by only visiting the non-zero stats
+		subjects.forEach((statsProvider, set) -> statsProvider.forEachNonZeroStat((stat, value) ->
 		{
-			//check stat type registry
-			if(statType.getRegistry() != BuiltInRegistries.ENTITY_TYPE) continue;
-			final @SuppressWarnings("unchecked") var statTypeE = (StatType<EntityType<?>>)statType;
-			
-			//start counting
-			long count = 0;
-			for(final var mobStat : mobStats)
-				count += mobStat.getStatsProvider().getStatValue(statTypeE, mobStat.getEntityType());
-			
-			//add the count to the map
-			map.put(statTypeE, count);
-		}
+			if(map.containsKey(stat.getType()) && set.contains(stat.getValue()))
+				map.merge(stat.getType(), (long)value, Long::sum);
+		}));
 		
 		//add entries
 		map.forEach((statType, statValue) ->
 		{
-			final var phrase = BSRegistries.getEntityStatTypePhrase(statType);
+			@SuppressWarnings("unchecked")
+			final var phrase = BSRegistries.getEntityStatTypePhrase((StatType<EntityType<?>>)statType);
 			addEntry(phrase, literal(Long.toString(statValue)));
 		});
 		
@@ -9,13 +9,13 @@ import net.minecraft.client.gui.components.Tooltip;
 import net.minecraft.client.gui.screens.Screen;
 import net.minecraft.core.registries.BuiltInRegistries;
 import net.minecraft.network.chat.Component;
-import net.minecraft.stats.StatType;
 import net.minecraft.world.item.ItemStack;
 import net.minecraft.world.level.block.Blocks;
 import org.jetbrains.annotations.Nullable;
 
 import io.github.thecsdev.betterstats.api.registry.BSRegistries;
 import io.github.thecsdev.betterstats.api.util.enumerations.ItemStatType;
+import io.github.thecsdev.betterstats.api.util.io.StatSchema;
 import io.github.thecsdev.betterstats.api.util.stats.SUItemStat;
 import io.github.thecsdev.tcdcommons.api.client.gui.util.GuiUtils;
 import io.github.thecsdev.tcdcommons.api.client.gui.util.TDrawContext;
@@ -48,17 +48,22 @@ public @Virtual class ItemStatWidget extends AbstractStatWidget<SUItemStat>
 		final StringBuilder tttb = new StringBuilder();
 		final boolean hasNoBlock = (stat.getBlock() == null || stat.getBlock() == Blocks.AIR);
 		
+		//obtain the raw IDs of the item and the block, to look their stats up in the schema
+		final var schema = StatSchema.get();
+		final int itemRawId = BuiltInRegistries.ITEM.getId(stat.getItem());
+		final int blockRawId = hasNoBlock ? -1 : BuiltInRegistries.BLOCK.getId(stat.getBlock());
+		
 		//iterate all registered stat types, to append their values to the tooltip text
-		BuiltInRegistries.STAT_TYPE.forEach(st ->
+		for(final var st : schema.getStatTypes())
 		{
 			//ignore all registries but ITEM and BLOCK where applicable
 			final var stRegIsItem = (st.getRegistry() == BuiltInRegistries.ITEM);
 			if (!stRegIsItem && (hasNoBlock || st.getRegistry() != BuiltInRegistries.BLOCK))
-				return;
+				continue;
 			
 			//next up, obtain the StatType's Stat
-			@SuppressWarnings({ "unchecked", "rawtypes" })
-			final var stStat = ((StatType)st).get(stRegIsItem ? stat.getItem() : stat.getBlock());
+			final @Nullable var stStat = schema.statOf(schema.idOfRawId(st, stRegIsItem ? itemRawId : blockRawId));
+			if(stStat == null) continue;
 			
 			//use the Stat instance to obtain the Stat value
 			final String val = stStat.format(stat.getStatsProvider().getStatValue(stStat));
@@ -67,7 +72,7 @@ public @Virtual class ItemStatWidget extends AbstractStatWidget<SUItemStat>
 			tttb.append("§e-§r ");
 			tttb.append(Optional.ofNullable(st.getDisplayName()).orElse(literal("???")).getString());
 			tttb.append(": " + val + "\n");
-		});
+		}
 		final Component ttt = literal("")
 				.append(literal("").append(stat.getStatLabel()).withStyle(ChatFormatting.YELLOW)).append("\n")
 				.append(literal(Objects.toString(stat.getStatID())).withStyle(ChatFormatting.GRAY))
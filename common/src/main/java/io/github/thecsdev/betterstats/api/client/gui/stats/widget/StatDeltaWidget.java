@@ -0,0 +1,47 @@
+package io.github.thecsdev.betterstats.api.client.gui.stats.widget;
+
+import static io.github.thecsdev.tcdcommons.api.util.TextUtils.fLiteral;
+import static io.github.thecsdev.tcdcommons.api.util.TextUtils.literal;
+import static io.github.thecsdev.tcdcommons.client.TCDCommonsClient.MC_CLIENT;
+
+import io.github.thecsdev.betterstats.api.util.stats.SUStatDelta;
+import io.github.thecsdev.tcdcommons.api.client.gui.util.TDrawContext;
+import io.github.thecsdev.tcdcommons.api.util.annotations.Virtual;
+import io.github.thecsdev.tcdcommons.api.util.enumerations.HorizontalAlignment;
+import net.minecraft.client.gui.components.Tooltip;
+import net.minecraft.network.chat.Component;
+
+/**
+ * A GUI widget that displays the difference between the values of a {@link SUStatDelta}'s statistic.
+ */
+public @Virtual class StatDeltaWidget extends AbstractStatWidget<SUStatDelta>
+{
+	// ==================================================
+	public static final int HEIGHT = MC_CLIENT.font.lineHeight + 8;
+	// --------------------------------------------------
+	protected final Component txt_label;
+	protected final Component txt_value;
+	// ==================================================
+	public StatDeltaWidget(int x, int y, int width, SUStatDelta stat) throws NullPointerException
+	{
+		super(x, y, width, HEIGHT, stat);
+		this.txt_label = stat.getStatLabel();
+		this.txt_value = stat.deltaText;
+		
+		final Component ttt = literal("") //MUST create new text instance
+				.append(stat.getStatLabel())
+				.append(fLiteral("\n§7K: " + stat.getStatID()))
+				.append("\n\n§r")
+				.append(fLiteral("§e" + stat.oldValueText.getString() + " §r→ §e" + stat.newValueText.getString()))
+				.append(fLiteral("\n§r(").append(stat.deltaText).append(fLiteral("§r)")));
+		setTooltip(Tooltip.create(ttt));
+	}
+	// ==================================================
+	public @Virtual @Override void render(TDrawContext pencil)
+	{
+		super.render(pencil);
+		pencil.drawTElementTextTH(this.txt_label, HorizontalAlignment.LEFT);
+		pencil.drawTElementTextTH(this.txt_value, HorizontalAlignment.RIGHT);
+	}
+	// ==================================================
+}
\ No newline at end of file
@@ -6,11 +6,12 @@ import static io.github.thecsdev.tcdcommons.api.registry.TRegistries.PLAYER_BADG
 
 import java.awt.Rectangle;
 import net.minecraft.resources.ResourceLocation;
+import net.minecraft.stats.Stat;
 import net.minecraft.stats.Stats;
 import net.minecraft.world.item.Items;
+import net.minecraft.world.level.block.Blocks;
 import io.github.thecsdev.betterstats.BetterStats;
 import io.github.thecsdev.betterstats.api.client.badge.BSClientPlayerBadge;
-import io.github.thecsdev.betterstats.api.util.stats.SUItemStat;
 import io.github.thecsdev.betterstats.util.BST;
 import io.github.thecsdev.tcdcommons.api.client.gui.util.UITexture;
 import io.github.thecsdev.tcdcommons.api.client.render.badge.PBTextureRenderer;
@@ -54,17 +55,33 @@ public final class BSClientPlayerBadges
 				BST.pbadge_psurvivor_description());
 		
 		//set badge criteria
-		dedication.setStatCriteria(sp -> (sp.getStatValue(Stats.CUSTOM, Stats.PLAY_TIME) > 20736000) ? 1 : 0);
-		loyalty.setStatCriteria(sp -> (sp.getStatValue(Stats.CUSTOM, Stats.PLAY_TIME) > 20736000 * 2) ? 1 : 0);
-		the_next_generation.setStatCriteria(sp -> new SUItemStat(sp, Items.DRAGON_EGG).isEmpty() ? 0 : 1);
+		final var playTime = Stats.CUSTOM.get(Stats.PLAY_TIME);
+		dedication.setStatCriteria(sp -> (sp.getStatValue(playTime) > 20736000) ? 1 : 0, playTime);
+		loyalty.setStatCriteria(sp -> (sp.getStatValue(playTime) > 20736000 * 2) ? 1 : 0, playTime);
+		final Stat<?>[] dragonEgg = {
+				Stats.BLOCK_MINED.get(Blocks.DRAGON_EGG),
+				Stats.ITEM_CRAFTED.get(Items.DRAGON_EGG),
+				Stats.ITEM_USED.get(Items.DRAGON_EGG),
+				Stats.ITEM_BROKEN.get(Items.DRAGON_EGG),
+				Stats.ITEM_PICKED_UP.get(Items.DRAGON_EGG),
+				Stats.ITEM_DROPPED.get(Items.DRAGON_EGG) };
+		the_next_generation.setStatCriteria(sp ->
+		{
+			for(final var stat : dragonEgg) if(sp.getStatValue(stat) != 0) return 1;
+			return 0;
+		}, dragonEgg);
+		final var walk = Stats.CUSTOM.get(Stats.WALK_ONE_CM);
+		final var sprint = Stats.CUSTOM.get(Stats.SPRINT_ONE_CM);
+		final var aviate = Stats.CUSTOM.get(Stats.AVIATE_ONE_CM);
 		adventurous_traveler.setStatCriteria(sp ->
 		{
-			boolean a = sp.getStatValue(Stats.CUSTOM, Stats.WALK_ONE_CM) +
-						sp.getStatValue(Stats.CUSTOM, Stats.SPRINT_ONE_CM) +
-						sp.getStatValue(Stats.CUSTOM, Stats.AVIATE_ONE_CM) > 72700000;
+			boolean a = sp.getStatValue(walk) +
+						sp.getStatValue(sprint) +
+						sp.getStatValue(aviate) > 72700000;
 			return a ? 1 : 0;
-		});
-		perennial_survivor.setStatCriteria(sp -> sp.getStatValue(Stats.CUSTOM, Stats.TIME_SINCE_DEATH) > 864000 ? 1 : 0);
+		}, walk, sprint, aviate);
+		final var timeSinceDeath = Stats.CUSTOM.get(Stats.TIME_SINCE_DEATH);
+		perennial_survivor.setStatCriteria(sp -> sp.getStatValue(timeSinceDeath) > 864000 ? 1 : 0, timeSinceDeath);
 		
 		//register badges
 		final String modId = BetterStats.getModID();
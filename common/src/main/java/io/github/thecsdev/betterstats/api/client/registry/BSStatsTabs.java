@@ -10,6 +10,7 @@ import io.github.thecsdev.betterstats.client.gui.stats.tabs.AdvancementsTab;
 import io.github.thecsdev.betterstats.client.gui.stats.tabs.BSConfigTab;
 import io.github.thecsdev.betterstats.client.gui.stats.tabs.BSCreditsTab;
 import io.github.thecsdev.betterstats.client.gui.stats.tabs.BSStatsSharingTab;
+import io.github.thecsdev.betterstats.client.gui.stats.tabs.ComparisonStatsTab;
 import io.github.thecsdev.betterstats.client.gui.stats.tabs.FoodStuffsStatsTab;
 import io.github.thecsdev.betterstats.client.gui.stats.tabs.GeneralStatsTab;
 import io.github.thecsdev.betterstats.client.gui.stats.tabs.ItemStatsTab;
@@ -42,6 +43,7 @@ public final class BSStatsTabs
 	public static final StatsTab FOOD_STUFFS       = new FoodStuffsStatsTab();
 	public static final StatsTab MONSTERS_HUNTED   = new MonstersHuntedStatsTab();
 	public static final StatsTab PLAYER_BADGES     = new PlayerBadgeStatsTab();
+	public static final StatsTab COMPARISON        = new ComparisonStatsTab();
 	public static final StatsTab BSS_STATS_SHARING = new BSStatsSharingTab();
 	public static final StatsTab ADVANCEMENTS      = new AdvancementsTab();
 	// ==================================================
@@ -61,6 +63,7 @@ public final class BSStatsTabs
 		BSClientRegistries.STATS_TAB.register(ResourceLocation.fromNamespaceAndPath(modId, "food_stuffs"),       FOOD_STUFFS);
 		BSClientRegistries.STATS_TAB.register(ResourceLocation.fromNamespaceAndPath(modId, "monsters_hunted"),   MONSTERS_HUNTED);
 		BSClientRegistries.STATS_TAB.register(ResourceLocation.fromNamespaceAndPath(modId, "player_badges"),     PLAYER_BADGES);
+		BSClientRegistries.STATS_TAB.register(ResourceLocation.fromNamespaceAndPath(modId, "comparison"),        COMPARISON);
 		BSClientRegistries.STATS_TAB.register(ResourceLocation.fromNamespaceAndPath(modId, "bss_stats_sharing"), BSS_STATS_SHARING);
 		BSClientRegistries.STATS_TAB.register(ResourceLocation.fromNamespaceAndPath(modId, "advancements"),      ADVANCEMENTS);
 	}
@@ -1,6 +1,8 @@
 package io.github.thecsdev.betterstats.api.client.util.io;
 
 import java.util.Objects;
+import java.util.Set;
+import java.util.function.ObjIntConsumer;
 import net.minecraft.client.Minecraft;
 import net.minecraft.client.player.LocalPlayer;
 import net.minecraft.network.chat.Component;
@@ -8,14 +10,21 @@ import net.minecraft.resources.ResourceLocation;
 import net.minecraft.stats.Stat;
 import net.minecraft.stats.StatType;
 import net.minecraft.stats.StatsCounter;
+import org.jetbrains.annotations.ApiStatus.Internal;
 import org.jetbrains.annotations.Nullable;
 
 import com.mojang.authlib.GameProfile;
 
+import io.github.thecsdev.betterstats.api.util.BSUtils;
 import io.github.thecsdev.betterstats.api.util.io.IStatsProvider;
+import io.github.thecsdev.betterstats.api.util.io.StatsChangeTracker;
 import io.github.thecsdev.betterstats.client.BetterStatsClient;
 import io.github.thecsdev.tcdcommons.api.badge.PlayerBadgeHandler;
 import io.github.thecsdev.tcdcommons.api.client.badge.ClientPlayerBadge;
+import io.github.thecsdev.tcdcommons.mixin.hooks.AccessorStatHandler;
+import it.unimi.dsi.fastutil.objects.Object2IntMap;
+import it.unimi.dsi.fastutil.objects.Object2IntMaps;
+import it.unimi.dsi.fastutil.objects.ReferenceOpenHashSet;
 
 /**
  * An {@link IStatsProvider} for {@link LocalPlayer}s.
@@ -32,6 +41,8 @@ public final class LocalPlayerStatsProvider implements IStatsProvider
 	private final GameProfile        gameProfile;
 	private final StatsCounter        statsHandler;
 	private final PlayerBadgeHandler badgeHandler;
+	//
+	private final StatsChangeTracker changeTracker = new StatsChangeTracker();
 	// ==================================================
 	private LocalPlayerStatsProvider(LocalPlayer player) throws NullPointerException
 	{
@@ -50,6 +61,25 @@ public final class LocalPlayerStatsProvider implements IStatsProvider
 	public final @Override int getStatValue(Stat<?> stat) { return this.statsHandler.getValue(stat); }
 	public final @Override <T> int getStatValue(StatType<T> type, T stat) { return this.statsHandler.getValue(type, stat); }
 	public final @Override int getPlayerBadgeValue(ResourceLocation badgeId) { return this.badgeHandler.getValue(badgeId); }
+	//
+	public final @Override void forEachNonZeroStat(ObjIntConsumer<Stat<?>> action) throws NullPointerException
+	{
+		BSUtils.forEachNonZero(((AccessorStatHandler)this.statsHandler).getStatMap(), action);
+	}
+	public final @Override void forEachNonZeroPlayerBadge(ObjIntConsumer<ResourceLocation> action) throws NullPointerException
+	{
+		Objects.requireNonNull(action);
+		for(final var entry : this.badgeHandler)
+			if(entry.getIntValue() != 0) action.accept(entry.getKey(), entry.getIntValue());
+	}
+	// --------------------------------------------------
+	/**
+	 * {@inheritDoc}
+	 * @apiNote The version changes when a statistics packet that changes any
+	 * statistics is received. Player badge changes are not tracked.
+	 */
+	public final @Override long getVersion() { return this.changeTracker.getVersion(); }
+	public final @Override @Nullable Set<StatType<?>> getChangedStatTypes(long sinceVersion) { return this.changeTracker.getChangedStatTypes(sinceVersion); }
 	// ==================================================
 	public final @Override int hashCode() { return this.player.hashCode(); }
 	public final @Override boolean equals(Object obj)
@@ -82,6 +112,26 @@ public final class LocalPlayerStatsProvider implements IStatsProvider
 		}
 	}
 	
+	/**
+	 * Called on the main thread right before the {@link LocalPlayer}'s
+	 * {@link StatsCounter} is updated using values received from the server.
+	 * Updates the current {@link LocalPlayerStatsProvider}'s version if any values changed.
+	 * @param stats The received statistics.
+	 */
+	public static final @Internal void __onAwardStats(Object2IntMap<Stat<?>> stats)
+	{
+		//obtain the instance, and find the stat types whose values are about to change
+		final var lpsp = getInstance();
+		if(lpsp == null) return;
+		final var changedStatTypes = new ReferenceOpenHashSet<StatType<?>>();
+		for(final var entry : Object2IntMaps.fastIterable(stats))
+			if(lpsp.statsHandler.getValue(entry.getKey()) != entry.getIntValue())
+				changedStatTypes.add(entry.getKey().getType());
+		
+		//update the version
+		lpsp.changeTracker.markChanged(changedStatTypes);
+	}
+	
 	/**
 	 * Creates a {@link LocalPlayerStatsProvider} instance based on a {@link LocalPlayer}.
 	 * @param player The {@link LocalPlayer}.
@@ -2,6 +2,8 @@ package io.github.thecsdev.betterstats.api.util;
 
 import java.util.HashMap;
 import java.util.Map;
+import java.util.Objects;
+import java.util.function.ObjIntConsumer;
 import net.minecraft.world.item.CreativeModeTab;
 import net.minecraft.world.item.CreativeModeTabs;
 import net.minecraft.world.item.Item;
@@ -9,6 +11,9 @@ import net.minecraft.world.item.Items;
 import org.jetbrains.annotations.Nullable;
 import org.jetbrains.annotations.ApiStatus.Internal;
 
+import it.unimi.dsi.fastutil.objects.Object2IntMap;
+import it.unimi.dsi.fastutil.objects.Object2IntMaps;
+
 public final class BSUtils
 {
 	// ==================================================
@@ -55,5 +60,27 @@ public final class BSUtils
 	 * This method will return the first or last found {@link CreativeModeTab}. Keep that in mind.
 	 */
 	public static @Nullable CreativeModeTab getItemGroup(Item item) { return ITG.getOrDefault(item, null); }
+	// --------------------------------------------------
+	/**
+	 * Visits all entries of an {@link Object2IntMap} whose values are not zero.
+	 * @param map The {@link Object2IntMap}. Typically one created using {@link Object2IntMaps#synchronize(Object2IntMap)}.
+	 * @param action The action to perform for each non-zero entry.
+	 * @throws NullPointerException If an argument is {@code null}.
+	 * @apiNote Synchronizes on the map itself for the duration of the iteration,
+	 * as is required when iterating synchronized maps.
+	 */
+	public static <K> void forEachNonZero(Object2IntMap<K> map, ObjIntConsumer<K> action) throws NullPointerException
+	{
+		Objects.requireNonNull(map);
+		Objects.requireNonNull(action);
+		synchronized(map)
+		{
+			for(final var entry : Object2IntMaps.fastIterable(map))
+			{
+				final int value = entry.getIntValue();
+				if(value != 0) action.accept(entry.getKey(), value);
+			}
+		}
+	}
 	// ==================================================
 }
\ No newline at end of file
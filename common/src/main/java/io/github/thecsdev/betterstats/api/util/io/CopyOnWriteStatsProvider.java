@@ -0,0 +1,241 @@
+package io.github.thecsdev.betterstats.api.util.io;
+
+import static io.github.thecsdev.tcdcommons.api.util.TextUtils.literal;
+
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.function.ObjIntConsumer;
+import net.minecraft.network.chat.Component;
+import net.minecraft.resources.ResourceLocation;
+import net.minecraft.stats.Stat;
+import net.minecraft.stats.StatType;
+import org.jetbrains.annotations.Nullable;
+
+import com.mojang.authlib.GameProfile;
+
+import it.unimi.dsi.fastutil.objects.Object2IntMap;
+import it.unimi.dsi.fastutil.objects.Object2IntMaps;
+import it.unimi.dsi.fastutil.objects.Object2IntOpenHashMap;
+import it.unimi.dsi.fastutil.objects.ReferenceOpenHashSet;
+
+/**
+ * An {@link IEditableStatsProvider} whose statistics are held in the memory, and
+ * can be read from any thread without ever blocking.
+ * <p>
+ * The statistics are kept in maps that are never modified once published. Writers
+ * copy the maps they change, apply their changes to the copies, and then publish the
+ * maps, along with their version, as a single immutable state, using one {@code volatile}
+ * reference. Readers always see a consistent state, and never have to take a lock.
+ * @apiNote Each call to {@link #setStatValue(Stat, int)} or {@link #setPlayerBadgeValue(ResourceLocation, int)}
+ * that changes a value copies the map it changes, which takes time proportional to that map's size.
+ * To make many changes at once, use {@link #edit(Consumer)}, {@link #setAll(RAMStatsProvider)},
+ * {@link #setAll(IStatsProvider)}, or {@link #replaceAll(IStatsProvider)}, which copy each map
+ * at most once, and publish the changes once.
+ * @apiNote Not final, so that specialized providers, such as the ones the client keeps for
+ * other players' statistics received over the network, can build upon it.
+ */
+public /*non-final*/ class CopyOnWriteStatsProvider implements IEditableStatsProvider
+{
+	// ==================================================
+	private volatile @Nullable Component displayName;
+	private volatile @Nullable GameProfile gameProfile;
+	// --------------------------------------------------
+	private final Object writeLock = new Object();
+	private final StatsChangeTracker changeTracker = new StatsChangeTracker();
+	private volatile State state = new State(new Object2IntOpenHashMap<>(), new Object2IntOpenHashMap<>(), this.changeTracker.getVersion());
+	// ==================================================
+	public CopyOnWriteStatsProvider() {}
+	// ==================================================
+	public final @Override Component getDisplayName() { return this.displayName; }
+	public final @Override void setDisplayName(Component displayName)
+	{
+		if(displayName == null) displayName = literal("-");
+		this.displayName = displayName;
+	}
+	//
+	public final @Override GameProfile getGameProfile() { return this.gameProfile; }
+	public final @Override void setGameProfile(@Nullable GameProfile playerProfile) { this.gameProfile = playerProfile; }
+	// --------------------------------------------------
+	public final @Override int getStatValue(Stat<?> stat) { return this.state.statMap.getInt(stat); }
+	public final @Override void setStatValue(Stat<?> stat, int value) throws NullPointerException
+	{
+		Objects.requireNonNull(stat);
+		edit(batch -> batch.setStatValue(stat, value));
+	}
+	public final @Override void forEachNonZeroStat(ObjIntConsumer<Stat<?>> action) throws NullPointerException
+	{
+		Objects.requireNonNull(action);
+		for(final var entry : Object2IntMaps.fastIterable(this.state.statMap))
+			action.accept(entry.getKey(), entry.getIntValue());
+	}
+	// --------------------------------------------------
+	public final @Override int getPlayerBadgeValue(ResourceLocation badgeId) { return this.state.playerBadgeStatMap.getInt(badgeId); }
+	public final @Override void setPlayerBadgeValue(ResourceLocation badgeId, int value) throws NullPointerException
+	{
+		Objects.requireNonNull(badgeId);
+		edit(batch -> batch.setPlayerBadgeValue(badgeId, value));
+	}
+	public final @Override void forEachNonZeroPlayerBadge(ObjIntConsumer<ResourceLocation> action) throws NullPointerException
+	{
+		Objects.requireNonNull(action);
+		for(final var entry : Object2IntMaps.fastIterable(this.state.playerBadgeStatMap))
+			action.accept(entry.getKey(), entry.getIntValue());
+	}
+	// --------------------------------------------------
+	public final @Override long getVersion() { return this.state.version; }
+	public final @Override @Nullable Set<StatType<?>> getChangedStatTypes(long sinceVersion) { return this.changeTracker.getChangedStatTypes(sinceVersion); }
+	// --------------------------------------------------
+	/**
+	 * {@inheritDoc}
+	 * @apiNote The published maps are never modified, so the returned {@link StatsSnapshot}
+	 * shares them instead of copying them. Never blocks.
+	 */
+	public final @Override StatsSnapshot snapshot()
+	{
+		final var state = this.state;
+		return new StatsSnapshot(getDisplayName(), getGameProfile(), state.version, state.statMap, state.playerBadgeStatMap);
+	}
+	// ==================================================
+	/**
+	 * Applies a batch of changes, and then publishes all of them at once.
+	 * Readers see either none or all of the changes.
+	 * @param edits The changes to apply, made to the given {@link IEditableStatsProvider}.
+	 * The given {@link IEditableStatsProvider} must not be used after this method returns.
+	 * @throws NullPointerException If the argument is {@code null}.
+	 * @apiNote Concurrent writers are serialized, so changes are never lost.
+	 * Nothing is copied or published if no value actually changes.
+	 */
+	public final void edit(Consumer<IEditableStatsProvider> edits) throws NullPointerException
+	{
+		Objects.requireNonNull(edits);
+		synchronized(this.writeLock)
+		{
+			final var batch = new Batch(this.state);
+			edits.accept(batch);
+			if(batch.statMap == null && batch.playerBadgeStatMap == null) return;
+			
+			//mark the changes, and then publish the maps together with the new version
+			if(!batch.changedStatTypes.isEmpty()) this.changeTracker.markChanged(batch.changedStatTypes);
+			else this.changeTracker.markChanged();
+			this.state = new State(batch.getStatMap(), batch.getPlayerBadgeStatMap(), this.changeTracker.getVersion());
+		}
+	}
+	// --------------------------------------------------
+	/**
+	 * {@inheritDoc}
+	 * @apiNote The changes are published once, after all statistics are copied.
+	 */
+	public final @Override void setAll(RAMStatsProvider from) throws NullPointerException
+	{
+		Objects.requireNonNull(from);
+		edit(batch -> batch.setAll(from));
+	}
+	
+	/**
+	 * Copies all non-zero statistics present in another {@link IStatsProvider},
+	 * and pastes them into this {@link CopyOnWriteStatsProvider}, overriding
+	 * existing statistics in the process.
+	 * @param from The {@link IStatsProvider} to copy stats from.
+	 * @throws NullPointerException If the argument is {@code null}.
+	 * @apiNote The changes are published once, after all statistics are copied.
+	 */
+	public final void setAll(IStatsProvider from) throws NullPointerException
+	{
+		Objects.requireNonNull(from);
+		edit(batch ->
+		{
+			from.forEachNonZeroStat(batch::setStatValue);
+			from.forEachNonZeroPlayerBadge(batch::setPlayerBadgeValue);
+		});
+	}
+	
+	/**
+	 * {@inheritDoc}
+	 * @apiNote The changes are published once, after all differences are applied.
+	 * The other {@link IStatsProvider} is snapshotted before the write lock is taken.
+	 */
+	public final @Override StatsDiff replaceAll(IStatsProvider from) throws NullPointerException
+	{
+		final var source = Objects.requireNonNull(from).snapshot();
+		final var diff = new StatsDiff[1];
+		edit(batch -> diff[0] = batch.replaceAll(source));
+		return diff[0];
+	}
+	// ==================================================
+	/**
+	 * The published maps, and the version they correspond to.
+	 * @apiNote Immutable. The maps must never be modified once published.
+	 */
+	private static final class State
+	{
+		final Object2IntMap<Stat<?>> statMap;
+		final Object2IntMap<ResourceLocation> playerBadgeStatMap;
+		final long version;
+		
+		State(Object2IntMap<Stat<?>> statMap, Object2IntMap<ResourceLocation> playerBadgeStatMap, long version)
+		{
+			this.statMap = statMap;
+			this.playerBadgeStatMap = playerBadgeStatMap;
+			this.version = version;
+		}
+	}
+	
+	/**
+	 * Changes to a published {@link State}, that {@link #edit(Consumer)} publishes as a new {@link State}.
+	 * Each map is only copied once it is about to change, so an unchanged map is shared with the new {@link State}.
+	 */
+	private final class Batch implements IEditableStatsProvider
+	{
+		final State base;
+		@Nullable Object2IntOpenHashMap<Stat<?>> statMap;                  //null until the first change
+		@Nullable Object2IntOpenHashMap<ResourceLocation> playerBadgeStatMap; //null until the first change
+		final ReferenceOpenHashSet<StatType<?>> changedStatTypes = new ReferenceOpenHashSet<>();
+		
+		Batch(State base) { this.base = base; }
+		
+		final Object2IntMap<Stat<?>> getStatMap() { return (this.statMap != null) ? this.statMap : this.base.statMap; }
+		final Object2IntMap<ResourceLocation> getPlayerBadgeStatMap() { return (this.playerBadgeStatMap != null) ? this.playerBadgeStatMap : this.base.playerBadgeStatMap; }
+		
+		public final @Override Component getDisplayName() { return CopyOnWriteStatsProvider.this.getDisplayName(); }
+		public final @Override void setDisplayName(Component displayName) { CopyOnWriteStatsProvider.this.setDisplayName(displayName); }
+		public final @Override GameProfile getGameProfile() { return CopyOnWriteStatsProvider.this.getGameProfile(); }
+		public final @Override void setGameProfile(@Nullable GameProfile playerProfile) { CopyOnWriteStatsProvider.this.setGameProfile(playerProfile); }
+		
+		public final @Override int getStatValue(Stat<?> stat) { return getStatMap().getInt(stat); }
+		public final @Override void setStatValue(Stat<?> stat, int value) throws NullPointerException
+		{
+			Objects.requireNonNull(stat);
+			value = Math.max(value, 0);
+			if(getStatMap().getInt(stat) == value) return;
+			if(this.statMap == null) this.statMap = new Object2IntOpenHashMap<>(this.base.statMap);
+			if(value == 0) this.statMap.removeInt(stat);
+			else this.statMap.put(stat, value);
+			this.changedStatTypes.add(stat.getType());
+		}
+		public final @Override void forEachNonZeroStat(ObjIntConsumer<Stat<?>> action) throws NullPointerException
+		{
+			Objects.requireNonNull(action);
+			for(final var entry : Object2IntMaps.fastIterable(getStatMap()))
+				action.accept(entry.getKey(), entry.getIntValue());
+		}
+		
+		public final @Override int getPlayerBadgeValue(ResourceLocation badgeId) { return getPlayerBadgeStatMap().getInt(badgeId); }
+		public final @Override void setPlayerBadgeValue(ResourceLocation badgeId, int value) throws NullPointerException
+		{
+			Objects.requireNonNull(badgeId);
+			value = Math.max(value, 0);
+			if(getPlayerBadgeStatMap().getInt(badgeId) == value) return;
+			if(this.playerBadgeStatMap == null) this.playerBadgeStatMap = new Object2IntOpenHashMap<>(this.base.playerBadgeStatMap);
+			if(value == 0) this.playerBadgeStatMap.removeInt(badgeId);
+			else this.playerBadgeStatMap.put(badgeId, value);
+		}
+		public final @Override void forEachNonZeroPlayerBadge(ObjIntConsumer<ResourceLocation> action) throws NullPointerException
+		{
+			Objects.requireNonNull(action);
+			for(final var entry : Object2IntMaps.fastIterable(getPlayerBadgeStatMap()))
+				action.accept(entry.getKey(), entry.getIntValue());
+		}
+	}
+	// ==================================================
+}
\ No newline at end of file
@@ -0,0 +1,168 @@
+package io.github.thecsdev.betterstats.api.util.io;
+
+import static io.github.thecsdev.tcdcommons.api.util.TextUtils.literal;
+
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Objects;
+import java.util.function.ObjIntConsumer;
+import net.minecraft.network.FriendlyByteBuf;
+import net.minecraft.network.chat.Component;
+import net.minecraft.resources.ResourceLocation;
+import net.minecraft.stats.Stat;
+import org.jetbrains.annotations.Nullable;
+
+import com.mojang.authlib.GameProfile;
+
+import io.github.thecsdev.tcdcommons.api.util.exceptions.UnsupportedFileVersionException;
+import it.unimi.dsi.fastutil.objects.Object2IntMap;
+import it.unimi.dsi.fastutil.objects.Object2IntMaps;
+import it.unimi.dsi.fastutil.objects.Object2IntOpenHashMap;
+
+/**
+ * An {@link IEditableStatsProvider} whose statistics are held in the memory,
+ * using primitive arrays instead of a hash map.
+ * <p>
+ * Every {@link Stat} is assigned a slot, which is its {@link StatSchema} ID. Slots are grouped
+ * into pages of 16 that are only allocated once one of their slots is set, and a {@link BitSet}
+ * keeps track of the non-zero slots. Both the page table and the {@link BitSet} start out empty,
+ * and only grow as far as the highest slot that is set, so the memory used scales with the
+ * statistics a player actually has, rather than with the size of the registries.
+ * <p>
+ * Looking up a slot is a single registry lookup, see {@link StatSchema#idOf(Stat)}, after
+ * which reads are array loads, and {@link #forEachNonZeroStat(ObjIntConsumer)} skips straight
+ * to the non-zero slots.
+ * @apiNote Unlike {@link RAMStatsProvider}, this class is not thread-safe.
+ * @apiNote Use this only after the game's registries are frozen, as the {@link StatSchema}
+ * is created once, based on the registries' contents at the time.
+ */
+public final class DenseStatsProvider implements IEditableStatsProvider
+{
+	// ==================================================
+	private static final int PAGE_SHIFT = 4;
+	private static final int PAGE_SIZE  = 1 << PAGE_SHIFT;
+	private static final int PAGE_MASK  = PAGE_SIZE - 1;
+	// --------------------------------------------------
+	private @Nullable Component displayName;
+	private @Nullable GameProfile gameProfile;
+	// --------------------------------------------------
+	private final StatSchema schema = StatSchema.get();
+	private int[][] pages = new int[0][]; //grown up to the highest page that was set
+	private final BitSet nonZero = new BitSet();
+	private @Nullable Object2IntMap<Stat<?>> overflow; //for stats that have no slot
+	// --------------------------------------------------
+	private final Object2IntMap<ResourceLocation> playerBadgeStatMap = new Object2IntOpenHashMap<>();
+	// ==================================================
+	public DenseStatsProvider() { this.playerBadgeStatMap.defaultReturnValue(0); }
+	
+	/**
+	 * Creates a {@link DenseStatsProvider} instance, after which
+	 * {@link StatsProviderIO#read(FriendlyByteBuf, IEditableStatsProvider)} is called.
+	 * @param buffer The {@link FriendlyByteBuf} to read from.
+	 * @param releaseBuffer After reading, call {@link FriendlyByteBuf#release()}?
+	 * @apiNote {@link FriendlyByteBuf#release()} will get called when requested, even when an {@link Exception} is raised.
+	 */
+	public DenseStatsProvider(FriendlyByteBuf buffer, boolean releaseBuffer)
+			throws NullPointerException, IllegalHeaderException, UnsupportedFileVersionException
+	{
+		this();
+		try { StatsProviderIO.read(Objects.requireNonNull(buffer), this); }
+		finally { if(releaseBuffer && buffer.refCnt() > 0) buffer.release(); }
+	}
+	// ==================================================
+	public final @Override Component getDisplayName() { return this.displayName; }
+	public final @Override void setDisplayName(Component displayName)
+	{
+		if(displayName == null) displayName = literal("-");
+		this.displayName = displayName;
+	}
+	//
+	public final @Override GameProfile getGameProfile() { return this.gameProfile; }
+	public final @Override void setGameProfile(@Nullable GameProfile playerProfile) { this.gameProfile = playerProfile; }
+	// --------------------------------------------------
+	public final @Override int getStatValue(Stat<?> stat)
+	{
+		final int slot = this.schema.idOf(stat);
+		if(slot < 0) return (this.overflow != null) ? this.overflow.getInt(stat) : 0;
+		final int pageIndex = slot >>> PAGE_SHIFT;
+		if(pageIndex >= this.pages.length) return 0;
+		final int[] page = this.pages[pageIndex];
+		return (page != null) ? page[slot & PAGE_MASK] : 0;
+	}
+	
+	public final @Override void setStatValue(Stat<?> stat, int value) throws NullPointerException
+	{
+		final int slot = this.schema.idOf(Objects.requireNonNull(stat));
+		if(slot < 0)
+		{
+			//stats that have no slot are kept in a map, which is only created when needed
+			if(value < 1) { if(this.overflow != null) this.overflow.removeInt(stat); }
+			else
+			{
+				if(this.overflow == null) this.overflow = new Object2IntOpenHashMap<>();
+				this.overflow.put(stat, value);
+			}
+			return;
+		}
+		
+		final int pageIndex = slot >>> PAGE_SHIFT;
+		if(value < 1)
+		{
+			if(pageIndex >= this.pages.length || this.pages[pageIndex] == null) return;
+			this.pages[pageIndex][slot & PAGE_MASK] = 0;
+			this.nonZero.clear(slot);
+		}
+		else
+		{
+			//grow the page table geometrically, but never past the schema's size
+			if(pageIndex >= this.pages.length)
+			{
+				final int maxPages = (this.schema.size() + PAGE_MASK) >>> PAGE_SHIFT;
+				this.pages = Arrays.copyOf(this.pages, Math.min(Math.max(pageIndex + 1, this.pages.length * 2), maxPages));
+			}
+			int[] page = this.pages[pageIndex];
+			if(page == null) page = this.pages[pageIndex] = new int[PAGE_SIZE];
+			page[slot & PAGE_MASK] = value;
+			this.nonZero.set(slot);
+		}
+	}
+	
+	public final @Override void forEachNonZeroStat(ObjIntConsumer<Stat<?>> action) throws NullPointerException
+	{
+		Objects.requireNonNull(action);
+		
+		//iterate the non-zero slots
+		for(int slot = this.nonZero.nextSetBit(0); slot >= 0; slot = this.nonZero.nextSetBit(slot + 1))
+		{
+			final @Nullable var stat = this.schema.statOf(slot);
+			if(stat != null) action.accept(stat, this.pages[slot >>> PAGE_SHIFT][slot & PAGE_MASK]);
+		}
+		
+		//then the stats that have no slot
+		if(this.overflow != null)
+			for(final var entry : Object2IntMaps.fastIterable(this.overflow))
+				action.accept(entry.getKey(), entry.getIntValue());
+	}
+	
+	/**
+	 * Returns the number of {@link Stat}s whose value is not zero.
+	 */
+	public final int getNonZeroStatCount()
+	{
+		return this.nonZero.cardinality() + ((this.overflow != null) ? this.overflow.size() : 0);
+	}
+	// --------------------------------------------------
+	public final @Override int getPlayerBadgeValue(ResourceLocation badgeId) { return this.playerBadgeStatMap.getInt(badgeId); }
+	public final @Override void setPlayerBadgeValue(ResourceLocation badgeId, int value) throws NullPointerException
+	{
+		if(value < 1) this.playerBadgeStatMap.removeInt(badgeId);
+		else this.playerBadgeStatMap.put(Objects.requireNonNull(badgeId), value);
+	}
+	public final @Override void forEachNonZeroPlayerBadge(ObjIntConsumer<ResourceLocation> action) throws NullPointerException
+	{
+		Objects.requireNonNull(action);
+		for(final var entry : Object2IntMaps.fastIterable(this.playerBadgeStatMap))
+			action.accept(entry.getKey(), entry.getIntValue());
+	}
+	// ==================================================
+}
\ No newline at end of file
@@ -1,6 +1,8 @@
 package io.github.thecsdev.betterstats.api.util.io;
 
+import java.util.Objects;
 import java.util.UUID;
+import java.util.function.ObjIntConsumer;
 import net.minecraft.network.chat.Component;
 import net.minecraft.resources.ResourceLocation;
 import net.minecraft.stats.Stat;
@@ -21,7 +23,10 @@ final @Internal class EmptyStatsProvider implements IStatsProvider
 	// ==================================================
 	public final @Override int getStatValue(Stat<?> stat) { return 0; }
 	public final @Override int getPlayerBadgeValue(ResourceLocation badgeId) { return 0; }
+	public final @Override void forEachNonZeroStat(ObjIntConsumer<Stat<?>> action) { Objects.requireNonNull(action); }
+	public final @Override void forEachNonZeroPlayerBadge(ObjIntConsumer<ResourceLocation> action) { Objects.requireNonNull(action); }
 	public @Nullable GameProfile getGameProfile() { return NULL_GP; }
 	public @Nullable Component getDisplayName() { return NULL_NAME; }
+	public final @Override IStatsProvider snapshot() { return this; }
 	// ==================================================
 }
\ No newline at end of file
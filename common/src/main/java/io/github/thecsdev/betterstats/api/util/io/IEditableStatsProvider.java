@@ -111,5 +111,25 @@ public interface IEditableStatsProvider extends IStatsProvider
 		stm.forEach((k, v) -> setStatValue(k, v));
 		pbm.forEach((k, v) -> setPlayerBadgeValue(k, v));
 	}
+	
+	/**
+	 * Replaces all statistics of this {@link IEditableStatsProvider} with the statistics present
+	 * in another {@link IStatsProvider}. Unlike {@link #setAll(RAMStatsProvider)}, statistics that
+	 * are absent from the other {@link IStatsProvider} are removed.
+	 * <p>
+	 * The differences are computed first, after which only the statistics
+	 * whose values differ are set, in one batch.
+	 * @param from The {@link IStatsProvider} to copy stats from.
+	 * @return The {@link StatsDiff} that was applied, which tells which statistics changed.
+	 * @throws NullPointerException If the argument is {@code null}.
+	 * @apiNote Implementations should override this to apply the whole batch at once,
+	 * such as by only changing their {@link #getVersion()} once.
+	 */
+	default StatsDiff replaceAll(IStatsProvider from) throws NullPointerException
+	{
+		final var diff = StatsDiff.of(this, from);
+		diff.applyTo(this);
+		return diff;
+	}
 	// ==================================================
 }
\ No newline at end of file
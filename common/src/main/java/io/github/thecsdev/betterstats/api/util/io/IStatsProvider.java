@@ -1,6 +1,9 @@
 package io.github.thecsdev.betterstats.api.util.io;
 
 import java.util.Objects;
+import java.util.Set;
+import java.util.function.ObjIntConsumer;
+import net.minecraft.core.registries.BuiltInRegistries;
 import net.minecraft.network.chat.Component;
 import net.minecraft.resources.ResourceLocation;
 import net.minecraft.stats.Stat;
@@ -11,6 +14,7 @@ import org.jetbrains.annotations.Nullable;
 import com.mojang.authlib.GameProfile;
 
 import io.github.thecsdev.tcdcommons.api.badge.PlayerBadge;
+import io.github.thecsdev.tcdcommons.api.registry.TRegistries;
 
 /**
  * A component that contains loaded statistics about a given player.
@@ -51,6 +55,61 @@ public interface IStatsProvider
 	 * @apiNote You should not override this, as it calls {@link #getStatValue(Stat)} by default.
 	 */
 	default <T> int getStatValue(StatType<T> type, T stat) { return type.contains(stat) ? getStatValue(type.get(stat)) : 0; }
+	
+	/**
+	 * Visits every {@link Stat} whose value is not zero, alongside its value.
+	 * @param action The action to perform for each non-zero {@link Stat}.
+	 * @throws NullPointerException If the argument is {@code null}.
+	 * @apiNote The default implementation queries every {@link Stat} of every registered
+	 * {@link StatType}, which is slow. Implementations that keep their stats in a
+	 * collection should override this and iterate said collection instead.
+	 * @apiNote The order in which {@link Stat}s are visited is not defined.
+	 */
+	@SuppressWarnings("unchecked")
+	default void forEachNonZeroStat(ObjIntConsumer<Stat<?>> action) throws NullPointerException
+	{
+		Objects.requireNonNull(action);
+		for(final var statType : BuiltInRegistries.STAT_TYPE)
+		{
+			final var statTypeO = (StatType<Object>)statType;
+			for(final var registryItem : statTypeO.getRegistry())
+			{
+				//StatType#get creates new stats, so it is only called for non-zero values
+				final int value = getStatValue(statTypeO, registryItem);
+				if(value != 0) action.accept(statTypeO.get(registryItem), value);
+			}
+		}
+	}
+	// --------------------------------------------------
+	/**
+	 * Returns a number that changes every time the statistics of this {@link IStatsProvider} change,
+	 * allowing consumers to skip recomputing things when nothing changed.
+	 * @return The current version, or -1 if this {@link IStatsProvider} does not keep track of changes,
+	 * in which case consumers should assume the statistics may have changed at any time.
+	 * @apiNote The default implementation returns -1.
+	 * @see StatsChangeTracker
+	 */
+	default long getVersion() { return -1; }
+	
+	/**
+	 * Returns the {@link StatType}s whose statistics changed after a given version.
+	 * @param sinceVersion A version previously returned by this {@link IStatsProvider}'s {@link #getVersion()}.
+	 * @return The changed {@link StatType}s, or {@code null} if they are unknown,
+	 * in which case consumers should assume every {@link StatType} may have changed.
+	 * @apiNote The default implementation returns {@code null}.
+	 * @apiNote Changes to {@link PlayerBadge} stats change the version, but are not listed here.
+	 */
+	default @Nullable Set<StatType<?>> getChangedStatTypes(long sinceVersion) { return null; }
+	// --------------------------------------------------
+	/**
+	 * Returns an immutable {@link IStatsProvider} holding the statistics this
+	 * {@link IStatsProvider} has right now, which can then be read from any thread,
+	 * such as when writing it using {@link StatsProviderIO}, without ever changing mid-way.
+	 * @apiNote The default implementation copies all non-zero statistics into a new {@link StatsSnapshot}.
+	 * Implementations whose data is already immutable, or that can share it, should override this.
+	 * @apiNote Call this on the thread that modifies this {@link IStatsProvider}, if it isn't thread-safe.
+	 */
+	default IStatsProvider snapshot() { return new StatsSnapshot(this); }
 	// --------------------------------------------------
 	/**
 	 * Returns the {@link Integer} value of a given {@link PlayerBadge} stat.
@@ -67,5 +126,22 @@ public interface IStatsProvider
 	{
 		return getPlayerBadgeValue(Objects.requireNonNull(playerBadge.getId().orElse(null)));
 	}
+	
+	/**
+	 * Visits every {@link PlayerBadge} stat whose value is not zero, alongside its value.
+	 * @param action The action to perform for each non-zero {@link PlayerBadge} stat.
+	 * @throws NullPointerException If the argument is {@code null}.
+	 * @apiNote The default implementation queries every registered {@link PlayerBadge}.
+	 * @apiNote The order in which {@link PlayerBadge} stats are visited is not defined.
+	 */
+	default void forEachNonZeroPlayerBadge(ObjIntConsumer<ResourceLocation> action) throws NullPointerException
+	{
+		Objects.requireNonNull(action);
+		for(final var entry : TRegistries.PLAYER_BADGE)
+		{
+			final int value = getPlayerBadgeValue(entry.getKey());
+			if(value != 0) action.accept(entry.getKey(), value);
+		}
+	}
 	// ==================================================
 }
\ No newline at end of file
@@ -0,0 +1,219 @@
+package io.github.thecsdev.betterstats.api.util.io;
+
+import static io.github.thecsdev.betterstats.BetterStats.LOGGER;
+
+import java.io.File;
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Objects;
+import java.util.function.ObjIntConsumer;
+import net.minecraft.network.FriendlyByteBuf;
+import net.minecraft.network.chat.Component;
+import net.minecraft.resources.ResourceLocation;
+import net.minecraft.stats.Stat;
+import org.jetbrains.annotations.Nullable;
+
+import com.mojang.authlib.GameProfile;
+
+import io.github.thecsdev.betterstats.api.util.io.StatsProviderIO.ReadOptions;
+import io.github.thecsdev.tcdcommons.api.util.exceptions.UnsupportedFileVersionException;
+import io.netty.buffer.ByteBufUtil;
+import io.netty.buffer.Unpooled;
+
+/**
+ * An {@link IEditableStatsProvider} that only decodes the requested parts of an
+ * {@link IStatsProvider}'s data right away. The remaining parts are decoded the
+ * first time they are accessed.
+ * <p>
+ * When loaded from a {@link File}, only the {@link File} is kept, and it is read again
+ * once the remaining parts are accessed, so that browsing many files doesn't hold all of
+ * their data in the memory. Otherwise, a copy of the data is kept until then.
+ * <p>
+ * The remaining parts were skipped, rather than validated, so decoding them may still fail.
+ * When it does, this {@link LazyStatsProvider} is {@link #isCorrupt()}, and accessing any of
+ * the data it failed to decode throws an {@link UncheckedIOException}, so that partially
+ * decoded data is never mistaken for the actual data.
+ * @see StatsProviderIO#loadLazilyFromFile(File, ReadOptions)
+ */
+public final class LazyStatsProvider implements IEditableStatsProvider
+{
+	// ==================================================
+	private final RAMStatsProvider stats = new RAMStatsProvider();
+	private final ReadOptions eagerOptions;
+	// --------------------------------------------------
+	/**
+	 * The source of the data that is yet to be decoded, or {@code null} once decoding was attempted.
+	 */
+	private volatile @Nullable PendingData pendingData;
+	
+	/**
+	 * The reason the remaining data failed to decode, or {@code null} if it didn't.
+	 */
+	private volatile @Nullable IOException loadError;
+	// ==================================================
+	/**
+	 * Creates a {@link LazyStatsProvider} instance, and reads the parts of the data that
+	 * are requested by the {@link ReadOptions}. A copy of the data is kept for later.
+	 * @param buffer The {@link FriendlyByteBuf} to read from.
+	 * @param eagerOptions The {@link ReadOptions} that determine which parts of the data are decoded right away.
+	 * @throws IllegalHeaderException If the "RIFF" header is missing, or the file extension is invalid.
+	 * @throws UnsupportedFileVersionException If the file data version is not supported.
+	 */
+	public LazyStatsProvider(FriendlyByteBuf buffer, ReadOptions eagerOptions)
+			throws NullPointerException, IllegalHeaderException, UnsupportedFileVersionException
+	{
+		this.eagerOptions = Objects.requireNonNull(eagerOptions);
+		final int start = buffer.readerIndex();
+		StatsProviderIO.read(buffer, this.stats, eagerOptions);
+		final byte[] data = ByteBufUtil.getBytes(buffer, start, buffer.readerIndex() - start);
+		this.pendingData = () -> new FriendlyByteBuf(Unpooled.wrappedBuffer(data));
+	}
+	
+	/**
+	 * Creates a {@link LazyStatsProvider} instance, and reads the parts of a {@link File}'s data
+	 * that are requested by the {@link ReadOptions}. Only the {@link File} is kept for later, and
+	 * if it changes in the meantime, decoding the remaining data fails.
+	 * @param file The {@link File} to read from.
+	 * @param eagerOptions The {@link ReadOptions} that determine which parts of the data are decoded right away.
+	 * @throws FileNotFoundException If the {@link File} does not exist.
+	 * @throws IOException If {@link File} IO operations raise an {@link IOException}, or the data is invalid.
+	 */
+	public LazyStatsProvider(File file, ReadOptions eagerOptions) throws NullPointerException, FileNotFoundException, IOException
+	{
+		this.eagerOptions = Objects.requireNonNull(eagerOptions);
+		final long lastModified = file.lastModified(), length = file.length();
+		final var buffer = StatsProviderIO.readFileData(file);
+		try { StatsProviderIO.read(buffer, this.stats, eagerOptions); }
+		finally { buffer.release(); }
+		this.pendingData = () ->
+		{
+			if(file.lastModified() != lastModified || file.length() != length)
+				throw new IOException("The file changed since it was first read: " + file.getAbsolutePath());
+			return StatsProviderIO.readFileData(file);
+		};
+	}
+	// ==================================================
+	/**
+	 * Returns {@code true} if all of the data has been decoded.
+	 */
+	public final boolean isFullyLoaded() { return this.pendingData == null && this.loadError == null; }
+	
+	/**
+	 * Returns {@code true} if the remaining data failed to decode, in which case
+	 * accessing it throws. Does not decode the remaining data by itself.
+	 * @see #loadFully()
+	 */
+	public final boolean isCorrupt() { return this.loadError != null; }
+	
+	/**
+	 * Decodes the remaining data, if it hasn't been decoded already.
+	 * @throws UncheckedIOException If the remaining data failed to decode, now or earlier.
+	 * @apiNote Called automatically when the remaining data is accessed.
+	 */
+	public final void loadFully() throws UncheckedIOException
+	{
+		//check if already loaded, without locking
+		if(this.pendingData != null)
+			synchronized(this)
+			{
+				//check again, now that the lock is held
+				final @Nullable var data = this.pendingData;
+				if(data != null)
+				{
+					//decode the parts that weren't decoded right away
+					//(they were only skipped during construction, so they may very well be invalid)
+					try
+					{
+						final var buffer = data.open();
+						try { StatsProviderIO.read(buffer, this.stats, new RemainingReadOptions(this.eagerOptions)); }
+						finally { buffer.release(); }
+					}
+					catch(IOException exc)
+					{
+						LOGGER.error("Failed to lazily decode the remaining statistics data.", exc);
+						this.loadError = exc;
+					}
+					finally { this.pendingData = null; }
+				}
+			}
+		
+		//partially decoded data must never pass for the actual data
+		final @Nullable var error = this.loadError;
+		if(error != null) throw new UncheckedIOException("The remaining statistics data is corrupted.", error);
+	}
+	// ==================================================
+	public final @Override @Nullable Component getDisplayName()
+	{
+		if(!this.eagerOptions.readChunk("metadata")) loadFully();
+		return this.stats.getDisplayName();
+	}
+	public final @Override void setDisplayName(@Nullable Component displayName) { loadFully(); this.stats.setDisplayName(displayName); }
+	//
+	public final @Override @Nullable GameProfile getGameProfile()
+	{
+		if(!this.eagerOptions.readChunk("metadata")) loadFully();
+		return this.stats.getGameProfile();
+	}
+	public final @Override void setGameProfile(@Nullable GameProfile playerProfile) { loadFully(); this.stats.setGameProfile(playerProfile); }
+	// --------------------------------------------------
+	public final @Override int getStatValue(Stat<?> stat) { loadFully(); return this.stats.getStatValue(stat); }
+	public final @Override void setStatValue(Stat<?> stat, int value) throws NullPointerException { loadFully(); this.stats.setStatValue(stat, value); }
+	public final @Override void forEachNonZeroStat(ObjIntConsumer<Stat<?>> action) throws NullPointerException
+	{
+		loadFully();
+		this.stats.forEachNonZeroStat(action);
+	}
+	// --------------------------------------------------
+	public final @Override int getPlayerBadgeValue(ResourceLocation badgeId) { loadFully(); return this.stats.getPlayerBadgeValue(badgeId); }
+	public final @Override void setPlayerBadgeValue(ResourceLocation badgeId, int value) throws NullPointerException
+	{
+		loadFully();
+		this.stats.setPlayerBadgeValue(badgeId, value);
+	}
+	public final @Override void forEachNonZeroPlayerBadge(ObjIntConsumer<ResourceLocation> action) throws NullPointerException
+	{
+		loadFully();
+		this.stats.forEachNonZeroPlayerBadge(action);
+	}
+	// ==================================================
+	/**
+	 * {@link ReadOptions} that read everything a given {@link ReadOptions} did not read.
+	 */
+	/**
+	 * The source of the data that is yet to be decoded.
+	 */
+	@FunctionalInterface
+	private static interface PendingData
+	{
+		/**
+		 * Returns a buffer with the data. The caller is responsible for releasing it.
+		 */
+		public FriendlyByteBuf open() throws IOException;
+	}
+	
+	private static final class RemainingReadOptions implements ReadOptions
+	{
+		private final ReadOptions eagerOptions;
+		public RemainingReadOptions(ReadOptions eagerOptions) { this.eagerOptions = eagerOptions; }
+		
+		public final @Override boolean readChunk(String chunkId)
+		{
+			//the "stats" chunk is read again when only some of its stat types were read
+			return !this.eagerOptions.readChunk(chunkId) || "stats".equals(chunkId);
+		}
+		
+		public final @Override boolean readStatType(ResourceLocation statTypeId)
+		{
+			return !(this.eagerOptions.readChunk("stats") && this.eagerOptions.readStatType(statTypeId));
+		}
+		
+		//the limits stay the same, as the remaining data is just as (un)trusted
+		public final @Override boolean parallel() { return this.eagerOptions.parallel(); }
+		public final @Override int maxDataSize() { return this.eagerOptions.maxDataSize(); }
+		public final @Override int maxStringLength() { return this.eagerOptions.maxStringLength(); }
+		public final @Override int maxEntries() { return this.eagerOptions.maxEntries(); }
+		public final @Override int maxTotalStats() { return this.eagerOptions.maxTotalStats(); }
+	}
+	// ==================================================
+}
\ No newline at end of file
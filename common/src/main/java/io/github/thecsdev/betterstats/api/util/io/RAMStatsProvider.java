@@ -3,15 +3,19 @@ package io.github.thecsdev.betterstats.api.util.io;
 import static io.github.thecsdev.tcdcommons.api.util.TextUtils.literal;
 
 import java.util.Objects;
+import java.util.Set;
+import java.util.function.ObjIntConsumer;
 import net.minecraft.network.FriendlyByteBuf;
 import net.minecraft.network.chat.Component;
 import net.minecraft.resources.ResourceLocation;
 import net.minecraft.stats.Stat;
+import net.minecraft.stats.StatType;
 import org.jetbrains.annotations.ApiStatus.Internal;
 import org.jetbrains.annotations.Nullable;
 
 import com.mojang.authlib.GameProfile;
 
+import io.github.thecsdev.betterstats.api.util.BSUtils;
 import io.github.thecsdev.tcdcommons.api.util.exceptions.UnsupportedFileVersionException;
 import it.unimi.dsi.fastutil.objects.Object2IntMap;
 import it.unimi.dsi.fastutil.objects.Object2IntMaps;
@@ -31,6 +35,7 @@ public /*non-final*/ class RAMStatsProvider implements IEditableStatsProvider
 	// --------------------------------------------------
 	protected final Object2IntMap<Stat<?>> statMap = Object2IntMaps.synchronize(new Object2IntOpenHashMap<>());
 	protected final Object2IntMap<ResourceLocation> playerBadgeStatMap = Object2IntMaps.synchronize(new Object2IntOpenHashMap<>());
+	protected final StatsChangeTracker changeTracker = new StatsChangeTracker();
 	// ==================================================
 	public RAMStatsProvider()
 	{
@@ -66,15 +71,55 @@ public /*non-final*/ class RAMStatsProvider implements IEditableStatsProvider
 	public final @Override int getStatValue(Stat<?> stat) { return this.statMap.getInt(stat); }
 	public final @Override void setStatValue(Stat<?> stat, int value) throws NullPointerException
 	{
-		if(value < 1) this.statMap.removeInt(stat);
-		else this.statMap.put(Objects.requireNonNull(stat), value);
+		final int oldValue = (value < 1) ? this.statMap.removeInt(stat) : this.statMap.put(Objects.requireNonNull(stat), value);
+		if(oldValue != Math.max(value, 0)) this.changeTracker.markChanged(stat.getType());
+	}
+	public final @Override void forEachNonZeroStat(ObjIntConsumer<Stat<?>> action) throws NullPointerException
+	{
+		BSUtils.forEachNonZero(this.statMap, action);
 	}
 	// --------------------------------------------------
 	public final @Override int getPlayerBadgeValue(ResourceLocation badgeId) { return this.playerBadgeStatMap.getInt(badgeId); }
 	public final @Override void setPlayerBadgeValue(ResourceLocation badgeId, int value) throws NullPointerException
 	{
-		if(value < 1) this.playerBadgeStatMap.removeInt(badgeId);
-		else this.playerBadgeStatMap.put(Objects.requireNonNull(badgeId), value);
+		final int oldValue = (value < 1) ? this.playerBadgeStatMap.removeInt(badgeId) : this.playerBadgeStatMap.put(Objects.requireNonNull(badgeId), value);
+		if(oldValue != Math.max(value, 0)) this.changeTracker.markChanged();
+	}
+	public final @Override void forEachNonZeroPlayerBadge(ObjIntConsumer<ResourceLocation> action) throws NullPointerException
+	{
+		BSUtils.forEachNonZero(this.playerBadgeStatMap, action);
+	}
+	// --------------------------------------------------
+	public final @Override long getVersion() { return this.changeTracker.getVersion(); }
+	public final @Override @Nullable Set<StatType<?>> getChangedStatTypes(long sinceVersion) { return this.changeTracker.getChangedStatTypes(sinceVersion); }
+	// --------------------------------------------------
+	/**
+	 * {@inheritDoc}
+	 * @apiNote The other {@link IStatsProvider} is snapshotted first, without holding any of this
+	 * provider's locks, so that two providers replacing each other's statistics can't deadlock.
+	 * Only then are this provider's maps locked, while the differences are computed and applied,
+	 * and {@link #getVersion()} changes only once, after all of them are applied.
+	 */
+	public final @Override StatsDiff replaceAll(IStatsProvider from) throws NullPointerException
+	{
+		final var source = Objects.requireNonNull(from).snapshot();
+		final StatsDiff diff;
+		synchronized(this.statMap)
+		{
+			synchronized(this.playerBadgeStatMap)
+			{
+				//compute the differences, and apply them to the maps directly,
+				//so that the change tracker isn't told about each one of them separately
+				diff = StatsDiff.of(this, source);
+				diff.forEachChangedStat((stat, value) -> { if(value < 1) this.statMap.removeInt(stat); else this.statMap.put(stat, value); });
+				diff.forEachChangedPlayerBadge((badgeId, value) -> { if(value < 1) this.playerBadgeStatMap.removeInt(badgeId); else this.playerBadgeStatMap.put(badgeId, value); });
+			}
+		}
+		
+		//the version changes once, after all differences are applied
+		if(!diff.getChangedStats().isEmpty()) this.changeTracker.markChanged(diff.getChangedStatTypes());
+		else if(!diff.getChangedPlayerBadges().isEmpty()) this.changeTracker.markChanged();
+		return diff;
 	}
 	// ==================================================
 	public final Object2IntMap<Stat<?>> getStatMap() { return this.statMap; }
@@ -1,6 +1,7 @@
 package io.github.thecsdev.betterstats.api.util.io;
 
 import java.util.Objects;
+import java.util.function.ObjIntConsumer;
 import net.minecraft.client.player.LocalPlayer;
 import net.minecraft.network.chat.Component;
 import net.minecraft.resources.ResourceLocation;
@@ -10,7 +11,9 @@ import net.minecraft.stats.Stat;
 import net.minecraft.stats.StatType;
 import com.mojang.authlib.GameProfile;
 
+import io.github.thecsdev.betterstats.api.util.BSUtils;
 import io.github.thecsdev.tcdcommons.api.badge.ServerPlayerBadgeHandler;
+import io.github.thecsdev.tcdcommons.mixin.hooks.AccessorStatHandler;
 
 /**
  * An {@link IStatsProvider} that provides statistics
@@ -43,6 +46,17 @@ public final class ServerPlayerStatsProvider implements IStatsProvider
 	public final @Override int getStatValue(Stat<?> stat) { return this.statHandler.getValue(stat); }
 	public final @Override <T> int getStatValue(StatType<T> type, T stat) { return this.statHandler.getValue(type, stat); }
 	public final @Override int getPlayerBadgeValue(ResourceLocation badgeId) { return this.badgeHandler.getValue(badgeId); }
+	//
+	public final @Override void forEachNonZeroStat(ObjIntConsumer<Stat<?>> action) throws NullPointerException
+	{
+		BSUtils.forEachNonZero(((AccessorStatHandler)this.statHandler).getStatMap(), action);
+	}
+	public final @Override void forEachNonZeroPlayerBadge(ObjIntConsumer<ResourceLocation> action) throws NullPointerException
+	{
+		Objects.requireNonNull(action);
+		for(final var entry : this.badgeHandler)
+			if(entry.getIntValue() != 0) action.accept(entry.getKey(), entry.getIntValue());
+	}
 	// ==================================================
 	public final @Override int hashCode() { return this.player.hashCode(); }
 	public final @Override boolean equals(Object obj)
@@ -0,0 +1,306 @@
+package io.github.thecsdev.betterstats.api.util.io;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+import net.minecraft.core.registries.BuiltInRegistries;
+import net.minecraft.resources.ResourceLocation;
+import net.minecraft.stats.Stat;
+import net.minecraft.stats.StatType;
+import net.minecraft.world.item.Item;
+import net.minecraft.world.level.block.Block;
+import net.minecraft.world.level.block.Blocks;
+import org.jetbrains.annotations.ApiStatus.Internal;
+import org.jetbrains.annotations.Nullable;
+
+import it.unimi.dsi.fastutil.objects.Object2IntOpenHashMap;
+
+/**
+ * A snapshot of all {@link Stat}s the game's registries define, that
+ * assigns each {@link Stat} a dense {@code int} ID.
+ * <p>
+ * The registries of all {@link StatType}s are laid out one after another, in the order of
+ * the {@link StatType}s' raw IDs, so a {@link Stat}'s ID is its {@link StatType}'s first ID
+ * plus its registry item's raw ID. For each ID, its registry item's {@link ResourceLocation},
+ * and the index of that {@link ResourceLocation}'s namespace are computed ahead of time, as are
+ * the links between {@link Item}s and their {@link Block}s. This allows hot paths to index arrays,
+ * instead of looking things up in the registries.
+ * <p>
+ * The {@link Stat} instances themselves are not created ahead of time, as the game only creates
+ * them on demand, and creating one for every registry item of every {@link StatType} would keep
+ * a lot of objects alive in large modpacks. Instead, {@link #statOf(int)} obtains each {@link Stat}
+ * the first time its ID is looked up, and caches it.
+ * @apiNote Use this only after the game's registries are frozen, as the snapshot
+ * is created once, based on the registries' contents at the time.
+ * @apiNote Thread-safe. {@link Stat}s are obtained via {@link StatType#get(Object)} under this
+ * schema's lock, so the schema's own lookups never create {@link Stat}s at the same time.
+ * Each {@link Stat} is only created once, after which lookups read it without locking.
+ */
+public final class StatSchema extends Object
+{
+	// ==================================================
+	private static volatile @Nullable StatSchema INSTANCE;
+	// --------------------------------------------------
+	private final StatType<?>[] statTypes;      //indexed by stat type raw ID
+	private final ResourceLocation[] statTypeIds; //indexed by stat type raw ID
+	private final int[] offsets;                 //the first ID of each stat type, followed by the total ID count
+	private final List<StatType<?>> statTypeList;
+	// --------------------------------------------------
+	private final Stat<?>[] stats; //created lazily, see #statOf(int)
+	private final ResourceLocation[] entryIds;
+	private final int[] entryNamespaces;
+	private final List<String> namespaces;
+	// --------------------------------------------------
+	private final int[] itemToBlock; //indexed by item raw ID, -1 when none
+	private final int[] blockToItem; //indexed by block raw ID, -1 when none
+	// ==================================================
+	@SuppressWarnings("unchecked")
+	private StatSchema()
+	{
+		//lay out the stat types
+		final int typeCount = BuiltInRegistries.STAT_TYPE.size();
+		this.statTypes = new StatType<?>[typeCount];
+		this.statTypeIds = new ResourceLocation[typeCount];
+		this.offsets = new int[typeCount + 1];
+		final var statTypeList = new ArrayList<StatType<?>>(typeCount);
+		int offset = 0;
+		for(int t = 0; t < typeCount; t++)
+		{
+			final @Nullable var statType = BuiltInRegistries.STAT_TYPE.byId(t);
+			this.statTypes[t] = statType;
+			this.offsets[t] = offset;
+			if(statType == null) continue;
+			this.statTypeIds[t] = BuiltInRegistries.STAT_TYPE.getKey(statType);
+			statTypeList.add(statType);
+			offset += statType.getRegistry().size();
+		}
+		this.offsets[typeCount] = offset;
+		this.statTypeList = Collections.unmodifiableList(statTypeList);
+		
+		//compute each stat's registry item's id, and that id's namespace index
+		//(the stats themselves are only created once they are looked up)
+		this.stats = new Stat<?>[offset];
+		this.entryIds = new ResourceLocation[offset];
+		this.entryNamespaces = new int[offset];
+		final var namespaceIndex = new Object2IntOpenHashMap<String>();
+		namespaceIndex.defaultReturnValue(-1);
+		final var namespaces = new ArrayList<String>();
+		for(int t = 0; t < typeCount; t++)
+		{
+			final @Nullable var statType = (StatType<Object>)this.statTypes[t];
+			if(statType == null) continue;
+			final var registry = statType.getRegistry();
+			for(int id = this.offsets[t], rawId = 0; id < this.offsets[t + 1]; id++, rawId++)
+			{
+				final @Nullable Object item = registry.byId(rawId);
+				if(item == null) { this.entryNamespaces[id] = -1; continue; }
+				final var entryId = this.entryIds[id] = registry.getKey(item);
+				int namespace = namespaceIndex.getInt(entryId.getNamespace());
+				if(namespace < 0)
+				{
+					namespace = namespaces.size();
+					namespaceIndex.put(entryId.getNamespace(), namespace);
+					namespaces.add(entryId.getNamespace());
+				}
+				this.entryNamespaces[id] = namespace;
+			}
+		}
+		this.namespaces = Collections.unmodifiableList(namespaces);
+		
+		//link the items and their blocks
+		this.itemToBlock = new int[BuiltInRegistries.ITEM.size()];
+		this.blockToItem = new int[BuiltInRegistries.BLOCK.size()];
+		Arrays.fill(this.itemToBlock, -1);
+		Arrays.fill(this.blockToItem, -1);
+		for(final var item : BuiltInRegistries.ITEM)
+		{
+			final var block = Block.byItem(item);
+			if(block == Blocks.AIR) continue;
+			final int itemId = BuiltInRegistries.ITEM.getId(item), blockId = BuiltInRegistries.BLOCK.getId(block);
+			if(itemId < 0 || itemId >= this.itemToBlock.length || blockId < 0 || blockId >= this.blockToItem.length) continue;
+			this.itemToBlock[itemId] = blockId;
+			this.blockToItem[blockId] = itemId;
+		}
+	}
+	// --------------------------------------------------
+	/**
+	 * Returns the {@link StatSchema}.
+	 * @throws IllegalStateException If the {@link StatSchema} wasn't created yet, see {@link #init()}.
+	 */
+	public static final StatSchema get() throws IllegalStateException
+	{
+		final @Nullable var instance = INSTANCE;
+		if(instance == null) throw new IllegalStateException("The stat schema is not initialized yet.");
+		return instance;
+	}
+	
+	/**
+	 * Creates the {@link StatSchema}, unless it was already created, and returns it.
+	 * <p>
+	 * This is called on the main thread, after the registries are frozen, and before
+	 * anything that may run on another thread gets to call {@link #get()}, which
+	 * throws if the {@link StatSchema} wasn't created yet.
+	 */
+	@Internal
+	public static final synchronized StatSchema init()
+	{
+		if(INSTANCE == null) INSTANCE = new StatSchema();
+		return INSTANCE;
+	}
+	// ==================================================
+	/**
+	 * Returns the number of IDs. Valid IDs range from {@code 0} to this value, exclusive.
+	 */
+	public final int size() { return this.stats.length; }
+	// --------------------------------------------------
+	/**
+	 * Returns all {@link StatType}s, in the order of their raw IDs.
+	 */
+	public final List<StatType<?>> getStatTypes() { return this.statTypeList; }
+	
+	/**
+	 * Returns the {@link ResourceLocation} of a {@link StatType}, or {@code null} if it is not registered.
+	 */
+	public final @Nullable ResourceLocation getStatTypeId(StatType<?> statType)
+	{
+		final int t = statTypeIndexOf(statType);
+		return (t >= 0) ? this.statTypeIds[t] : null;
+	}
+	
+	/**
+	 * Returns the first ID of a {@link StatType}'s {@link Stat}s, or {@code -1} if it is not registered.
+	 * The {@link StatType}'s {@link Stat}s take up the IDs up to {@link #getEndId(StatType)}, exclusive.
+	 */
+	public final int getStartId(StatType<?> statType)
+	{
+		final int t = statTypeIndexOf(statType);
+		return (t >= 0) ? this.offsets[t] : -1;
+	}
+	
+	/**
+	 * Returns the ID after the last ID of a {@link StatType}'s {@link Stat}s, or {@code -1} if it is not registered.
+	 * @see #getStartId(StatType)
+	 */
+	public final int getEndId(StatType<?> statType)
+	{
+		final int t = statTypeIndexOf(statType);
+		return (t >= 0) ? this.offsets[t + 1] : -1;
+	}
+	
+	private final int statTypeIndexOf(StatType<?> statType)
+	{
+		//there are only a few stat types, so comparing references beats hashing
+		for(int t = 0; t < this.statTypes.length; t++)
+			if(this.statTypes[t] == statType) return t;
+		return -1;
+	}
+	// --------------------------------------------------
+	/**
+	 * Returns the ID of a {@link Stat}, or {@code -1} if it has none.
+	 * @param stat The {@link Stat}.
+	 */
+	public final <T> int idOf(Stat<T> stat) { return idOf(stat.getType(), stat.getValue()); }
+	
+	/**
+	 * Returns the ID of the {@link Stat} for a given {@link StatType} and registry item, or {@code -1} if it has none.
+	 * @param statType The {@link StatType}.
+	 * @param value The {@link StatType}'s registry item.
+	 */
+	public final <T> int idOf(StatType<T> statType, T value)
+	{
+		return idOfRawId(statType, statType.getRegistry().getId(value));
+	}
+	
+	/**
+	 * Returns the ID of the {@link Stat} for a given {@link StatType} and its registry item's raw ID,
+	 * or {@code -1} if it has none.
+	 * @param statType The {@link StatType}.
+	 * @param rawId The raw ID of the {@link StatType}'s registry item.
+	 */
+	public final int idOfRawId(StatType<?> statType, int rawId)
+	{
+		final int t = statTypeIndexOf(statType);
+		if(t < 0 || rawId < 0 || rawId >= this.offsets[t + 1] - this.offsets[t]) return -1;
+		return this.offsets[t] + rawId;
+	}
+	
+	/**
+	 * Returns the {@link Stat} with a given ID, or {@code null} if there is none.
+	 * The {@link Stat} is obtained the first time its ID is looked up, and cached.
+	 * @param id The ID.
+	 */
+	public final @Nullable Stat<?> statOf(int id)
+	{
+		if(id < 0 || id >= this.stats.length) return null;
+		//(a stat's fields are final, so it is safe to read it from the array without a lock)
+		final @Nullable var stat = this.stats[id];
+		return (stat != null) ? stat : createStat(id);
+	}
+	
+	@SuppressWarnings("unchecked")
+	private final synchronized @Nullable Stat<?> createStat(int id)
+	{
+		//another thread may have created the stat in the meantime
+		if(this.stats[id] != null) return this.stats[id];
+		if(this.entryIds[id] == null) return null;
+		
+		//find the stat type whose ids contain the id, which is the last one that starts at or before it
+		//(stat types that have no ids start where the next one starts, so they are skipped over)
+		int low = 0, high = this.statTypes.length - 1;
+		while(low < high)
+		{
+			final int mid = (low + high + 1) >>> 1;
+			if(this.offsets[mid] <= id) low = mid; else high = mid - 1;
+		}
+		final var statType = (StatType<Object>)this.statTypes[low];
+		final @Nullable Object value = statType.getRegistry().byId(id - this.offsets[low]);
+		if(value == null) return null;
+		return this.stats[id] = statType.get(value);
+	}
+	
+	/**
+	 * Returns the {@link ResourceLocation} of the registry item of the {@link Stat} with a given ID,
+	 * or {@code null} if there is none.
+	 * @param id The ID.
+	 */
+	public final @Nullable ResourceLocation entryIdOf(int id) { return (id >= 0 && id < this.entryIds.length) ? this.entryIds[id] : null; }
+	// --------------------------------------------------
+	/**
+	 * Returns all namespaces of the {@link Stat}s' registry items, in the order they were first encountered.
+	 */
+	public final List<String> getNamespaces() { return this.namespaces; }
+	
+	/**
+	 * Returns the index in {@link #getNamespaces()} of the namespace of the registry item
+	 * of the {@link Stat} with a given ID, or {@code -1} if there is none.
+	 * @param id The ID.
+	 */
+	public final int namespaceIndexOf(int id) { return (id >= 0 && id < this.entryNamespaces.length) ? this.entryNamespaces[id] : -1; }
+	// --------------------------------------------------
+	/**
+	 * Returns the {@link Block} that corresponds with a given {@link Item},
+	 * or {@code null} if the {@link Item} does not have a corresponding {@link Block}.
+	 * @param item The {@link Item}.
+	 */
+	public final @Nullable Block getBlockOf(Item item)
+	{
+		final int itemId = BuiltInRegistries.ITEM.getId(Objects.requireNonNull(item));
+		if(itemId < 0 || itemId >= this.itemToBlock.length || this.itemToBlock[itemId] < 0) return null;
+		return BuiltInRegistries.BLOCK.byId(this.itemToBlock[itemId]);
+	}
+	
+	/**
+	 * Returns the {@link Item} that corresponds with a given {@link Block},
+	 * or {@code null} if the {@link Block} does not have a corresponding {@link Item}.
+	 * @param block The {@link Block}.
+	 */
+	public final @Nullable Item getItemOf(Block block)
+	{
+		final int blockId = BuiltInRegistries.BLOCK.getId(Objects.requireNonNull(block));
+		if(blockId < 0 || blockId >= this.blockToItem.length || this.blockToItem[blockId] < 0) return null;
+		return BuiltInRegistries.ITEM.byId(this.blockToItem[blockId]);
+	}
+	// ==================================================
+}
\ No newline at end of file
@@ -0,0 +1,88 @@
+package io.github.thecsdev.betterstats.api.util.io;
+
+import java.util.Collection;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+import net.minecraft.stats.StatType;
+import org.jetbrains.annotations.Nullable;
+
+import it.unimi.dsi.fastutil.objects.Reference2LongMaps;
+import it.unimi.dsi.fastutil.objects.Reference2LongOpenHashMap;
+import it.unimi.dsi.fastutil.objects.ReferenceOpenHashSet;
+
+/**
+ * Keeps track of the version of an {@link IStatsProvider}'s statistics, as well as
+ * the {@link StatType}s whose statistics changed, for {@link IStatsProvider#getVersion()}
+ * and {@link IStatsProvider#getChangedStatTypes(long)}.
+ * <p>
+ * Versions are unique across all {@link StatsChangeTracker}s, so a version obtained from one
+ * {@link IStatsProvider} will never be mistaken for the version of another.
+ * @apiNote Thread-safe. {@link #getVersion()} never blocks.
+ */
+public final class StatsChangeTracker extends Object
+{
+	// ==================================================
+	private static final AtomicLong LAST_VERSION = new AtomicLong();
+	// --------------------------------------------------
+	private final long initialVersion;
+	private volatile long version;
+	private final Reference2LongOpenHashMap<StatType<?>> lastChanged = new Reference2LongOpenHashMap<>();
+	// ==================================================
+	public StatsChangeTracker() { this.initialVersion = this.version = LAST_VERSION.incrementAndGet(); }
+	// ==================================================
+	/**
+	 * Returns the current version.
+	 * @see IStatsProvider#getVersion()
+	 */
+	public final long getVersion() { return this.version; }
+	// --------------------------------------------------
+	/**
+	 * Increments the version, without marking any {@link StatType} as changed.
+	 * Used when something other than a {@link StatType}'s statistics changes, such as a player badge stat.
+	 */
+	public final synchronized void markChanged() { this.version = LAST_VERSION.incrementAndGet(); }
+	
+	/**
+	 * Increments the version, and marks a {@link StatType} as changed.
+	 * @param statType The {@link StatType} whose statistics changed.
+	 * @throws NullPointerException If the argument is {@code null}.
+	 */
+	public final synchronized void markChanged(StatType<?> statType) throws NullPointerException
+	{
+		Objects.requireNonNull(statType);
+		final long version = LAST_VERSION.incrementAndGet();
+		this.lastChanged.put(statType, version);
+		this.version = version;
+	}
+	
+	/**
+	 * Increments the version once, and marks all given {@link StatType}s as changed.
+	 * Does nothing if the {@link Collection} is empty.
+	 * @param statTypes The {@link StatType}s whose statistics changed.
+	 * @throws NullPointerException If the argument is {@code null}.
+	 */
+	public final synchronized void markChanged(Collection<? extends StatType<?>> statTypes) throws NullPointerException
+	{
+		if(statTypes.isEmpty()) return;
+		final long version = LAST_VERSION.incrementAndGet();
+		for(final var statType : statTypes) this.lastChanged.put(Objects.requireNonNull(statType), version);
+		this.version = version;
+	}
+	// --------------------------------------------------
+	/**
+	 * Returns the {@link StatType}s whose statistics changed after a given version.
+	 * @param sinceVersion A version previously returned by this {@link StatsChangeTracker}'s {@link #getVersion()}.
+	 * @return The changed {@link StatType}s, or {@code null} if this {@link StatsChangeTracker} could not have returned the given version.
+	 * @see IStatsProvider#getChangedStatTypes(long)
+	 */
+	public final synchronized @Nullable Set<StatType<?>> getChangedStatTypes(long sinceVersion)
+	{
+		if(sinceVersion < this.initialVersion || sinceVersion > this.version) return null;
+		final var result = new ReferenceOpenHashSet<StatType<?>>();
+		for(final var entry : Reference2LongMaps.fastIterable(this.lastChanged))
+			if(entry.getLongValue() > sinceVersion) result.add(entry.getKey());
+		return result;
+	}
+	// ==================================================
+}
\ No newline at end of file
@@ -0,0 +1,198 @@
+package io.github.thecsdev.betterstats.api.util.io;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.ObjIntConsumer;
+import net.minecraft.resources.ResourceLocation;
+import net.minecraft.stats.Stat;
+import net.minecraft.stats.StatType;
+
+import it.unimi.dsi.fastutil.longs.LongArrayList;
+import it.unimi.dsi.fastutil.objects.Object2IntMaps;
+import it.unimi.dsi.fastutil.objects.Object2IntOpenHashMap;
+import it.unimi.dsi.fastutil.objects.ReferenceOpenHashSet;
+
+/**
+ * The differences between the statistics of two {@link IStatsProvider}s, in form of
+ * the changes that turn the statistics of one of them into the statistics of the other.
+ * <p>
+ * Only the statistics whose values differ are kept, along with their old and new values,
+ * so applying a {@link StatsDiff} using {@link #applyTo(IEditableStatsProvider)} only ever
+ * sets the statistics that actually change, and comparing two {@link IStatsProvider}s
+ * only ever visits their non-zero statistics.
+ * @see IEditableStatsProvider#replaceAll(IStatsProvider)
+ */
+public final class StatsDiff extends Object
+{
+	// ==================================================
+	private final Object2IntOpenHashMap<Stat<?>> stats = new Object2IntOpenHashMap<>();                 //the new values
+	private final Object2IntOpenHashMap<Stat<?>> oldStats = new Object2IntOpenHashMap<>();              //the old values
+	private final Object2IntOpenHashMap<ResourceLocation> playerBadges = new Object2IntOpenHashMap<>(); //the new values
+	// ==================================================
+	private StatsDiff() {}
+	// --------------------------------------------------
+	/**
+	 * Computes the changes that turn the statistics of one {@link IStatsProvider} into the statistics of another.
+	 * @param from The {@link IStatsProvider} whose statistics are to be changed.
+	 * @param to The {@link IStatsProvider} whose statistics are the result of the changes.
+	 * @throws NullPointerException If an argument is {@code null}.
+	 */
+	public static final StatsDiff of(IStatsProvider from, IStatsProvider to) throws NullPointerException
+	{
+		Objects.requireNonNull(from);
+		Objects.requireNonNull(to);
+		final var diff = new StatsDiff();
+		
+		//merge-join the non-zero statistics of both, sorted by their schema IDs, in one pass
+		//(only the non-zero statistics are collected, so the cost doesn't scale with the registries)
+		final var schema = StatSchema.get();
+		final var unindexed = new ReferenceOpenHashSet<Stat<?>>(); //stats that have no schema ID
+		final long[] fromEntries = sortedEntries(from, schema, unindexed), toEntries = sortedEntries(to, schema, unindexed);
+		for(int i = 0, j = 0; i < fromEntries.length || j < toEntries.length;)
+		{
+			final int fromId = (i < fromEntries.length) ? (int)(fromEntries[i] >>> 32) : Integer.MAX_VALUE;
+			final int toId   = (j < toEntries.length) ? (int)(toEntries[j] >>> 32) : Integer.MAX_VALUE;
+			final int id = Math.min(fromId, toId);
+			final int oldValue = (fromId == id) ? (int)fromEntries[i++] : 0;
+			final int newValue = (toId == id) ? (int)toEntries[j++] : 0;
+			if(oldValue != newValue) diff.put(schema.statOf(id), oldValue, newValue);
+		}
+		for(final var stat : unindexed)
+		{
+			final int oldValue = from.getStatValue(stat), newValue = to.getStatValue(stat);
+			if(oldValue != newValue) diff.put(stat, oldValue, newValue);
+		}
+		
+		//same for the player badges
+		to.forEachNonZeroPlayerBadge((badgeId, value) -> { if(from.getPlayerBadgeValue(badgeId) != value) diff.playerBadges.put(badgeId, value); });
+		from.forEachNonZeroPlayerBadge((badgeId, value) -> { if(to.getPlayerBadgeValue(badgeId) == 0) diff.playerBadges.put(badgeId, 0); });
+		return diff;
+	}
+	
+	/**
+	 * Returns the non-zero statistics of an {@link IStatsProvider}, each packed into a {@code long}
+	 * whose upper half is its schema ID, and lower half its value, sorted by their schema IDs.
+	 * The statistics that have no schema ID are added to a given {@link Set} instead.
+	 */
+	private static final long[] sortedEntries(IStatsProvider statsProvider, StatSchema schema, Set<Stat<?>> unindexed)
+	{
+		final var entries = new LongArrayList();
+		statsProvider.forEachNonZeroStat((stat, value) ->
+		{
+			final int id = schema.idOf(stat);
+			if(id < 0) unindexed.add(stat);
+			else entries.add(((long)id << 32) | (value & 0xFFFFFFFFL));
+		});
+		final long[] result = entries.toLongArray();
+		Arrays.sort(result);
+		return result;
+	}
+	
+	private final void put(Stat<?> stat, int oldValue, int newValue)
+	{
+		this.stats.put(stat, newValue);
+		this.oldStats.put(stat, oldValue);
+	}
+	// ==================================================
+	/**
+	 * Returns {@code true} if there are no differences.
+	 */
+	public final boolean isEmpty() { return this.stats.isEmpty() && this.playerBadges.isEmpty(); }
+	// --------------------------------------------------
+	/**
+	 * Returns the {@link Stat}s whose values differ.
+	 */
+	public final Set<Stat<?>> getChangedStats() { return Collections.unmodifiableSet(this.stats.keySet()); }
+	
+	/**
+	 * Returns the {@link StatType}s of the {@link Stat}s whose values differ.
+	 */
+	public final Set<StatType<?>> getChangedStatTypes()
+	{
+		final var result = new ReferenceOpenHashSet<StatType<?>>();
+		for(final var stat : this.stats.keySet()) result.add(stat.getType());
+		return result;
+	}
+	
+	/**
+	 * Returns the difference between the new and the old value of a {@link Stat},
+	 * which is {@code 0} if its value doesn't differ.
+	 * @param stat The {@link Stat}.
+	 */
+	public final int getStatDelta(Stat<?> stat) { return this.stats.getInt(stat) - this.oldStats.getInt(stat); }
+	
+	/**
+	 * Returns the IDs of the player badges whose values differ.
+	 */
+	public final Set<ResourceLocation> getChangedPlayerBadges() { return Collections.unmodifiableSet(this.playerBadges.keySet()); }
+	// --------------------------------------------------
+	/**
+	 * Performs an action for each {@link Stat} whose value differs, with its new value.
+	 * The new value is {@code 0} for {@link Stat}s that are to be removed.
+	 * @param action The action to perform.
+	 * @throws NullPointerException If the argument is {@code null}.
+	 */
+	public final void forEachChangedStat(ObjIntConsumer<Stat<?>> action) throws NullPointerException
+	{
+		Objects.requireNonNull(action);
+		for(final var entry : Object2IntMaps.fastIterable(this.stats))
+			action.accept(entry.getKey(), entry.getIntValue());
+	}
+	
+	/**
+	 * Performs an action for each {@link Stat} whose value differs, with its old and its new value.
+	 * @param action The action to perform.
+	 * @throws NullPointerException If the argument is {@code null}.
+	 */
+	public final void forEachStatDelta(StatDeltaConsumer action) throws NullPointerException
+	{
+		Objects.requireNonNull(action);
+		for(final var entry : Object2IntMaps.fastIterable(this.stats))
+			action.accept(entry.getKey(), this.oldStats.getInt(entry.getKey()), entry.getIntValue());
+	}
+	
+	/**
+	 * Performs an action for each player badge whose value differs, with its new value.
+	 * The new value is {@code 0} for player badges that are to be removed.
+	 * @param action The action to perform.
+	 * @throws NullPointerException If the argument is {@code null}.
+	 */
+	public final void forEachChangedPlayerBadge(ObjIntConsumer<ResourceLocation> action) throws NullPointerException
+	{
+		Objects.requireNonNull(action);
+		for(final var entry : Object2IntMaps.fastIterable(this.playerBadges))
+			action.accept(entry.getKey(), entry.getIntValue());
+	}
+	// ==================================================
+	/**
+	 * Applies the changes to an {@link IEditableStatsProvider}, by setting
+	 * each {@link Stat} and player badge whose value differs.
+	 * @param statsProvider The {@link IEditableStatsProvider} to apply the changes to.
+	 * @throws NullPointerException If the argument is {@code null}.
+	 */
+	public final void applyTo(IEditableStatsProvider statsProvider) throws NullPointerException
+	{
+		Objects.requireNonNull(statsProvider);
+		forEachChangedStat(statsProvider::setStatValue);
+		forEachChangedPlayerBadge(statsProvider::setPlayerBadgeValue);
+	}
+	// ==================================================
+	/**
+	 * An action that is performed for a {@link Stat} whose value differs.
+	 * @see StatsDiff#forEachStatDelta(StatDeltaConsumer)
+	 */
+	@FunctionalInterface
+	public static interface StatDeltaConsumer
+	{
+		/**
+		 * Performs the action.
+		 * @param stat The {@link Stat}.
+		 * @param oldValue The {@link Stat}'s old value.
+		 * @param newValue The {@link Stat}'s new value.
+		 */
+		public void accept(Stat<?> stat, int oldValue, int newValue);
+	}
+	// ==================================================
+}
\ No newline at end of file
@@ -0,0 +1,84 @@
+package io.github.thecsdev.betterstats.api.util.io;
+
+import java.io.File;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+
+import net.minecraft.network.FriendlyByteBuf;
+
+/**
+ * The table of contents of an {@link IStatsProvider}'s data that has been written in the
+ * {@link StatsProviderIO#FILE_EXTENSION} format. Lists the file's chunks without decoding them.
+ * @see StatsProviderIO#peekHeader(FriendlyByteBuf)
+ * @see StatsProviderIO#peekHeader(File)
+ */
+public final class StatsFileHeader
+{
+	// ==================================================
+	private final int fileVersion;
+	private final List<Chunk> chunks;
+	// ==================================================
+	StatsFileHeader(int fileVersion, List<Chunk> chunks)
+	{
+		this.fileVersion = fileVersion;
+		this.chunks = List.copyOf(chunks);
+	}
+	// ==================================================
+	/**
+	 * Returns the data format version.
+	 * @see StatsProviderIO#FILE_VERSION
+	 */
+	public final int getFileVersion() { return this.fileVersion; }
+	
+	/**
+	 * Returns an unmodifiable {@link List} of all chunks, in the order they were written.
+	 */
+	public final List<Chunk> getChunks() { return this.chunks; }
+	
+	/**
+	 * Returns the first {@link Chunk} with the given ID, if there is one.
+	 * @param chunkId The chunk ID, such as "metadata" or "stats".
+	 */
+	public final Optional<Chunk> getChunk(String chunkId) throws NullPointerException
+	{
+		Objects.requireNonNull(chunkId);
+		return this.chunks.stream().filter(chunk -> chunkId.equals(chunk.getId())).findFirst();
+	}
+	// ==================================================
+	/**
+	 * Information about a single chunk of a {@link StatsFileHeader}.
+	 */
+	public static final class Chunk
+	{
+		private final String id;
+		private final long offset;
+		private final int size;
+		
+		Chunk(String id, long offset, int size)
+		{
+			this.id = Objects.requireNonNull(id);
+			this.offset = offset;
+			this.size = size;
+		}
+		
+		/**
+		 * Returns the chunk's ID.
+		 */
+		public final String getId() { return this.id; }
+		
+		/**
+		 * Returns the offset at which the chunk's data starts. The chunk's data
+		 * starts with its ID, and is preceded by its 4-byte little-endian size.
+		 */
+		public final long getOffset() { return this.offset; }
+		
+		/**
+		 * Returns the size of the chunk's data, in bytes, including its ID.
+		 */
+		public final int getSize() { return this.size; }
+		
+		public final @Override String toString() { return this.id + "[offset=" + this.offset + ", size=" + this.size + "]"; }
+	}
+	// ==================================================
+}
\ No newline at end of file
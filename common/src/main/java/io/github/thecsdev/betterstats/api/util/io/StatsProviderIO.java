@@ -4,18 +4,40 @@ import static java.nio.charset.StandardCharsets.US_ASCII;
 
 import java.io.File;
 import java.io.FileNotFoundException;
-import java.io.FileOutputStream;
 import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.PosixFileAttributeView;
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.UUID;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.BiConsumer;
+import java.util.stream.IntStream;
+import java.util.zip.Deflater;
+import net.minecraft.ResourceLocationException;
+import net.minecraft.core.registries.BuiltInRegistries;
 import net.minecraft.network.FriendlyByteBuf;
-import org.apache.commons.io.FileUtils;
+import net.minecraft.resources.ResourceLocation;
+import net.minecraft.stats.Stat;
+import net.minecraft.stats.StatType;
 import org.jetbrains.annotations.Nullable;
 
 import com.mojang.authlib.GameProfile;
 
 import io.github.thecsdev.tcdcommons.api.util.exceptions.UnsupportedFileVersionException;
+import io.netty.buffer.ByteBufAllocator;
+import io.netty.buffer.PooledByteBufAllocator;
 import io.netty.buffer.Unpooled;
+import io.netty.handler.codec.DecoderException;
+import it.unimi.dsi.fastutil.objects.Object2IntMap;
+import it.unimi.dsi.fastutil.objects.Object2IntOpenHashMap;
 
 /**
  * A utility class for reading and writing {@link IStatsProvider} data.
@@ -27,6 +49,13 @@ public final class StatsProviderIO extends Object
 	// --------------------------------------------------
 	public static final String FILE_EXTENSION = "mcbs"; //Note: as per RIFF rules, length MUST BE 4!
 	
+	/**
+	 * The "RIFF" form type that indicates the file chunk's data is compressed.
+	 * @apiNote The compressed data is the file chunk data of the {@link #FILE_EXTENSION} form.
+	 * @see #write(FriendlyByteBuf, IStatsProvider, boolean)
+	 */
+	public static final String COMPRESSED_FORM_TYPE = "mcbz"; //Note: as per RIFF rules, length MUST BE 4!
+	
 	/**
 	 * The current {@link #FILE_EXTENSION}'s "RIFF" data format version.
 	 * @apiNote Changing the {@link #FILE_VERSION} is more of a "last resort"-type thing,
@@ -36,13 +65,20 @@ public final class StatsProviderIO extends Object
 	 * still maintaining support for the older chunks.
 	 * @apiNote TLDR; Only increase if backwards compatibility is impossible.
 	 */
-	public static final int FILE_VERSION = 4;
+	public static final int FILE_VERSION = 5;
 	/* # File version history:
 	 * 1 - Since v3.0-alpha.1 - Initial version
 	 * 2 - Since v3.0-alpha.3 - Major changes to the player badge system
 	 * 3 - Since v3.9         - [Reserved for special use-case]
 	 * 4 - Since v3.9         - Support for modded stat types
+	 * 5 - Since v4.0         - Dictionary of identifiers, and VarInt-indexed stat entries
 	 */
+	
+	/**
+	 * The minimum number of stats, at which the stats chunks are written in parallel.
+	 * @see #writeChunks(FriendlyByteBuf, List, int, BiConsumer)
+	 */
+	static final int PARALLEL_WRITE_THRESHOLD = 4096;
 	// ==================================================
 	/**
 	 * Writes an {@link IStatsProvider}'s statistics data to a given {@link FriendlyByteBuf}.
@@ -52,6 +88,21 @@ public final class StatsProviderIO extends Object
 	 */
 	public static final void write(FriendlyByteBuf buffer, IStatsProvider statsProvider)
 	throws NullPointerException
+	{
+		write(buffer, statsProvider, false);
+	}
+	
+	/**
+	 * Writes an {@link IStatsProvider}'s statistics data to a given {@link FriendlyByteBuf},
+	 * optionally compressing it.
+	 * @param buffer The buffer to write the data to.
+	 * @param statsProvider The data to write.
+	 * @param compress Whether to write the {@link #COMPRESSED_FORM_TYPE}, whose data is compressed
+	 * using {@link Deflater} and a preset dictionary of common vanilla identifiers.
+	 * @apiNote Uses the "RIFF" file format. Both forms are read by {@link #read(FriendlyByteBuf, IEditableStatsProvider)}.
+	 */
+	public static final void write(FriendlyByteBuf buffer, IStatsProvider statsProvider, boolean compress)
+	throws NullPointerException
 	{
 		//null checks
 		Objects.requireNonNull(statsProvider);
@@ -61,36 +112,186 @@ public final class StatsProviderIO extends Object
 		buffer.writeBytes("RIFF".getBytes(US_ASCII));
 		
 		//write data
-		write_file(buffer, statsProvider, FILE_VERSION);
+		if(compress) write_compressedFile(buffer, statsProvider, FILE_VERSION);
+		else write_file(buffer, statsProvider, FILE_VERSION);
 	}
 	
 	private static final void write_file(FriendlyByteBuf buffer, IStatsProvider statsProvider, int fileVersion)
 	{
-		if(fileVersion < 1) throw new IllegalArgumentException("Attempting to write file version < 1.");
+		//reserve the file chunk size
+		//(the file chunk is written in-place, after which its size is back-patched)
+		final int fileSizeIndex = reserveChunkSize(buffer);
+		write_fileData(buffer, statsProvider, fileVersion, null);
+		patchChunkSize(buffer, fileSizeIndex);
+	}
+	
+	private static final void write_compressedFile(FriendlyByteBuf buffer, IStatsProvider statsProvider, int fileVersion)
+	{
+		//reserve the file chunk size, and write the form type and the preset dictionary id
+		final int fileSizeIndex = reserveChunkSize(buffer);
+		buffer.writeBytes(COMPRESSED_FORM_TYPE.toUpperCase().getBytes(US_ASCII));
+		buffer.writeIntLE(StatsProviderIO_deflate.PRESET_DICTIONARY_ID);
+		
+		//write the uncompressed file chunk data to a pooled buffer, compressing it into the main buffer
+		//and clearing it after each chunk, so only one uncompressed chunk is held in memory at a time
+		//(a sync flush ends each chunk on a byte boundary, while keeping it one continuous stream)
+		final var buffer_data = new FriendlyByteBuf(PooledByteBufAllocator.DEFAULT.buffer());
+		final var deflater = StatsProviderIO_deflate.newDeflater();
+		try
+		{
+			write_fileData(buffer_data, statsProvider, fileVersion, () ->
+			{
+				StatsProviderIO_deflate.deflate(deflater, buffer_data, buffer, false);
+				buffer_data.clear();
+			});
+			StatsProviderIO_deflate.deflate(deflater, buffer_data, buffer, true);
+		}
+		finally { buffer_data.release(); deflater.end(); }
 		
-		//create the buffer
-		final var buffer_file = new FriendlyByteBuf(Unpooled.buffer());
+		//finally, back-patch the file chunk size
+		patchChunkSize(buffer, fileSizeIndex);
+	}
+	
+	/**
+	 * Writes the file chunk data.
+	 * @param onChunkWritten Optional. Called each time a top-level chunk has been written in full, at which
+	 * point the buffer holds no partially written chunks. Not called for file versions older than 5.
+	 */
+	private static final void write_fileData(
+			FriendlyByteBuf buffer, IStatsProvider statsProvider, int fileVersion, @Nullable Runnable onChunkWritten)
+	{
+		if(fileVersion < 1) throw new IllegalArgumentException("Attempting to write file version < 1.");
 		
 		//write the file extension
 		if(FILE_EXTENSION.length() != 4) //RIFF specification requires length of 4
 			throw new IllegalStateException("Illegal file extension length, must be 4! Current value: " + FILE_EXTENSION);
-		buffer_file.writeBytes(FILE_EXTENSION.toUpperCase().getBytes(US_ASCII));
-
+		buffer.writeBytes(FILE_EXTENSION.toUpperCase().getBytes(US_ASCII));
+		
 		//write the file version
-		buffer_file.writeIntLE(fileVersion);
+		buffer.writeIntLE(fileVersion);
 		
 		//write chunks
 		switch(fileVersion)
 		{
-			case 2: StatsProviderIO_fv2.write_fileChunks(buffer_file, statsProvider); break;
-			case 4: StatsProviderIO_fv4.write_fileChunks(buffer_file, statsProvider); break;
+			case 2: StatsProviderIO_fv2.write_fileChunks(buffer, statsProvider); break;
+			case 4: StatsProviderIO_fv4.write_fileChunks(buffer, statsProvider); break;
+			case 5: StatsProviderIO_fv5.write_fileChunks(buffer, statsProvider, onChunkWritten); break;
 			default: break;
 		}
-
-		//finally, write the file chunk and release the file buffer
-		buffer.writeIntLE(buffer_file.readableBytes());
-		buffer.writeBytes(buffer_file);
-		buffer_file.release();
+	}
+	
+	/**
+	 * Writes an {@link IStatsProvider}'s statistics data to a new {@link FriendlyByteBuf}
+	 * that is allocated using a given {@link ByteBufAllocator}.
+	 * @param allocator The {@link ByteBufAllocator}. Pooled allocators are recommended for short-lived buffers.
+	 * @param statsProvider The data to write.
+	 * @apiNote The caller is responsible for calling {@link FriendlyByteBuf#release()} on the returned buffer.
+	 * @see #write(FriendlyByteBuf, IStatsProvider)
+	 */
+	public static final FriendlyByteBuf write(ByteBufAllocator allocator, IStatsProvider statsProvider)
+	throws NullPointerException
+	{
+		return write(allocator, statsProvider, false);
+	}
+	
+	/**
+	 * Writes an {@link IStatsProvider}'s statistics data to a new {@link FriendlyByteBuf}
+	 * that is allocated using a given {@link ByteBufAllocator}, optionally compressing it.
+	 * @param allocator The {@link ByteBufAllocator}. Pooled allocators are recommended for short-lived buffers.
+	 * @param statsProvider The data to write.
+	 * @param compress Whether to write the {@link #COMPRESSED_FORM_TYPE}.
+	 * @apiNote The caller is responsible for calling {@link FriendlyByteBuf#release()} on the returned buffer.
+	 * @see #write(FriendlyByteBuf, IStatsProvider, boolean)
+	 */
+	public static final FriendlyByteBuf write(ByteBufAllocator allocator, IStatsProvider statsProvider, boolean compress)
+	throws NullPointerException
+	{
+		final var buffer = new FriendlyByteBuf(allocator.buffer());
+		try { write(buffer, statsProvider, compress); }
+		catch(RuntimeException re) { buffer.release(); throw re; }
+		return buffer;
+	}
+	// --------------------------------------------------
+	/**
+	 * Reserves 4 bytes for a little-endian chunk size at the current writer index,
+	 * so that the chunk can be written in-place, without an intermediate buffer.
+	 * @return The index of the reserved bytes, for {@link #patchChunkSize(FriendlyByteBuf, int)}.
+	 */
+	static final int reserveChunkSize(FriendlyByteBuf buffer)
+	{
+		final int index = buffer.writerIndex();
+		buffer.writeIntLE(0);
+		return index;
+	}
+	
+	/**
+	 * Writes the size of a chunk that was written in-place, to the bytes that were
+	 * reserved using {@link #reserveChunkSize(FriendlyByteBuf)}. The chunk is assumed
+	 * to end at the current writer index.
+	 */
+	static final void patchChunkSize(FriendlyByteBuf buffer, int index)
+	{
+		buffer.setIntLE(index, buffer.writerIndex() - (index + 4));
+	}
+	
+	/**
+	 * Writes one chunk for each of the given elements, in the order of the elements.
+	 * <p>
+	 * When there are enough stats in total, the chunks are written in parallel on the
+	 * {@link ForkJoinPool#commonPool()}, each to its own pooled buffer, after which the
+	 * buffers are appended to the target buffer in order. Otherwise, the chunks are
+	 * written in-place, one after another.
+	 * @param buffer The target buffer.
+	 * @param elements The elements to write chunks for.
+	 * @param statCount The total number of stats the chunks hold.
+	 * @param chunkWriter Writes the chunk ID and the chunk data for a given element.
+	 * Must be safe to call from multiple threads at once.
+	 */
+	static final <T> void writeChunks(
+			FriendlyByteBuf buffer, List<T> elements, int statCount, BiConsumer<FriendlyByteBuf, T> chunkWriter)
+	{
+		writeChunks(buffer, elements, statCount, chunkWriter, null);
+	}
+	
+	/**
+	 * Same as {@link #writeChunks(FriendlyByteBuf, List, int, BiConsumer)}, but calls a given
+	 * {@link Runnable} on the calling thread after each chunk is written to the target buffer.
+	 * @param onChunkWritten Optional. Called after each chunk is written to the target buffer.
+	 */
+	static final <T> void writeChunks(
+			FriendlyByteBuf buffer, List<T> elements, int statCount,
+			BiConsumer<FriendlyByteBuf, T> chunkWriter, @Nullable Runnable onChunkWritten)
+	{
+		//for small amounts of data, the overhead of parallelism outweighs its benefits
+		if(statCount < PARALLEL_WRITE_THRESHOLD || elements.size() < 2 || ForkJoinPool.getCommonPoolParallelism() < 2)
+		{
+			for(final var element : elements)
+			{
+				final int chunkSizeIndex = reserveChunkSize(buffer);
+				chunkWriter.accept(buffer, element);
+				patchChunkSize(buffer, chunkSizeIndex);
+				if(onChunkWritten != null) onChunkWritten.run();
+			}
+			return;
+		}
+		
+		//write the chunks in parallel, each to a separate buffer, and then append them in order
+		final var chunks = new FriendlyByteBuf[elements.size()];
+		try
+		{
+			IntStream.range(0, chunks.length).parallel().forEach(i ->
+			{
+				chunks[i] = new FriendlyByteBuf(PooledByteBufAllocator.DEFAULT.heapBuffer());
+				chunkWriter.accept(chunks[i], elements.get(i));
+			});
+			for(final var buffer_chunk : chunks)
+			{
+				buffer.writeIntLE(buffer_chunk.readableBytes());
+				buffer.writeBytes(buffer_chunk);
+				if(onChunkWritten != null) onChunkWritten.run();
+			}
+		}
+		finally { for(final var buffer_chunk : chunks) if(buffer_chunk != null) buffer_chunk.release(); }
 	}
 	// ==================================================
 	/**
@@ -104,6 +305,27 @@ public final class StatsProviderIO extends Object
 	public static final void read(FriendlyByteBuf buffer, IEditableStatsProvider statsProvider)
 			throws IllegalHeaderException, UnsupportedFileVersionException
 	{
+		read(buffer, statsProvider, ReadOptions.DEFAULT);
+	}
+	
+	/**
+	 * Reads selected parts of an {@link IStatsProvider}'s data that has been written to a
+	 * {@link FriendlyByteBuf}, into an {@link IEditableStatsProvider}. Chunks and stat types that
+	 * were not requested are skipped without being decoded.
+	 * @param buffer The buffer to read data from.
+	 * @param statsProvider The {@link IEditableStatsProvider} to load the data into.
+	 * @param options The {@link ReadOptions} that determine which parts of the data are read.
+	 * @throws IllegalHeaderException If the "RIFF" header is missing, or the file extension is invalid.
+	 * @throws UnsupportedFileVersionException If the file data version is not supported.
+	 * @see LazyStatsProvider
+	 */
+	public static final void read(FriendlyByteBuf buffer, IEditableStatsProvider statsProvider, ReadOptions options)
+			throws IllegalHeaderException, UnsupportedFileVersionException
+	{
+		//requirements
+		Objects.requireNonNull(statsProvider);
+		Objects.requireNonNull(options);
+		
 		//create a new editable stats provider
 		if(buffer.readableBytes() < 8)
 			throw new IllegalHeaderException("chunk size >= 8", "chunk size == " + buffer.readableBytes());
@@ -121,36 +343,263 @@ public final class StatsProviderIO extends Object
 			
 			//read file chunk length
 			final int fileLength = buffer.readIntLE();
-			if(buffer.readableBytes() < fileLength)
+			if(fileLength < 0 || buffer.readableBytes() < fileLength)
 				throw new IllegalHeaderException("chunk size >= " + fileLength, "chunk size == " + buffer.readableBytes());
+			if(fileLength > options.maxDataSize())
+				throw new IllegalHeaderException("file size <= " + options.maxDataSize(), "file size == " + fileLength);
 			
 			//begin reading file
 			//(creates a view of the original buffer, so it doesn't have to be released separately)
 			final var buffer_file = new FriendlyByteBuf(buffer.readSlice(fileLength));
-			read_file(buffer_file, statsProvider);
+			read_file(buffer_file, statsProvider, new ReadLimiter(options));
 		}
 		catch(IllegalHeaderException | UnsupportedFileVersionException exc) { buffer.resetReaderIndex(); throw exc; }
+		catch(IndexOutOfBoundsException | DecoderException | ResourceLocationException exc)
+		{
+			//malformed data that got past the explicit checks, such as a truncated value
+			buffer.resetReaderIndex();
+			final var ihe = new IllegalHeaderException("well-formed data", String.valueOf(exc.getMessage()));
+			ihe.initCause(exc);
+			throw ihe;
+		}
 	}
 	// --------------------------------------------------
-	private static final void read_file(FriendlyByteBuf buffer_file, IEditableStatsProvider statsProvider)
+	private static final void read_file(FriendlyByteBuf buffer_file, IEditableStatsProvider statsProvider, ReadLimiter limiter)
 			throws IllegalHeaderException, UnsupportedFileVersionException
 	{		
-		//read file extension
+		//read file extension, and check if the data is compressed
 		final String FEXT = buffer_file.readSlice(4).toString(US_ASCII);
-		if(!FILE_EXTENSION.equalsIgnoreCase(FEXT))
+		if(COMPRESSED_FORM_TYPE.equalsIgnoreCase(FEXT))
+		{
+			read_compressedFile(buffer_file, statsProvider, limiter);
+			return;
+		}
+		else if(!FILE_EXTENSION.equalsIgnoreCase(FEXT))
 			throw new IllegalHeaderException(FILE_EXTENSION, FEXT);
 		
 		//read file version
 		final int fileVersion = buffer_file.readIntLE();
 		
 		//read file chunks
+		final var chunkReader = chunkReader(fileVersion, statsProvider, limiter);
+		while(buffer_file.readableBytes() > 0)
+		{
+			//read next chunk's size, and check it
+			final int chunkSize = buffer_file.readIntLE();
+			if(chunkSize < 0 || buffer_file.readableBytes() < chunkSize)
+				throw new IllegalHeaderException(
+						"chunk size >= " + chunkSize,
+						"chunk size == " + buffer_file.readableBytes());
+			
+			//read the chunk data
+			//(creates a view of the original buffer, so it doesn't have to be released separately)
+			final var buffer_chunk = new FriendlyByteBuf(buffer_file.readSlice(chunkSize));
+			chunkReader.readChunk(limiter.readUtf(buffer_chunk), buffer_chunk);
+		}
+	}
+	
+	private static final void read_compressedFile(FriendlyByteBuf buffer_file, IEditableStatsProvider statsProvider, ReadLimiter limiter)
+			throws IllegalHeaderException, UnsupportedFileVersionException
+	{
+		//the data is decompressed one chunk at a time, to a buffer that is reused for every chunk,
+		//so the whole uncompressed data never has to be held in memory at once
+		final var inflater = StatsProviderIO_deflate.newInflater(buffer_file.readIntLE(), buffer_file);
+		final var buffer_chunk = new FriendlyByteBuf(Unpooled.buffer());
+		try
+		{
+			//read file extension and file version
+			if(!StatsProviderIO_deflate.inflate(inflater, buffer_chunk, 8))
+				throw new IllegalHeaderException("chunk size >= 8", "chunk size == 0");
+			final String FEXT = buffer_chunk.readSlice(4).toString(US_ASCII);
+			if(!FILE_EXTENSION.equalsIgnoreCase(FEXT))
+				throw new IllegalHeaderException(FILE_EXTENSION, FEXT);
+			final var chunkReader = chunkReader(buffer_chunk.readIntLE(), statsProvider, limiter);
+			
+			//read file chunks
+			//(the decompressed size is limited as well, so highly compressed data cannot inflate indefinitely)
+			long remaining = limiter.options.maxDataSize() - 8L;
+			while(StatsProviderIO_deflate.inflate(inflater, buffer_chunk, 4))
+			{
+				//read next chunk's size, and check it
+				final int chunkSize = buffer_chunk.readIntLE();
+				remaining -= 4L + chunkSize;
+				if(chunkSize < 0 || remaining < 0)
+					throw new IllegalHeaderException("file size <= " + limiter.options.maxDataSize(), "chunk size == " + chunkSize);
+				if(!StatsProviderIO_deflate.inflate(inflater, buffer_chunk, chunkSize))
+					throw new IllegalHeaderException("chunk size >= " + chunkSize, "chunk size == 0");
+				
+				//read the chunk data
+				chunkReader.readChunk(limiter.readUtf(buffer_chunk), buffer_chunk);
+			}
+		}
+		finally { buffer_chunk.release(); inflater.end(); }
+	}
+	
+	/**
+	 * Returns the {@link ChunkReader} for a given file version.
+	 * @throws UnsupportedFileVersionException If the file version is not supported.
+	 */
+	private static final ChunkReader chunkReader(int fileVersion, IEditableStatsProvider statsProvider, ReadLimiter limiter)
+			throws UnsupportedFileVersionException
+	{
 		switch(fileVersion)
 		{
-			case 2: StatsProviderIO_fv2.read_fileChunks(buffer_file, statsProvider); break;
-			case 4: StatsProviderIO_fv4.read_fileChunks(buffer_file, statsProvider); break;
+			case 2: return StatsProviderIO_fv2.chunkReader(statsProvider, limiter);
+			case 4: return StatsProviderIO_fv4.chunkReader(statsProvider, limiter);
+			case 5: return StatsProviderIO_fv5.chunkReader(statsProvider, limiter);
 			default: throw new UnsupportedFileVersionException(Integer.toString(fileVersion));
 		}
 	}
+	// --------------------------------------------------
+	/**
+	 * Groups an {@link IStatsProvider}'s non-zero {@link Stat}s by their {@link StatType}s.
+	 * {@link Stat}s whose {@link StatType} or registry item is not registered are left out,
+	 * as they have no identifiers to be written with.
+	 * @see IStatsProvider#forEachNonZeroStat(java.util.function.ObjIntConsumer)
+	 */
+	@SuppressWarnings("unchecked")
+	static final Map<StatType<?>, Object2IntMap<Stat<?>>> groupNonZeroStats(IStatsProvider statsProvider)
+	{
+		final var result = new IdentityHashMap<StatType<?>, Object2IntMap<Stat<?>>>();
+		statsProvider.forEachNonZeroStat((stat, value) ->
+		{
+			final var statType = (StatType<Object>)stat.getType();
+			if(BuiltInRegistries.STAT_TYPE.getKey(statType) == null || statType.getRegistry().getKey(stat.getValue()) == null) return;
+			result.computeIfAbsent(statType, __ -> new Object2IntOpenHashMap<>()).put(stat, value);
+		});
+		return result;
+	}
+	// --------------------------------------------------
+	/**
+	 * Reads the table of contents of an {@link IStatsProvider}'s data that has been written
+	 * to a {@link FriendlyByteBuf}, without decoding any of the chunks.
+	 * @param buffer The buffer to read from. Its reader index is not modified.
+	 * @return The {@link StatsFileHeader}, whose chunk offsets are relative to the buffer's reader index.
+	 * @throws IllegalHeaderException If the "RIFF" header is missing, or the file extension is invalid.
+	 * @apiNote Compressed data (see {@link #COMPRESSED_FORM_TYPE}) is not supported, as its chunks
+	 * cannot be located without decompressing them.
+	 */
+	public static final StatsFileHeader peekHeader(FriendlyByteBuf buffer) throws NullPointerException, IllegalHeaderException
+	{
+		//create a view of the buffer, so the original indices aren't affected
+		final var view = new FriendlyByteBuf(buffer.slice());
+		if(view.readableBytes() < 16)
+			throw new IllegalHeaderException("chunk size >= 16", "chunk size == " + view.readableBytes());
+		
+		//read the RIFF header, file extension, and file version
+		final long fileEnd = peekHeader_riff(new FriendlyByteBuf(view.slice(0, 12)), view.readableBytes());
+		view.skipBytes(12);
+		final int fileVersion = view.readIntLE();
+		
+		//read the chunk headers
+		final var chunks = new ArrayList<StatsFileHeader.Chunk>();
+		while(view.readerIndex() < fileEnd)
+		{
+			//read and check the chunk size
+			final int chunkSize = view.readIntLE();
+			final int chunkOffset = view.readerIndex();
+			if(chunkSize < 1 || fileEnd - chunkOffset < chunkSize)
+				throw new IllegalHeaderException("chunk size <= " + (fileEnd - chunkOffset), "chunk size == " + chunkSize);
+			
+			//read the chunk id, and skip the chunk data
+			final var chunkId = new FriendlyByteBuf(view.slice(chunkOffset, chunkSize)).readUtf();
+			chunks.add(new StatsFileHeader.Chunk(chunkId, chunkOffset, chunkSize));
+			view.skipBytes(chunkSize);
+		}
+		return new StatsFileHeader(fileVersion, chunks);
+	}
+	
+	/**
+	 * Reads the table of contents of a {@link File} in the {@link #FILE_EXTENSION} format.
+	 * Only the headers of the file and its chunks are read from the disk, so this remains
+	 * fast regardless of how large the {@link File} is.
+	 * @param file The {@link File} to read from.
+	 * @return The {@link StatsFileHeader}, whose chunk offsets are absolute positions in the {@link File}.
+	 * @throws FileNotFoundException If the {@link File} does not exist.
+	 * @throws IOException If {@link File} IO operations raise an {@link IOException}, or the headers are invalid.
+	 */
+	public static final StatsFileHeader peekHeader(File file) throws FileNotFoundException, IOException
+	{
+		//check if the file exists
+		if(!file.exists()) throw new FileNotFoundException(file.getAbsolutePath());
+		
+		//read the headers using a small buffer that is reused for every chunk
+		final var buffer = new FriendlyByteBuf(Unpooled.buffer(64));
+		try(final var fileChannel = FileChannel.open(file.toPath(), StandardOpenOption.READ))
+		{
+			//read the RIFF header, file extension, and file version
+			final long fileSize = fileChannel.size();
+			final long fileEnd = peekHeader_riff(peekHeader_read(fileChannel, buffer, 0, 12), fileSize);
+			final int fileVersion = peekHeader_read(fileChannel, buffer, 12, 4).readIntLE();
+			
+			//read the chunk headers
+			final var chunks = new ArrayList<StatsFileHeader.Chunk>();
+			long position = 16;
+			while(position < fileEnd)
+			{
+				//read and check the chunk size
+				final int chunkSize = peekHeader_read(fileChannel, buffer, position, 4).readIntLE();
+				final long chunkOffset = position + 4;
+				if(chunkSize < 1 || fileEnd - chunkOffset < chunkSize)
+					throw new IllegalHeaderException("chunk size <= " + (fileEnd - chunkOffset), "chunk size == " + chunkSize);
+				
+				//read the chunk id, whose length is only known after reading its VarInt prefix
+				peekHeader_read(fileChannel, buffer, chunkOffset, Math.min(chunkSize, 64));
+				final int idLength = buffer.readVarInt() + buffer.readerIndex();
+				if(idLength > buffer.writerIndex() && idLength <= chunkSize)
+					peekHeader_read(fileChannel, buffer, chunkOffset, idLength);
+				else buffer.readerIndex(0);
+				
+				//add the chunk, and skip its data
+				chunks.add(new StatsFileHeader.Chunk(buffer.readUtf(), chunkOffset, chunkSize));
+				position = chunkOffset + chunkSize;
+			}
+			return new StatsFileHeader(fileVersion, chunks);
+		}
+		catch(SecurityException se) { throw new IOException(se); }
+		finally { buffer.release(); }
+	}
+	
+	/**
+	 * Reads and checks the 12-byte "RIFF" header, alongside the file extension.
+	 * @param header The header's bytes.
+	 * @param available The total number of bytes available, including the header.
+	 * @return The number of bytes from the start of the header to the end of the file chunk.
+	 */
+	private static final long peekHeader_riff(FriendlyByteBuf header, long available) throws IllegalHeaderException
+	{
+		//read RIFF
+		final String RIFF = header.readSlice(4).toString(US_ASCII);
+		if(!"RIFF".equalsIgnoreCase(RIFF))
+			throw new IllegalHeaderException("RIFF", RIFF);
+		
+		//read and check the file chunk length
+		final int fileLength = header.readIntLE();
+		if(fileLength < 8 || available - 8 < fileLength)
+			throw new IllegalHeaderException("chunk size >= " + fileLength, "chunk size == " + (available - 8));
+		
+		//read the file extension
+		final String FEXT = header.readSlice(4).toString(US_ASCII);
+		if(!FILE_EXTENSION.equalsIgnoreCase(FEXT))
+			throw new IllegalHeaderException(FILE_EXTENSION, FEXT);
+		return fileLength + 8L;
+	}
+	
+	/**
+	 * Clears a buffer, and fills it with a given number of bytes from a {@link FileChannel}.
+	 * @return The buffer.
+	 */
+	private static final FriendlyByteBuf peekHeader_read(FileChannel fileChannel, FriendlyByteBuf buffer, long position, int length)
+			throws IOException
+	{
+		buffer.clear();
+		while(buffer.writerIndex() < length)
+		{
+			final int read = buffer.writeBytes(fileChannel, position + buffer.writerIndex(), length - buffer.writerIndex());
+			if(read < 0) throw new IllegalHeaderException("chunk size >= " + length, "chunk size == " + buffer.writerIndex());
+		}
+		return buffer;
+	}
 	// ==================================================
 	/**
 	 * Writes a {@link GameProfile} to a given {@link FriendlyByteBuf}.
@@ -181,7 +630,8 @@ public final class StatsProviderIO extends Object
 	
 	/**
 	 * Reads a {@link GameProfile} from a {@link FriendlyByteBuf}. Will return
-	 * {@code null} if a "{@code null}" {@link GameProfile} was written to the buffer.
+	 * {@code null} if a "{@code null}" {@link GameProfile} was written to the buffer,
+	 * or if the UUID or the name is missing.
 	 * @apiNote {@link GameProfile#getProperties()} are not read from the buffer.
 	 */
 	public static final @Nullable GameProfile readGameProfile(FriendlyByteBuf buffer)
@@ -192,7 +642,8 @@ public final class StatsProviderIO extends Object
 		final String name = buffer.readBoolean() ? buffer.readUtf() : null;
 		
 		//construct the game profile
-		if(name == null && uuid == null) return null;
+		//(a game profile requires both, and only ever has both written, so anything else is treated as "null")
+		if(name == null || uuid == null) return null;
 		else return new GameProfile(uuid, name);
 	}
 	// ==================================================
@@ -204,26 +655,73 @@ public final class StatsProviderIO extends Object
 	 * @throws IOException If the {@link File} IO operations raise an {@link IOException}.
 	 */
 	public static void saveToFile(File file, IStatsProvider statsProvider) throws IOException
+	{
+		saveToFile(file, statsProvider, false);
+	}
+	
+	/**
+	 * Saves an {@link IStatsProvider}'s data to a {@link File}, optionally compressing it.<br/>
+	 * If the {@link File} doesn't exist, it will be created; otherwise, it will be overridden.
+	 * @param file The {@link File} to save the {@link IStatsProvider} to.
+	 * @param statsProvider The {@link IStatsProvider} to save.
+	 * @param compress Whether to write the {@link #COMPRESSED_FORM_TYPE}.
+	 * @throws IOException If the {@link File} IO operations raise an {@link IOException}.
+	 * @apiNote The data is first written to a temporary {@link File}, and forced onto the storage device,
+	 * after which it atomically replaces the target {@link File}, where supported by the file system.
+	 * The target {@link File}'s permissions are kept.
+	 * @see #saveToFile(File, IStatsProvider, boolean, boolean)
+	 */
+	public static void saveToFile(File file, IStatsProvider statsProvider, boolean compress) throws IOException
+	{
+		saveToFile(file, statsProvider, compress, true);
+	}
+	
+	/**
+	 * Same as {@link #saveToFile(File, IStatsProvider, boolean)}, but optionally
+	 * skips forcing the data onto the storage device before the target {@link File} is replaced.
+	 * @param file The {@link File} to save the {@link IStatsProvider} to.
+	 * @param statsProvider The {@link IStatsProvider} to save.
+	 * @param compress Whether to write the {@link #COMPRESSED_FORM_TYPE}.
+	 * @param sync Whether to force the data onto the storage device first. Skipping this is much
+	 * faster when saving many {@link File}s at once, such as during bulk conversions, at the cost
+	 * of the {@link File} possibly ending up incomplete if the system crashes shortly after.
+	 * @throws IOException If the {@link File} IO operations raise an {@link IOException}.
+	 */
+	public static void saveToFile(File file, IStatsProvider statsProvider, boolean compress, boolean sync) throws IOException
 	{
 		//requirements
 		Objects.requireNonNull(file);
 		Objects.requireNonNull(statsProvider);
 		
-		//create the buffer
-		final var buffer = new FriendlyByteBuf(Unpooled.buffer());
+		//write the data to a pooled buffer
+		final var buffer = write(PooledByteBufAllocator.DEFAULT, statsProvider, compress);
 		try
 		{
-			//create the file
-			file.getParentFile().mkdirs();
-			file.createNewFile();
-			
-			//write the data to the file
-			try(final var fos = new FileOutputStream(file); final var fileChannel = fos.getChannel())
+			//create the directory, and a temporary file next to the target file
+			//(created with the default permissions, unlike Files#createTempFile, which makes it owner-only)
+			final var target = file.toPath().toAbsolutePath();
+			Files.createDirectories(target.getParent());
+			final var temp = target.resolveSibling(target.getFileName() + "." + UUID.randomUUID() + ".tmp");
+			try
 			{
-				StatsProviderIO.write(buffer, statsProvider);
-				while(buffer.isReadable())
-					buffer.readBytes(fileChannel, buffer.readableBytes());
+				//write the data to the temporary file
+				try(final var fileChannel = FileChannel.open(temp, StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE))
+				{
+					while(buffer.isReadable())
+						buffer.readBytes(fileChannel, buffer.readableBytes());
+					if(sync) fileChannel.force(true);
+				}
+				
+				//keep the permissions of the file that is about to be replaced
+				if(Files.exists(target) && Files.getFileStore(temp).supportsFileAttributeView(PosixFileAttributeView.class))
+					Files.setPosixFilePermissions(temp, Files.getPosixFilePermissions(target));
+				
+				//replace the target file with the temporary file
+				//(so a crash can never leave behind a partially written file)
+				try { Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING); }
+				catch(AtomicMoveNotSupportedException amnse) { Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING); }
 			}
+			finally { Files.deleteIfExists(temp); }
 		}
 		catch(SecurityException se) { throw new IOException(se); }
 		finally { buffer.release(); }
@@ -235,15 +733,253 @@ public final class StatsProviderIO extends Object
 	 * @return The loaded {@link IStatsProvider}.
 	 * @throws FileNotFoundException If the {@link File} does not exist.
 	 * @throws IOException If {@link File} IO operations raise an {@link IOException}.
+	 * @see #loadFromFile(File, IEditableStatsProvider)
 	 */
 	public static IEditableStatsProvider loadFromFile(File file) throws FileNotFoundException, IOException
+	{
+		final var statsProvider = new RAMStatsProvider();
+		loadFromFile(file, statsProvider);
+		return statsProvider;
+	}
+	
+	/**
+	 * Loads an {@link IStatsProvider}'s data from a {@link File}, into an existing {@link IEditableStatsProvider}.
+	 * <p>
+	 * The {@link File}'s data is streamed from a {@link FileChannel} straight into a pooled
+	 * off-heap buffer, and parsed from there. No on-heap copy of the {@link File} is made,
+	 * and the off-heap buffer is returned to the pool as soon as parsing finishes, so peak
+	 * heap usage stays close to the size of the loaded statistics.
+	 * @param file The {@link File} to load the {@link IStatsProvider} from.
+	 * @param statsProvider The {@link IEditableStatsProvider} to load the data into.
+	 * @throws FileNotFoundException If the {@link File} does not exist.
+	 * @throws IOException If {@link File} IO operations raise an {@link IOException}.
+	 * @apiNote The {@link File} is intentionally not memory-mapped. Mappings are only released
+	 * once garbage collected, and some operating systems refuse to overwrite a mapped {@link File},
+	 * which would break saving over a {@link File} that was just opened.
+	 */
+	public static void loadFromFile(File file, IEditableStatsProvider statsProvider)
+			throws FileNotFoundException, IOException
+	{
+		loadFromFile(file, statsProvider, ReadOptions.DEFAULT);
+	}
+	
+	/**
+	 * Loads selected parts of an {@link IStatsProvider}'s data from a {@link File},
+	 * into an existing {@link IEditableStatsProvider}.
+	 * @param file The {@link File} to load the {@link IStatsProvider} from.
+	 * @param statsProvider The {@link IEditableStatsProvider} to load the data into.
+	 * @param options The {@link ReadOptions} that determine which parts of the data are read.
+	 * @throws FileNotFoundException If the {@link File} does not exist.
+	 * @throws IOException If {@link File} IO operations raise an {@link IOException}.
+	 * @see #loadFromFile(File, IEditableStatsProvider)
+	 */
+	public static void loadFromFile(File file, IEditableStatsProvider statsProvider, ReadOptions options)
+			throws FileNotFoundException, IOException
+	{
+		Objects.requireNonNull(statsProvider);
+		Objects.requireNonNull(options);
+		final var buffer = readFileData(file);
+		try { read(buffer, statsProvider, options); }
+		finally { buffer.release(); }
+	}
+	
+	/**
+	 * Loads an {@link IStatsProvider}'s data from a {@link File} into a {@link LazyStatsProvider}.
+	 * Only the parts that are requested by the {@link ReadOptions} are decoded right away, and
+	 * the {@link File} is read again once the remaining parts are accessed.
+	 * @param file The {@link File} to load the {@link IStatsProvider} from.
+	 * @param eagerOptions The {@link ReadOptions} that determine which parts of the data are decoded right away.
+	 * @throws FileNotFoundException If the {@link File} does not exist.
+	 * @throws IOException If {@link File} IO operations raise an {@link IOException}.
+	 */
+	public static LazyStatsProvider loadLazilyFromFile(File file, ReadOptions eagerOptions)
+			throws FileNotFoundException, IOException
+	{
+		return new LazyStatsProvider(file, eagerOptions);
+	}
+	
+	/**
+	 * Reads all of a {@link File}'s data into a pooled off-heap buffer.
+	 * @apiNote The caller is responsible for calling {@link FriendlyByteBuf#release()} on the returned buffer.
+	 */
+	static FriendlyByteBuf readFileData(File file) throws FileNotFoundException, IOException
 	{
 		//check if the file exists
 		if(!file.exists()) throw new FileNotFoundException(file.getAbsolutePath());
-		//load the file data
-		byte[] fileData = FileUtils.readFileToByteArray(file);
-		final FriendlyByteBuf buffer = new FriendlyByteBuf(Unpooled.wrappedBuffer(fileData));
-		return new RAMStatsProvider(buffer, true);
+		
+		//stream the file data into an off-heap buffer
+		try(final var fileChannel = FileChannel.open(file.toPath(), StandardOpenOption.READ))
+		{
+			//check the file size
+			final long fileSize = fileChannel.size();
+			if(fileSize > Integer.MAX_VALUE)
+				throw new IllegalHeaderException("file size <= " + Integer.MAX_VALUE, "file size == " + fileSize);
+			
+			//allocate the buffer, and fill it in chunks
+			final int size = (int)fileSize;
+			final var buffer = new FriendlyByteBuf(PooledByteBufAllocator.DEFAULT.directBuffer(size, size));
+			try
+			{
+				while(buffer.writableBytes() > 0)
+					if(buffer.writeBytes(fileChannel, buffer.writableBytes()) < 0)
+						break; //end of stream reached early, aka the file got truncated while reading
+			}
+			catch(IOException | RuntimeException exc) { buffer.release(); throw exc; }
+			return buffer;
+		}
+		catch(SecurityException se) { throw new IOException(se); }
+	}
+	// ==================================================
+	/**
+	 * Reads the individual chunks of a given file version, one at a time.
+	 */
+	@FunctionalInterface
+	static interface ChunkReader
+	{
+		/**
+		 * Reads a single chunk.
+		 * @param chunkId The chunk ID, which was already read from the buffer.
+		 * @param buffer_chunk The buffer holding the rest of the chunk data.
+		 */
+		public void readChunk(String chunkId, FriendlyByteBuf buffer_chunk) throws IllegalHeaderException;
+	}
+	// ==================================================
+	/**
+	 * Options that determine which parts of an {@link IStatsProvider}'s data get read.
+	 * @apiNote All methods have default implementations that read everything.
+	 * @see StatsProviderIO#read(FriendlyByteBuf, IEditableStatsProvider, ReadOptions)
+	 */
+	public static interface ReadOptions
+	{
+		/**
+		 * {@link ReadOptions} that read everything.
+		 */
+		public static final ReadOptions DEFAULT = new ReadOptions() {};
+		
+		/**
+		 * {@link ReadOptions} that only read the "metadata" chunk, which holds
+		 * the display name and the {@link GameProfile}.
+		 */
+		public static final ReadOptions METADATA_ONLY = new ReadOptions()
+		{
+			public final @Override boolean readChunk(String chunkId) { return "metadata".equals(chunkId); }
+		};
+		
+		/**
+		 * {@link ReadOptions} that read everything, and decode in {@link #parallel()} where possible.
+		 */
+		public static final ReadOptions PARALLEL = new ReadOptions()
+		{
+			public final @Override boolean parallel() { return true; }
+		};
+		
+		/**
+		 * {@link ReadOptions} that read everything, with strict limits, for
+		 * reading untrusted data such as data received over the network.
+		 */
+		public static final ReadOptions NETWORK = new ReadOptions()
+		{
+			public final @Override int maxDataSize() { return 16 * 1024 * 1024; }
+			public final @Override int maxStringLength() { return 1024; }
+			public final @Override int maxEntries() { return 65536; }
+			public final @Override int maxTotalStats() { return 262144; }
+		};
+		
+		/**
+		 * Returns {@code true} if a file chunk with the given ID should be read.
+		 * @param chunkId The chunk ID, such as "metadata" or "stats".
+		 * @apiNote Chunks that other chunks depend on, such as the "dictionary" chunk, are always read.
+		 */
+		default boolean readChunk(String chunkId) { return true; }
+		
+		/**
+		 * Returns {@code true} if the stats of a given {@link StatType} should be read.
+		 * @param statTypeId The {@link StatType}'s unique {@link ResourceLocation}.
+		 * @apiNote Only applies to file versions that store stats by their {@link StatType}s.
+		 */
+		default boolean readStatType(ResourceLocation statTypeId) { return true; }
+		
+		/**
+		 * Returns {@code true} if independent parts of the stats data may be decoded in
+		 * parallel, on the {@link ForkJoinPool#commonPool()}. The decoded stats are still put into
+		 * the {@link IEditableStatsProvider} on the calling thread, once decoding is done.
+		 * @apiNote Only applies to file version 4, whose "stats" chunk holds length-prefixed
+		 * sub-chunks for each {@link StatType}.
+		 */
+		default boolean parallel() { return false; }
+		
+		/**
+		 * Returns the maximum size of the data, in bytes. For compressed data, this
+		 * applies to the size of the data after it is decompressed.
+		 */
+		default int maxDataSize() { return Integer.MAX_VALUE; }
+		
+		/**
+		 * Returns the maximum length of each {@link String}, such as identifiers and display names.
+		 */
+		default int maxStringLength() { return Short.MAX_VALUE; }
+		
+		/**
+		 * Returns the maximum number of entries of each list, such as the dictionary or a stat type's stats.
+		 * @apiNote Entry counts are always checked against the remaining data as well.
+		 */
+		default int maxEntries() { return Integer.MAX_VALUE; }
+		
+		/**
+		 * Returns the maximum total number of stats and player badge stats.
+		 */
+		default int maxTotalStats() { return Integer.MAX_VALUE; }
+	}
+	
+	/**
+	 * Enforces the limits of a {@link ReadOptions} while data is being read.
+	 * <p>
+	 * Every limit is checked before the corresponding data is read or allocated,
+	 * so malformed data, such as data received over the network, cannot cause
+	 * large allocations or long loops.
+	 */
+	static final class ReadLimiter
+	{
+		final ReadOptions options;
+		private long totalStats;
+		
+		ReadLimiter(ReadOptions options) { this.options = Objects.requireNonNull(options); }
+		
+		/**
+		 * Reads a {@link String} whose length does not exceed {@link ReadOptions#maxStringLength()}.
+		 */
+		final String readUtf(FriendlyByteBuf buffer) { return buffer.readUtf(this.options.maxStringLength()); }
+		
+		/**
+		 * Reads a {@code VarInt} entry count, and ensures it is non-negative, does not exceed
+		 * {@link ReadOptions#maxEntries()}, and that the remaining data can possibly hold that
+		 * many entries of the given minimum size.
+		 */
+		final int readCount(FriendlyByteBuf buffer, int minEntrySize) throws IllegalHeaderException
+		{
+			final int count = buffer.readVarInt();
+			final long max = Math.min(this.options.maxEntries(), buffer.readableBytes() / Math.max(minEntrySize, 1));
+			if(count < 0 || count > max)
+				throw new IllegalHeaderException("entry count <= " + max, "entry count == " + count);
+			return count;
+		}
+		
+		/**
+		 * Keeps track of the number of stats read, and ensures it does not
+		 * exceed {@link ReadOptions#maxTotalStats()}.
+		 */
+		final void countStats(int count) throws IllegalHeaderException
+		{
+			this.totalStats += count;
+			if(this.totalStats > this.options.maxTotalStats())
+				throw new IllegalHeaderException("total stats <= " + this.options.maxTotalStats(), "total stats == " + this.totalStats);
+		}
+		
+		/**
+		 * Returns {@code true} if a given number of stats can be counted in addition
+		 * to the ones that were already counted, without exceeding {@link ReadOptions#maxTotalStats()}.
+		 */
+		final boolean fitsStats(long count) { return this.totalStats + count <= this.options.maxTotalStats(); }
 	}
 	// ==================================================
 }
\ No newline at end of file
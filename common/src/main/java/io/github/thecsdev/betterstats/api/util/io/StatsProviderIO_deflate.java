@@ -0,0 +1,185 @@
+package io.github.thecsdev.betterstats.api.util.io;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+import java.io.ByteArrayOutputStream;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+import org.jetbrains.annotations.ApiStatus.Internal;
+
+import io.netty.buffer.ByteBuf;
+import net.minecraft.network.FriendlyByteBuf;
+
+/**
+ * A class containing {@link StatsProviderIO} logic for the compressed container,
+ * whose file chunk data is compressed using a {@link Deflater} with a preset dictionary.
+ * @apiNote Internal use only!
+ */
+@Internal
+public final class StatsProviderIO_deflate
+{
+	// ==================================================
+	private StatsProviderIO_deflate() {}
+	// --------------------------------------------------
+	/**
+	 * The ID of the current {@link #PRESET_DICTIONARY}, which is written to the container's header.
+	 * @apiNote The {@link #PRESET_DICTIONARY}'s contents must never change without changing its ID,
+	 * as data compressed using one dictionary cannot be decompressed using another.
+	 */
+	static final int PRESET_DICTIONARY_ID = 1;
+	
+	/**
+	 * A preset dictionary made out of the identifiers that are most likely to appear in any
+	 * player's statistics. Helps even small files compress well, as the compressor doesn't
+	 * have to "learn" these identifiers from the data itself.
+	 */
+	private static final byte[] PRESET_DICTIONARY = createPresetDictionary(
+		//chunk ids and namespaces
+		"tcdcommons:player_badges", "tcdcommons", "metadata", "dictionary", "stats", "minecraft",
+		//item and block identifiers that commonly show up in statistics
+		"diamond_pickaxe", "iron_pickaxe", "stone_pickaxe", "wooden_pickaxe", "netherite_pickaxe",
+		"diamond_sword", "iron_sword", "stone_sword", "wooden_sword", "netherite_sword",
+		"diamond_axe", "iron_axe", "stone_axe", "wooden_axe", "diamond_shovel", "iron_shovel", "stone_shovel",
+		"bow", "arrow", "shield", "flint_and_steel", "shears", "fishing_rod", "elytra", "firework_rocket",
+		"bread", "cooked_beef", "cooked_porkchop", "cooked_chicken", "golden_carrot", "apple", "baked_potato",
+		"ender_pearl", "ender_eye", "blaze_rod", "bucket", "water_bucket", "lava_bucket", "bone_meal",
+		"coal", "charcoal", "raw_iron", "iron_ingot", "raw_gold", "gold_ingot", "raw_copper", "copper_ingot",
+		"diamond", "emerald", "redstone", "lapis_lazuli", "quartz", "netherite_scrap", "ancient_debris",
+		"coal_ore", "iron_ore", "gold_ore", "copper_ore", "diamond_ore", "redstone_ore", "lapis_ore",
+		"deepslate_coal_ore", "deepslate_iron_ore", "deepslate_gold_ore", "deepslate_copper_ore",
+		"deepslate_diamond_ore", "deepslate_redstone_ore", "deepslate_lapis_ore", "nether_quartz_ore",
+		"crafting_table", "furnace", "chest", "torch", "ladder", "white_bed", "bricks",
+		"oak_log", "spruce_log", "birch_log", "jungle_log", "acacia_log", "dark_oak_log", "mangrove_log", "cherry_log",
+		"oak_planks", "spruce_planks", "birch_planks", "stick", "oak_leaves", "spruce_leaves", "birch_leaves",
+		"oak_sapling", "wheat_seeds", "wheat", "carrot", "potato", "sugar_cane", "kelp", "bamboo",
+		"short_grass", "tall_grass", "grass_block", "dirt", "coarse_dirt", "farmland", "dirt_path", "sand", "red_sand",
+		"gravel", "clay", "flint", "snow", "ice", "obsidian", "glass", "sandstone",
+		"stone", "cobblestone", "deepslate", "cobbled_deepslate", "tuff", "granite", "diorite", "andesite", "calcite",
+		"netherrack", "basalt", "blackstone", "soul_sand", "soul_soil", "end_stone", "moss_block",
+		"rotten_flesh", "bone", "string", "spider_eye", "gunpowder", "slime_ball", "leather", "feather", "egg",
+		//entity identifiers
+		"zombie", "skeleton", "creeper", "spider", "enderman", "witch", "slime", "drowned", "husk", "stray",
+		"phantom", "pillager", "zombified_piglin", "piglin", "blaze", "ghast", "magma_cube", "wither_skeleton",
+		"cow", "pig", "sheep", "chicken", "villager", "iron_golem", "ender_dragon", "wither",
+		//custom stat identifiers
+		"leave_game", "total_world_time", "time_since_rest", "time_since_death", "sneak_time",
+		"walk_one_cm", "crouch_one_cm", "sprint_one_cm", "walk_on_water_one_cm", "walk_under_water_one_cm",
+		"swim_one_cm", "fall_one_cm", "climb_one_cm", "fly_one_cm", "aviate_one_cm",
+		"horse_one_cm", "boat_one_cm", "minecart_one_cm", "pig_one_cm",
+		"damage_dealt", "damage_dealt_absorbed", "damage_dealt_resisted", "damage_taken", "damage_blocked_by_shield",
+		"damage_absorbed", "damage_resisted", "deaths", "mob_kills", "player_kills", "animals_bred", "fish_caught",
+		"talked_to_villager", "traded_with_villager", "eat_cake_slice", "fill_cauldron", "use_cauldron",
+		"open_chest", "open_enderchest", "open_shulker_box", "interact_with_crafting_table",
+		"interact_with_furnace", "interact_with_anvil", "interact_with_smithing_table", "enchant_item",
+		"drop", "jump", "sleep_in_bed", "play_time",
+		//stat type identifiers, last, as they are the most common
+		"killed_by", "killed", "dropped", "picked_up", "broken", "used", "crafted", "mined", "custom");
+	// ==================================================
+	/**
+	 * Creates the preset dictionary out of identifiers. Each identifier is prefixed with its length,
+	 * just like {@link FriendlyByteBuf#writeUtf(String)} does, so that the dictionary matches the way
+	 * identifiers actually appear in the data.
+	 */
+	private static final byte[] createPresetDictionary(String... ids)
+	{
+		final var result = new ByteArrayOutputStream();
+		for(final var id : ids)
+		{
+			final byte[] idBytes = id.getBytes(UTF_8);
+			result.write(idBytes.length); //all of the above are shorter than 128 bytes, aka one VarInt byte
+			result.writeBytes(idBytes);
+		}
+		return result.toByteArray();
+	}
+	// ==================================================
+	/**
+	 * Creates a new {@link Deflater} that uses the preset dictionary.
+	 * The caller is responsible for calling {@link Deflater#end()}.
+	 */
+	static final Deflater newDeflater()
+	{
+		final var deflater = new Deflater(Deflater.BEST_COMPRESSION);
+		deflater.setDictionary(PRESET_DICTIONARY);
+		return deflater;
+	}
+	
+	/**
+	 * Compresses all readable bytes of the source buffer, and writes the compressed data
+	 * to the target buffer. The source buffer's reader index is not modified.
+	 * <p>
+	 * Unless finishing, the {@link Deflater} is flushed using {@link Deflater#SYNC_FLUSH}, after which
+	 * all of the source buffer's bytes have been consumed, and may be discarded. The data compressed
+	 * by subsequent calls continues the same stream, so it decompresses as one.
+	 * @param deflater The {@link Deflater}, created using {@link #newDeflater()}.
+	 * @param finish Whether this is the last of the data, in which case the stream is ended.
+	 */
+	static final void deflate(Deflater deflater, ByteBuf source, ByteBuf target, boolean finish)
+	{
+		deflater.setInput(source.nioBuffer());
+		if(finish) deflater.finish();
+		
+		//compress the data, using a small buffer for the output
+		//(when flushing, the output buffer filling up means there may be more output pending)
+		final byte[] output = new byte[8192];
+		while(true)
+		{
+			final int length = deflater.deflate(output, 0, output.length, finish ? Deflater.NO_FLUSH : Deflater.SYNC_FLUSH);
+			target.writeBytes(output, 0, length);
+			if(finish ? deflater.finished() : length < output.length) break;
+		}
+	}
+	// --------------------------------------------------
+	/**
+	 * Creates a new {@link Inflater}, whose input is all readable bytes of a given buffer.
+	 * The caller is responsible for calling {@link Inflater#end()}.
+	 * @param dictionaryId The preset dictionary ID that was read from the container's header.
+	 * @throws IllegalHeaderException If the preset dictionary ID is not supported.
+	 */
+	static final Inflater newInflater(int dictionaryId, ByteBuf input) throws IllegalHeaderException
+	{
+		if(dictionaryId != PRESET_DICTIONARY_ID)
+			throw new IllegalHeaderException("dictionary id == " + PRESET_DICTIONARY_ID, "dictionary id == " + dictionaryId);
+		final var inflater = new Inflater();
+		inflater.setInput(input.nioBuffer());
+		return inflater;
+	}
+	
+	/**
+	 * Clears the target buffer, and decompresses exactly the given number of bytes into it.
+	 * @param inflater The {@link Inflater}, created using {@link #newInflater(int, ByteBuf)}.
+	 * @param target The target buffer. Must be a heap buffer.
+	 * @param length The number of bytes to decompress.
+	 * @return {@code false} if the compressed data ended before any bytes were decompressed.
+	 * @throws IllegalHeaderException If the compressed data is invalid, or ended midway.
+	 */
+	static final boolean inflate(Inflater inflater, ByteBuf target, int length) throws IllegalHeaderException
+	{
+		target.clear();
+		while(target.writerIndex() < length)
+		{
+			//decompress the next portion of data
+			//(the buffer grows as data comes in, so a corrupted length cannot cause a huge allocation)
+			final int remaining = Math.min(length - target.writerIndex(), 8192);
+			target.ensureWritable(remaining);
+			final int inflated;
+			try { inflated = inflater.inflate(target.array(), target.arrayOffset() + target.writerIndex(), remaining); }
+			catch(DataFormatException exc) { throw new IllegalHeaderException("deflate data", String.valueOf(exc.getMessage())); }
+			target.writerIndex(target.writerIndex() + inflated);
+			if(inflated > 0) continue;
+			
+			//handle the preset dictionary, and the end of the data
+			if(inflater.needsDictionary())
+			{
+				try { inflater.setDictionary(PRESET_DICTIONARY); }
+				catch(IllegalArgumentException exc) { throw new IllegalHeaderException("deflate dictionary", String.valueOf(exc.getMessage())); }
+			}
+			else if(inflater.finished() && target.writerIndex() == 0) return false;
+			else if(inflater.finished() || inflater.needsInput())
+				throw new IllegalHeaderException("chunk size >= " + length, "chunk size == " + target.writerIndex());
+		}
+		return true;
+	}
+	// ==================================================
+}
\ No newline at end of file
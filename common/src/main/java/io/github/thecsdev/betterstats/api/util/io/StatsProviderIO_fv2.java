@@ -14,7 +14,6 @@ import com.mojang.authlib.GameProfile;
 import io.github.thecsdev.betterstats.api.util.stats.SUItemStat;
 import io.github.thecsdev.betterstats.api.util.stats.SUMobStat;
 import io.github.thecsdev.betterstats.api.util.stats.SUPlayerBadgeStat;
-import io.github.thecsdev.tcdcommons.api.util.exceptions.UnsupportedFileVersionException;
 import io.netty.buffer.Unpooled;
 import net.minecraft.core.registries.BuiltInRegistries;
 import net.minecraft.nbt.NbtAccounter;
@@ -127,7 +126,7 @@ public final class StatsProviderIO_fv2
 	private static final void write_fileChunk_item(FriendlyByteBuf buffer_chunk, IStatsProvider statsProvider)
 	{
 		//obtain a map of item stats
-		final var stats = SUItemStat.getItemStatsByModGroups(statsProvider, stat -> !stat.isEmpty());
+		final var stats = SUItemStat.getItemStatsByModGroups(statsProvider, null, false);
 		
 		//iterate groups, and write their data
 		for(final var entry : stats.entrySet())
@@ -157,7 +156,7 @@ public final class StatsProviderIO_fv2
 	private static final void write_fileChunk_mob(FriendlyByteBuf buffer_chunk, IStatsProvider statsProvider)
 	{
 		//obtain a map of mod stats
-		final var stats = SUMobStat.getMobStatsByModGroups(statsProvider, stat -> !stat.isEmpty());
+		final var stats = SUMobStat.getMobStatsByModGroups(statsProvider, null, false);
 		
 		//iterate groups, and write their data
 		for(final var entry : stats.entrySet())
@@ -205,33 +204,22 @@ public final class StatsProviderIO_fv2
 		}
 	}
 	// ==================================================
-	static final void read_fileChunks(FriendlyByteBuf buffer_file, IEditableStatsProvider statsProvider)
-			throws IllegalHeaderException, UnsupportedFileVersionException
+	static final StatsProviderIO.ChunkReader chunkReader(
+			IEditableStatsProvider statsProvider, StatsProviderIO.ReadLimiter limiter)
 	{
-		//read chunks
-		while(buffer_file.readableBytes() > 0)
+		return (chunkId, buffer_chunk) ->
 		{
-			//read next chunk's size, and check it
-			final int chunkSize = buffer_file.readIntLE();
-			if(buffer_file.readableBytes() < chunkSize)
-				throw new IllegalHeaderException(
-						"chunk size >= " + chunkSize,
-						"chunk size == " + buffer_file.readableBytes());
-			
-			//read the chunk data
-			//(creates a view of the original buffer, so it doesn't have to be released separately)
-			final var buffer_chunk = new FriendlyByteBuf(buffer_file.readSlice(chunkSize));
-			final var chunkId = buffer_chunk.readUtf();
+			if(!limiter.options.readChunk(chunkId)) return;
 			switch(chunkId)
 			{
 				case "metadata":     read_fileChunk_meta(buffer_chunk, statsProvider); break;
-				case "general":      read_fileChunk_general(buffer_chunk, statsProvider); break;
-				case "item":         read_fileChunk_item(buffer_chunk, statsProvider); break;
-				case "mob":          read_fileChunk_mob(buffer_chunk, statsProvider); break;
-				case "player_badge": read_fileChunk_playerBadge(buffer_chunk, statsProvider); break;
+				case "general":      read_fileChunk_general(buffer_chunk, statsProvider, limiter); break;
+				case "item":         read_fileChunk_item(buffer_chunk, statsProvider, limiter); break;
+				case "mob":          read_fileChunk_mob(buffer_chunk, statsProvider, limiter); break;
+				case "player_badge": read_fileChunk_playerBadge(buffer_chunk, statsProvider, limiter); break;
 				default: break;
 			}
-		}
+		};
 	}
 	// --------------------------------------------------
 	@SuppressWarnings("deprecation")
@@ -247,19 +235,22 @@ public final class StatsProviderIO_fv2
 		statsProvider.setGameProfile(gameProfile);
 	}
 	
-	private static final void read_fileChunk_general(FriendlyByteBuf buffer_chunk, IEditableStatsProvider statsProvider)
+	private static final void read_fileChunk_general(
+			FriendlyByteBuf buffer_chunk, IEditableStatsProvider statsProvider, StatsProviderIO.ReadLimiter limiter)
+			throws IllegalHeaderException
 	{
 		while(buffer_chunk.readableBytes() > 0)
 		{
 			//read the next mod id and how many entries it has
-			final String modId = buffer_chunk.readUtf();
-			final int entryCount = buffer_chunk.readVarInt();
+			final String modId = limiter.readUtf(buffer_chunk);
+			final int entryCount = limiter.readCount(buffer_chunk, 2);
+			limiter.countStats(entryCount);
 			
 			//read all entries for the corresponding mod id
 			for(int i = 0; i < entryCount; i++)
 			{
 				//read custom stat data
-				final String customStatIdPath = buffer_chunk.readUtf();
+				final String customStatIdPath = limiter.readUtf(buffer_chunk);
 				final int customStatValue = buffer_chunk.readVarInt();
 				
 				//obtain custom stat, and sore its value
@@ -274,19 +265,22 @@ public final class StatsProviderIO_fv2
 		}
 	}
 	
-	private static final void read_fileChunk_item(FriendlyByteBuf buffer_chunk, IEditableStatsProvider statsProvider)
+	private static final void read_fileChunk_item(
+			FriendlyByteBuf buffer_chunk, IEditableStatsProvider statsProvider, StatsProviderIO.ReadLimiter limiter)
+			throws IllegalHeaderException
 	{
 		while(buffer_chunk.readableBytes() > 0)
 		{
 			//read the next mod id and how many entries it has
-			final String modId = buffer_chunk.readUtf();
-			final int entryCount = buffer_chunk.readVarInt();
+			final String modId = limiter.readUtf(buffer_chunk);
+			final int entryCount = limiter.readCount(buffer_chunk, 7);
+			limiter.countStats(entryCount * 6);
 			
 			//read all entries for the corresponding mod id
 			for(int i = 0; i < entryCount; i++)
 			{
 				//read item stat data
-				final String itemIdPath = buffer_chunk.readUtf();
+				final String itemIdPath = limiter.readUtf(buffer_chunk);
 				final int mined  = buffer_chunk.readVarInt(),
 						crafted  = buffer_chunk.readVarInt(),
 						used     = buffer_chunk.readVarInt(),
@@ -313,19 +307,22 @@ public final class StatsProviderIO_fv2
 		}
 	}
 	
-	private static final void read_fileChunk_mob(FriendlyByteBuf buffer_chunk, IEditableStatsProvider statsProvider)
+	private static final void read_fileChunk_mob(
+			FriendlyByteBuf buffer_chunk, IEditableStatsProvider statsProvider, StatsProviderIO.ReadLimiter limiter)
+			throws IllegalHeaderException
 	{
 		while(buffer_chunk.readableBytes() > 0)
 		{
 			//read the next mod id and how many entries it has
-			final String modId = buffer_chunk.readUtf();
-			final int entryCount = buffer_chunk.readVarInt();
+			final String modId = limiter.readUtf(buffer_chunk);
+			final int entryCount = limiter.readCount(buffer_chunk, 3);
+			limiter.countStats(entryCount * 2);
 			
 			//read all entries for the corresponding mod id
 			for(int i = 0; i < entryCount; i++)
 			{
 				//read mob stat data
-				final String mobIdPath = buffer_chunk.readUtf();
+				final String mobIdPath = limiter.readUtf(buffer_chunk);
 				final int kills = buffer_chunk.readVarInt();
 				final int deaths = buffer_chunk.readVarInt();
 				
@@ -343,19 +340,22 @@ public final class StatsProviderIO_fv2
 		}
 	}
 	
-	private static final void read_fileChunk_playerBadge(FriendlyByteBuf buffer_chunk, IEditableStatsProvider statsProvider)
+	private static final void read_fileChunk_playerBadge(
+			FriendlyByteBuf buffer_chunk, IEditableStatsProvider statsProvider, StatsProviderIO.ReadLimiter limiter)
+			throws IllegalHeaderException
 	{
 		while(buffer_chunk.readableBytes() > 0)
 		{
 			//read the next mod id and how many entries it has
-			final String modId = buffer_chunk.readUtf();
-			final int entryCount = buffer_chunk.readVarInt();
+			final String modId = limiter.readUtf(buffer_chunk);
+			final int entryCount = limiter.readCount(buffer_chunk, 2);
+			limiter.countStats(entryCount);
 			
 			//read all entries for the corresponding mod id
 			for(int i = 0; i < entryCount; i++)
 			{
 				//read player badge stat data
-				final String playerBadgeIdPath = buffer_chunk.readUtf();
+				final String playerBadgeIdPath = limiter.readUtf(buffer_chunk);
 				final int value = buffer_chunk.readVarInt();
 				
 				//obtain mob, and store its stats
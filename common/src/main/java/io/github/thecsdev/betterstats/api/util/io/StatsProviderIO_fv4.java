@@ -1,19 +1,31 @@
 package io.github.thecsdev.betterstats.api.util.io;
 
 import static io.github.thecsdev.tcdcommons.api.util.TextUtils.literal;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.Objects;
 import net.minecraft.core.registries.BuiltInRegistries;
 import net.minecraft.network.FriendlyByteBuf;
 import net.minecraft.resources.ResourceLocation;
+import net.minecraft.stats.Stat;
 import net.minecraft.stats.StatType;
 import org.jetbrains.annotations.Nullable;
 
-import io.github.thecsdev.betterstats.api.util.stats.SUPlayerBadgeStat;
-import io.github.thecsdev.tcdcommons.api.util.exceptions.UnsupportedFileVersionException;
-import io.netty.buffer.Unpooled;
+import it.unimi.dsi.fastutil.ints.Int2IntMap;
+import it.unimi.dsi.fastutil.ints.Int2IntMaps;
+import it.unimi.dsi.fastutil.ints.Int2IntOpenHashMap;
+import it.unimi.dsi.fastutil.objects.Object2IntLinkedOpenHashMap;
+import it.unimi.dsi.fastutil.objects.Object2IntMap;
+import it.unimi.dsi.fastutil.objects.Object2IntMaps;
 
 public class StatsProviderIO_fv4
 {
+	// ==================================================
+	/**
+	 * The smallest possible size of a stat entry in a stat type chunk,
+	 * which is a single-byte {@code VarInt} string length, followed by an {@code int} value.
+	 */
+	private static final int MIN_STAT_ENTRY_SIZE = 5;
 	// ==================================================
 	static final void write_fileChunks(FriendlyByteBuf buffer_file, IStatsProvider statsProvider)
 	{
@@ -24,26 +36,25 @@ public class StatsProviderIO_fv4
 	// --------------------------------------------------
 	private static final void write_fileChunk(String chunkId, FriendlyByteBuf buffer_file, IStatsProvider statsProvider)
 	{
-		//create a buffer for the chunk, and write the chunk ID to it
-		FriendlyByteBuf buffer_chunk  = new FriendlyByteBuf(Unpooled.buffer());
-		buffer_chunk.writeUtf(chunkId);
+		//reserve the chunk size, and write the chunk ID
+		//(the chunk is written in-place, after which its size is back-patched)
+		final int chunkSizeIndex = StatsProviderIO.reserveChunkSize(buffer_file);
+		buffer_file.writeUtf(chunkId);
 		
-		//obtain and write chunk data to the chunk buffer
+		//write chunk data
 		switch(chunkId)
 		{
-			case "metadata": write_fileChunk_metadata(buffer_chunk, statsProvider); break;
-			case "stats": write_fileChunk_stats(buffer_chunk, statsProvider); break;
-			case "tcdcommons:player_badges": write_fileChunk_playerBadges(buffer_chunk, statsProvider); break;
+			case "metadata": write_fileChunk_metadata(buffer_file, statsProvider); break;
+			case "stats": write_fileChunk_stats(buffer_file, statsProvider); break;
+			case "tcdcommons:player_badges": write_fileChunk_playerBadges(buffer_file, statsProvider); break;
 			default: break;
 		}
 		
-		//write the chunk data buffer to the file buffer
-		buffer_file.writeIntLE(buffer_chunk.readableBytes());
-		buffer_file.writeBytes(buffer_chunk);
-		buffer_chunk.release();
+		//back-patch the chunk size
+		StatsProviderIO.patchChunkSize(buffer_file, chunkSizeIndex);
 	}
 	// --------------------------------------------------
-	private static final void write_fileChunk_metadata(FriendlyByteBuf buffer_chunk, IStatsProvider statsProvider)
+	static final void write_fileChunk_metadata(FriendlyByteBuf buffer_chunk, IStatsProvider statsProvider)
 	{
 		//obtain the stats display name as string
 		final var statsNameText = statsProvider.getDisplayName();
@@ -57,49 +68,51 @@ public class StatsProviderIO_fv4
 	@SuppressWarnings("unchecked")
 	private static final void write_fileChunk_stats(FriendlyByteBuf buffer_chunk, IStatsProvider statsProvider)
 	{
-		//iterate all stat types, and write their corresponding stat data one by one
+		//group the non-zero stats by their stat types, and list the stat types that have any
+		final var statsByType = StatsProviderIO.groupNonZeroStats(statsProvider);
+		final var statTypes = new ArrayList<StatType<?>>(statsByType.size());
+		int statCount = 0;
 		for(final var statType : BuiltInRegistries.STAT_TYPE)
 		{
-			//create a buffer for the stat type chunk, and write the chunk ID to it
-			FriendlyByteBuf buffer_st  = new FriendlyByteBuf(Unpooled.buffer());
-			buffer_st.writeUtf(Objects.toString(BuiltInRegistries.STAT_TYPE.getKey(statType)));        //write chunk id
-			
-			//write the stats data for the given stats type, to the stats type buffer
-			write_fileChunk_stats_statType(buffer_st, statsProvider, (StatType<Object>)statType); //write chunk data
-			
-			//write the stat type buffer data to the chunk buffer
-			buffer_chunk.writeIntLE(buffer_st.readableBytes());
-			buffer_chunk.writeBytes(buffer_st);
-			buffer_st.release();
+			final var stats = statsByType.get(statType);
+			if(stats == null) continue;
+			statTypes.add(statType);
+			statCount += stats.size();
 		}
+		
+		//write the stats data for each stat type, as its own sub-chunk
+		StatsProviderIO.writeChunks(buffer_chunk, statTypes, statCount, (buffer_st, statType) ->
+		{
+			buffer_st.writeUtf(Objects.toString(BuiltInRegistries.STAT_TYPE.getKey(statType)));     //write chunk id
+			write_fileChunk_stats_statType(buffer_st, (StatType<Object>)statType, statsByType.get(statType)); //write chunk data
+		});
 	}
 	
 	private static final void write_fileChunk_stats_statType(
-			FriendlyByteBuf buffer_st, IStatsProvider statsProvider, StatType<Object> statType)
+			FriendlyByteBuf buffer_st, StatType<Object> statType, Object2IntMap<Stat<?>> stats)
 	{
-		//obtain the registry, and iterate all of its items
+		//obtain the registry, and iterate the stat type's non-zero stats
 		final var registry = statType.getRegistry();
-		for(final var registryItem : registry)
+		for(final var stat : Object2IntMaps.fastIterable(stats))
 		{
-			//obtain the stat value for the given registry item
-			//also skip "zero" stats, as they do not have a value
-			final int statValue = statsProvider.getStatValue(statType, registryItem);
-			if(statValue == 0) continue;
-			
-			//obtain the id of the registry item
-			final var registryItemId = registry.getKey(registryItem);
+			//obtain the id of the registry item, and skip unregistered ones
+			final @Nullable var registryItemId = registry.getKey(stat.getKey().getValue());
+			if(registryItemId == null) continue;
 			
 			//write stat id and value
 			buffer_st.writeUtf(registryItemId.getNamespace().equals(ResourceLocation.DEFAULT_NAMESPACE) ?
 					registryItemId.getPath() : Objects.toString(registryItemId)); //write stat id
-			buffer_st.writeIntLE(statValue);                                      //write stat value
+			buffer_st.writeIntLE(stat.getIntValue());                             //write stat value
 		}
 	}
 	// --------------------------------------------------
-	private static final void write_fileChunk_playerBadges(FriendlyByteBuf buffer_chunk, IStatsProvider statsProvider)
+	static final void write_fileChunk_playerBadges(FriendlyByteBuf buffer_chunk, IStatsProvider statsProvider)
 	{
-		//obtain a map of mod stats
-		final var stats = SUPlayerBadgeStat.getPlayerBadgeStatsByModGroups(statsProvider, stat -> !stat.isEmpty());
+		//group the non-zero player badge stats by their mod ids
+		final var stats = new LinkedHashMap<String, Object2IntMap<String>>();
+		statsProvider.forEachNonZeroPlayerBadge((badgeId, value) -> stats
+				.computeIfAbsent(badgeId.getNamespace(), __ -> new Object2IntLinkedOpenHashMap<>())
+				.put(badgeId.getPath(), value));
 		
 		//iterate groups, and write their data
 		for(final var entry : stats.entrySet())
@@ -113,56 +126,53 @@ public class StatsProviderIO_fv4
 			buffer_chunk.writeVarInt(groupStats.size());
 			
 			//write group entries
-			for(final var stat : groupStats)
+			for(final var stat : Object2IntMaps.fastIterable(groupStats))
 			{
-				buffer_chunk.writeUtf(stat.getStatID().getPath());
-				buffer_chunk.writeVarInt(stat.value);
+				buffer_chunk.writeUtf(stat.getKey());
+				buffer_chunk.writeVarInt(stat.getIntValue());
 			}
 		}
 	}
 	// ==================================================
-	static final void read_fileChunks(FriendlyByteBuf buffer_file, IEditableStatsProvider statsProvider)
-			throws IllegalHeaderException, UnsupportedFileVersionException
+	static final StatsProviderIO.ChunkReader chunkReader(
+			IEditableStatsProvider statsProvider, StatsProviderIO.ReadLimiter limiter)
 	{
-		//read chunks
-		while(buffer_file.readableBytes() > 0)
+		return (chunkId, buffer_chunk) ->
 		{
-			//read next chunk's size, and check it
-			final int chunkSize = buffer_file.readIntLE();
-			if(buffer_file.readableBytes() < chunkSize)
-				throw new IllegalHeaderException(
-						"chunk size >= " + chunkSize,
-						"chunk size == " + buffer_file.readableBytes());
-			
-			//read the chunk data
-			//(creates a view of the original buffer, so it doesn't have to be released separately)
-			final var buffer_chunk = new FriendlyByteBuf(buffer_file.readSlice(chunkSize));
-			final var chunkId = buffer_chunk.readUtf();
+			if(!limiter.options.readChunk(chunkId)) return;
 			switch(chunkId)
 			{
-				case "metadata": read_fileChunk_metadata(buffer_chunk, statsProvider); break;
-				case "stats": read_fileChunk_stats(buffer_chunk, statsProvider); break;
-				case "tcdcommons:player_badges": read_fileChunk_playerBadges(buffer_chunk, statsProvider); break;
+				case "metadata": read_fileChunk_metadata(buffer_chunk, statsProvider, limiter); break;
+				case "stats": read_fileChunk_stats(buffer_chunk, statsProvider, limiter); break;
+				case "tcdcommons:player_badges": read_fileChunk_playerBadges(buffer_chunk, statsProvider, limiter); break;
 				default: break;
 			}
-		}
+		};
 	}
 	// --------------------------------------------------
-	private static final void read_fileChunk_metadata(FriendlyByteBuf buffer_chunk, IEditableStatsProvider statsProvider)
+	static final void read_fileChunk_metadata(
+			FriendlyByteBuf buffer_chunk, IEditableStatsProvider statsProvider, StatsProviderIO.ReadLimiter limiter)
 	{
-		statsProvider.setDisplayName(literal(buffer_chunk.readUtf()));
+		statsProvider.setDisplayName(literal(limiter.readUtf(buffer_chunk)));
 		statsProvider.setGameProfile(StatsProviderIO.readGameProfile(buffer_chunk));
 	}
 	// --------------------------------------------------
-	private static final void read_fileChunk_stats(FriendlyByteBuf buffer_chunk, IEditableStatsProvider statsProvider)
+	private static final void read_fileChunk_stats(
+			FriendlyByteBuf buffer_chunk, IEditableStatsProvider statsProvider, StatsProviderIO.ReadLimiter limiter)
 			throws IllegalHeaderException
 	{
 		//keep reading chunks as they come in
+		//(the total stats limit is checked after each stat type chunk, whose size is bounded by the data size)
+		final var options = limiter.options;
+		final var schema = StatSchema.get();
+		final var statTypeChunks = new ArrayList<FriendlyByteBuf>();
+		final var stats = new Int2IntOpenHashMap();
+		long pendingStats = 0; //the most stats the chunks that are to be decoded in parallel can hold
 		while(buffer_chunk.readableBytes() > 0)
 		{
 			//read next chunk's size, and check it
 			final int chunkSize = buffer_chunk.readIntLE();                            //read stats type chunk size
-			if(buffer_chunk.readableBytes() < chunkSize)
+			if(chunkSize < 0 || buffer_chunk.readableBytes() < chunkSize)
 				throw new IllegalHeaderException(
 						"chunk size >= " + chunkSize,
 						"chunk size == " + buffer_chunk.readableBytes());
@@ -170,19 +180,56 @@ public class StatsProviderIO_fv4
 			//read the chunk data
 			//(creates a view of the original buffer, so it doesn't have to be released separately)
 			final var buffer_st = new FriendlyByteBuf(buffer_chunk.readSlice(chunkSize)); //read stats type chunk data
-			read_fileChunk_stats_statType(buffer_st, statsProvider);
+			
+			//chunks are only decoded in parallel while the stats they can possibly hold still fit in the limit,
+			//as parallel decoding only counts them after the fact. the rest are decoded and counted one by one
+			if(options.parallel())
+			{
+				final long maxStats = buffer_st.readableBytes() / MIN_STAT_ENTRY_SIZE;
+				if(limiter.fitsStats(pendingStats + maxStats))
+				{
+					pendingStats += maxStats;
+					statTypeChunks.add(buffer_st);
+					continue;
+				}
+			}
+			stats.clear();
+			read_fileChunk_stats_statType(buffer_st, stats, schema, limiter);
+			limiter.countStats(stats.size());
+			putStats(stats, statsProvider, schema);
+		}
+		
+		//when decoding in parallel, each stat type chunk is decoded into its own map of schema IDs on the fork-join
+		//pool, after which the IDs are resolved, and put into the stats provider, on this thread. neither the stats
+		//provider nor StatType#get are thread-safe, so the workers never touch either
+		if(statTypeChunks.isEmpty()) return;
+		final var decoded = statTypeChunks.parallelStream().map(buffer_st ->
+		{
+			final var chunkStats = new Int2IntOpenHashMap();
+			read_fileChunk_stats_statType(buffer_st, chunkStats, schema, limiter);
+			return chunkStats;
+		}).toList();
+		for(final var chunkStats : decoded)
+		{
+			limiter.countStats(chunkStats.size());
+			putStats(chunkStats, statsProvider, schema);
 		}
 	}
 	
-	@SuppressWarnings("unchecked")
-	private static final void read_fileChunk_stats_statType(FriendlyByteBuf buffer_st, IEditableStatsProvider statsProvider)
+	/**
+	 * Reads a stat type chunk into a map of {@link StatSchema} IDs and their values.
+	 * @apiNote Thread-safe, as long as each thread uses its own map. This is because the
+	 * {@link Stat}s are only identified by their {@link StatSchema} IDs, and never obtained.
+	 */
+	private static final void read_fileChunk_stats_statType(
+			FriendlyByteBuf buffer_st, Int2IntMap stats, StatSchema schema, StatsProviderIO.ReadLimiter limiter)
 	{
-		//read the stat type identifier
-		final var statTypeId = ResourceLocation.parse(buffer_st.readUtf());
+		//read the stat type identifier, and skip the whole chunk if the stat type wasn't requested
+		final var statTypeId = ResourceLocation.parse(limiter.readUtf(buffer_st));
+		if(!limiter.options.readStatType(statTypeId)) return;
 		
 		//obtain the stat type and check if it exists
-		final @Nullable var statType = BuiltInRegistries.STAT_TYPE.containsKey(statTypeId) ?
-				(StatType<Object>)BuiltInRegistries.STAT_TYPE.getOptional(statTypeId).get() : null;
+		final @Nullable StatType<?> statType = BuiltInRegistries.STAT_TYPE.getOptional(statTypeId).orElse(null);
 		if(statType == null) return;
 		final var statTypeRegistry = statType.getRegistry();
 		
@@ -190,29 +237,43 @@ public class StatsProviderIO_fv4
 		while(buffer_st.readableBytes() > 0)
 		{
 			//read stat id and stat value
-			final ResourceLocation statId = ResourceLocation.parse(buffer_st.readUtf());
+			final ResourceLocation statId = ResourceLocation.parse(limiter.readUtf(buffer_st));
 			final int statValue = buffer_st.readIntLE();
 			
-			//obtain the registry item, null check it, and store its value to the stats provider
+			//obtain the registry item, null check it, and store its stat's value by the stat's schema id
 			final @Nullable var item = statTypeRegistry.getOptional(statId).orElse(null);
 			if(item == null) continue;
-			statsProvider.setStatValue(statType, item, statValue);
+			final int id = schema.idOfRawId(statType, statTypeRegistry.getId(item));
+			if(id >= 0) stats.put(id, statValue);
 		}
 	}
+	
+	/**
+	 * Puts the stats decoded by {@link #read_fileChunk_stats_statType(FriendlyByteBuf, Int2IntMap, StatSchema, StatsProviderIO.ReadLimiter)}
+	 * into an {@link IEditableStatsProvider}.
+	 */
+	private static final void putStats(Int2IntMap stats, IEditableStatsProvider statsProvider, StatSchema schema)
+	{
+		for(final var stat : Int2IntMaps.fastIterable(stats))
+			statsProvider.setStatValue(schema.statOf(stat.getIntKey()), stat.getIntValue());
+	}
 	// --------------------------------------------------
-	private static final void read_fileChunk_playerBadges(FriendlyByteBuf buffer_chunk, IEditableStatsProvider statsProvider)
+	static final void read_fileChunk_playerBadges(
+			FriendlyByteBuf buffer_chunk, IEditableStatsProvider statsProvider, StatsProviderIO.ReadLimiter limiter)
+			throws IllegalHeaderException
 	{
 		while(buffer_chunk.readableBytes() > 0)
 		{
 			//read the next mod id and how many entries it has
-			final String modId = buffer_chunk.readUtf();
-			final int entryCount = buffer_chunk.readVarInt();
+			final String modId = limiter.readUtf(buffer_chunk);
+			final int entryCount = limiter.readCount(buffer_chunk, 2);
+			limiter.countStats(entryCount);
 			
 			//read all entries for the corresponding mod id
 			for(int i = 0; i < entryCount; i++)
 			{
 				//read player badge stat data
-				final String playerBadgeIdPath = buffer_chunk.readUtf();
+				final String playerBadgeIdPath = limiter.readUtf(buffer_chunk);
 				final int value = buffer_chunk.readVarInt();
 				
 				//obtain mob, and store its stats
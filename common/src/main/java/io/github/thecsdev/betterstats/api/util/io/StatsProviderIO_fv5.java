@@ -0,0 +1,308 @@
+package io.github.thecsdev.betterstats.api.util.io;
+
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.Objects;
+
+import org.jetbrains.annotations.Nullable;
+
+import it.unimi.dsi.fastutil.ints.IntArrayList;
+import it.unimi.dsi.fastutil.objects.Object2IntMap;
+import it.unimi.dsi.fastutil.objects.Object2IntMaps;
+import it.unimi.dsi.fastutil.objects.Object2IntOpenHashMap;
+import net.minecraft.core.Registry;
+import net.minecraft.core.registries.BuiltInRegistries;
+import net.minecraft.network.FriendlyByteBuf;
+import net.minecraft.resources.ResourceLocation;
+import net.minecraft.stats.Stat;
+import net.minecraft.stats.StatType;
+
+/**
+ * A class containing {@link StatsProviderIO} logic for file version 5.
+ * <p>
+ * Compared to file version 4, all identifiers are written once to a "dictionary" chunk,
+ * and the "stats" chunk refers to them using {@code VarInt} dictionary indices. Stat values
+ * are written as {@code VarInt}s as well.
+ */
+public final class StatsProviderIO_fv5
+{
+	// ==================================================
+	private StatsProviderIO_fv5() {}
+	// ==================================================
+	/**
+	 * Writes the file chunks, calling a given {@link Runnable} after each one is written in full.
+	 * @param onChunkWritten Optional. Called after each chunk is written, at which point
+	 * the buffer holds no partially written chunks.
+	 */
+	@SuppressWarnings("unchecked")
+	static final void write_fileChunks(
+			FriendlyByteBuf buffer_file, IStatsProvider statsProvider, @Nullable Runnable onChunkWritten)
+	{
+		//group the non-zero stats by their stat types, and put their ids in the dictionary
+		//(the dictionary has to be complete before it is written, as the chunks that use it come after it)
+		final var statsByType = StatsProviderIO.groupNonZeroStats(statsProvider);
+		final var dictionary = new Dictionary();
+		statsByType.forEach((statType, stats) ->
+		{
+			final var registry = ((StatType<Object>)statType).getRegistry();
+			dictionary.indexOf(BuiltInRegistries.STAT_TYPE.getKey(statType));
+			for(final var stat : stats.keySet())
+				dictionary.indexOf(registry.getKey(stat.getValue()));
+		});
+		
+		//write chunks
+		write_fileChunk("metadata", buffer_file, statsProvider, dictionary, onChunkWritten);
+		write_fileChunk("dictionary", buffer_file, statsProvider, dictionary, onChunkWritten);
+		
+		//the stats are written as one "stats" chunk per stat type, which keeps the
+		//chunks small for readers that decode the data one chunk at a time
+		final var statTypes = new ArrayList<StatType<?>>(statsByType.size());
+		int statCount = 0;
+		for(final var statType : BuiltInRegistries.STAT_TYPE)
+		{
+			final var stats = statsByType.get(statType);
+			if(stats == null) continue;
+			statTypes.add(statType);
+			statCount += stats.size();
+		}
+		//(the dictionary is complete at this point, so it is only read from, and can be shared across threads)
+		StatsProviderIO.writeChunks(buffer_file, statTypes, statCount, (buffer_chunk, statType) ->
+		{
+			buffer_chunk.writeUtf("stats");
+			write_fileChunk_stats(buffer_chunk, (StatType<Object>)statType, statsByType.get(statType), dictionary);
+		}, onChunkWritten);
+		
+		write_fileChunk("tcdcommons:player_badges", buffer_file, statsProvider, dictionary, onChunkWritten);
+	}
+	// --------------------------------------------------
+	private static final void write_fileChunk(
+			String chunkId, FriendlyByteBuf buffer_file, IStatsProvider statsProvider,
+			Dictionary dictionary, @Nullable Runnable onChunkWritten)
+	{
+		//reserve the chunk size, and write the chunk ID
+		//(the chunk is written in-place, after which its size is back-patched)
+		final int chunkSizeIndex = StatsProviderIO.reserveChunkSize(buffer_file);
+		buffer_file.writeUtf(chunkId);
+		
+		//write chunk data
+		switch(chunkId)
+		{
+			case "metadata": StatsProviderIO_fv4.write_fileChunk_metadata(buffer_file, statsProvider); break;
+			case "dictionary": write_fileChunk_dictionary(buffer_file, dictionary); break;
+			case "tcdcommons:player_badges": StatsProviderIO_fv4.write_fileChunk_playerBadges(buffer_file, statsProvider); break;
+			default: break;
+		}
+		
+		//back-patch the chunk size
+		StatsProviderIO.patchChunkSize(buffer_file, chunkSizeIndex);
+		if(onChunkWritten != null) onChunkWritten.run();
+	}
+	// --------------------------------------------------
+	private static final void write_fileChunk_dictionary(FriendlyByteBuf buffer_chunk, Dictionary dictionary)
+	{
+		//write namespaces
+		buffer_chunk.writeVarInt(dictionary.namespaces.size());
+		for(final var namespace : dictionary.namespaces)
+			buffer_chunk.writeUtf(namespace);
+		
+		//write identifiers, as pairs of namespace indices and paths
+		final int idCount = dictionary.idPaths.size();
+		buffer_chunk.writeVarInt(idCount);
+		for(int i = 0; i < idCount; i++)
+		{
+			buffer_chunk.writeVarInt(dictionary.idNamespaces.getInt(i));
+			buffer_chunk.writeUtf(dictionary.idPaths.get(i));
+		}
+	}
+	// --------------------------------------------------
+	private static final void write_fileChunk_stats(
+			FriendlyByteBuf buffer_chunk, StatType<Object> statType, Object2IntMap<Stat<?>> stats, Dictionary dictionary)
+	{
+		//write stat type id and entry count
+		buffer_chunk.writeVarInt(dictionary.indexOf(BuiltInRegistries.STAT_TYPE.getKey(statType)));
+		buffer_chunk.writeVarInt(stats.size());
+		
+		//obtain the registry, and iterate the stat type's non-zero stats
+		//(the entry count is already written, so every entry has to be written as well)
+		final var registry = statType.getRegistry();
+		for(final var stat : Object2IntMaps.fastIterable(stats))
+		{
+			//write stat id index and value
+			buffer_chunk.writeVarInt(dictionary.indexOf(registry.getKey(stat.getKey().getValue()))); //write stat id
+			buffer_chunk.writeVarInt(stat.getIntValue());                                            //write stat value
+		}
+	}
+	// ==================================================
+	static final StatsProviderIO.ChunkReader chunkReader(
+			IEditableStatsProvider statsProvider, StatsProviderIO.ReadLimiter limiter)
+	{
+		//the dictionary resolver, once the dictionary chunk is read
+		//(shared by all "stats" chunks, so each dictionary entry is resolved only once per registry)
+		final var resolver = new Resolver[] { null };
+		return (chunkId, buffer_chunk) ->
+		{
+			if(!limiter.options.readChunk(chunkId) && !"dictionary".equals(chunkId)) return; //other chunks depend on the dictionary
+			switch(chunkId)
+			{
+				case "metadata": StatsProviderIO_fv4.read_fileChunk_metadata(buffer_chunk, statsProvider, limiter); break;
+				case "dictionary": resolver[0] = new Resolver(read_fileChunk_dictionary(buffer_chunk, limiter)); break;
+				case "stats":
+					if(resolver[0] == null) throw new IllegalHeaderException("dictionary", chunkId);
+					read_fileChunk_stats(buffer_chunk, statsProvider, resolver[0], limiter);
+					break;
+				case "tcdcommons:player_badges": StatsProviderIO_fv4.read_fileChunk_playerBadges(buffer_chunk, statsProvider, limiter); break;
+				default: break;
+			}
+		};
+	}
+	// --------------------------------------------------
+	private static final ResourceLocation[] read_fileChunk_dictionary(
+			FriendlyByteBuf buffer_chunk, StatsProviderIO.ReadLimiter limiter)
+			throws IllegalHeaderException
+	{
+		//read namespaces
+		final String[] namespaces = new String[limiter.readCount(buffer_chunk, 1)];
+		for(int i = 0; i < namespaces.length; i++)
+			namespaces[i] = limiter.readUtf(buffer_chunk);
+		
+		//read identifiers
+		//(invalid identifiers are stored as null, and their entries get skipped later)
+		final var ids = new ResourceLocation[limiter.readCount(buffer_chunk, 2)];
+		for(int i = 0; i < ids.length; i++)
+		{
+			final int namespaceIndex = buffer_chunk.readVarInt();
+			final String path = limiter.readUtf(buffer_chunk);
+			if(namespaceIndex < 0 || namespaceIndex >= namespaces.length)
+				throw new IllegalHeaderException("namespace index < " + namespaces.length, "namespace index == " + namespaceIndex);
+			ids[i] = ResourceLocation.tryBuild(namespaces[namespaceIndex], path);
+		}
+		return ids;
+	}
+	// --------------------------------------------------
+	@SuppressWarnings("unchecked")
+	private static final void read_fileChunk_stats(
+			FriendlyByteBuf buffer_chunk, IEditableStatsProvider statsProvider,
+			Resolver resolver, StatsProviderIO.ReadLimiter limiter)
+			throws IllegalHeaderException
+	{
+		final var options = limiter.options;
+		final var schema = StatSchema.get();
+		//keep reading stat types as they come in
+		while(buffer_chunk.readableBytes() > 0)
+		{
+			//read the stat type and its entry count
+			//(the stat type is only resolved if it was requested)
+			final int statTypeIndex = buffer_chunk.readVarInt();
+			final int entryCount = limiter.readCount(buffer_chunk, 2);
+			limiter.countStats(entryCount);
+			final @Nullable var statType = resolver.isRequested(statTypeIndex, options) ?
+					(StatType<Object>)resolver.resolve(BuiltInRegistries.STAT_TYPE, statTypeIndex) : null;
+			final @Nullable Registry<Object> statTypeRegistry = (statType != null) ? statType.getRegistry() : null;
+			
+			//read stats one by one
+			for(int i = 0; i < entryCount; i++)
+			{
+				//read stat id index and stat value
+				final int statIdIndex = buffer_chunk.readVarInt();
+				final int statValue = buffer_chunk.readVarInt();
+				
+				//obtain the registry item's stat, null check it, and store its value to the stats provider
+				//(entries of unknown or unrequested stat types are still read, so the buffer remains aligned)
+				//(the stat is obtained from the schema, as files are often read off the main thread)
+				if(statTypeRegistry == null) continue;
+				final @Nullable var item = resolver.resolve(statTypeRegistry, statIdIndex);
+				final @Nullable var stat = (item != null) ? schema.statOf(schema.idOf(statType, item)) : null;
+				if(stat == null) continue;
+				statsProvider.setStatValue(stat, statValue);
+			}
+		}
+	}
+	// ==================================================
+	/**
+	 * Assigns indices to {@link ResourceLocation}s while a file is being written.
+	 */
+	private static final class Dictionary
+	{
+		final ArrayList<String> namespaces = new ArrayList<>();
+		final Object2IntOpenHashMap<String> namespaceIndices = new Object2IntOpenHashMap<>();
+		final IntArrayList idNamespaces = new IntArrayList();
+		final ArrayList<String> idPaths = new ArrayList<>();
+		final Object2IntOpenHashMap<ResourceLocation> idIndices = new Object2IntOpenHashMap<>();
+		
+		Dictionary()
+		{
+			this.namespaceIndices.defaultReturnValue(-1);
+			this.idIndices.defaultReturnValue(-1);
+		}
+		
+		final int indexOf(ResourceLocation id)
+		{
+			//return the existing index if there is one
+			Objects.requireNonNull(id);
+			int index = this.idIndices.getInt(id);
+			if(index != -1) return index;
+			
+			//obtain the namespace index
+			int namespaceIndex = this.namespaceIndices.getInt(id.getNamespace());
+			if(namespaceIndex == -1)
+			{
+				namespaceIndex = this.namespaces.size();
+				this.namespaces.add(id.getNamespace());
+				this.namespaceIndices.put(id.getNamespace(), namespaceIndex);
+			}
+			
+			//register the new identifier
+			index = this.idPaths.size();
+			this.idNamespaces.add(namespaceIndex);
+			this.idPaths.add(id.getPath());
+			this.idIndices.put(id, index);
+			return index;
+		}
+	}
+	
+	/**
+	 * Resolves dictionary indices to registry objects while a file is being read.
+	 * Each dictionary entry is looked up at most once per {@link Registry}.
+	 */
+	private static final class Resolver
+	{
+		private static final Object MISSING = new Object();
+		final ResourceLocation[] dictionary;
+		final IdentityHashMap<Registry<?>, Object[]> resolved = new IdentityHashMap<>();
+		
+		Resolver(ResourceLocation[] dictionary) { this.dictionary = dictionary; }
+		
+		final boolean isRequested(int statTypeIndex, StatsProviderIO.ReadOptions options) throws IllegalHeaderException
+		{
+			checkIndex(statTypeIndex);
+			final @Nullable var id = this.dictionary[statTypeIndex];
+			return (id != null) && options.readStatType(id);
+		}
+		
+		final void checkIndex(int index) throws IllegalHeaderException
+		{
+			if(index < 0 || index >= this.dictionary.length)
+				throw new IllegalHeaderException("dictionary index < " + this.dictionary.length, "dictionary index == " + index);
+		}
+		
+		final @Nullable Object resolve(Registry<?> registry, int index) throws IllegalHeaderException
+		{
+			//check the index
+			checkIndex(index);
+			
+			//obtain the cached object
+			final var cache = this.resolved.computeIfAbsent(registry, __ -> new Object[this.dictionary.length]);
+			Object result = cache[index];
+			
+			//resolve the object if it hasn't been resolved already
+			if(result == null)
+			{
+				final @Nullable var id = this.dictionary[index];
+				result = (id != null) ? registry.getOptional(id).orElse(null) : null;
+				cache[index] = result = (result != null) ? result : MISSING;
+			}
+			return (result != MISSING) ? result : null;
+		}
+	}
+	// ==================================================
+}
@@ -0,0 +1,112 @@
+package io.github.thecsdev.betterstats.api.util.io;
+
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.ObjIntConsumer;
+import net.minecraft.network.chat.Component;
+import net.minecraft.resources.ResourceLocation;
+import net.minecraft.stats.Stat;
+import net.minecraft.stats.StatType;
+import org.jetbrains.annotations.Nullable;
+
+import com.mojang.authlib.GameProfile;
+
+import it.unimi.dsi.fastutil.objects.Object2IntMap;
+import it.unimi.dsi.fastutil.objects.Object2IntMaps;
+import it.unimi.dsi.fastutil.objects.Object2IntOpenHashMap;
+
+/**
+ * An immutable {@link IStatsProvider}, holding the statistics another
+ * {@link IStatsProvider} had at the time {@link IStatsProvider#snapshot()} was called.
+ * <p>
+ * As it never changes, a {@link StatsSnapshot} can be read from any thread without locking,
+ * and every read sees the same consistent set of statistics.
+ * @see IStatsProvider#snapshot()
+ */
+public final class StatsSnapshot implements IStatsProvider
+{
+	// ==================================================
+	private final @Nullable Component displayName;
+	private final @Nullable GameProfile gameProfile;
+	private final long version;
+	// --------------------------------------------------
+	private final Object2IntMap<Stat<?>> statMap;
+	private final Object2IntMap<ResourceLocation> playerBadgeStatMap;
+	// ==================================================
+	/**
+	 * Creates a {@link StatsSnapshot} by copying all non-zero statistics of an {@link IStatsProvider}.
+	 * @param source The {@link IStatsProvider} to copy.
+	 */
+	StatsSnapshot(IStatsProvider source) throws NullPointerException
+	{
+		//the version is obtained first, so changes made while copying can only
+		//ever make the snapshot newer than its version says, and never older
+		this.version = source.getVersion();
+		this.displayName = source.getDisplayName();
+		this.gameProfile = source.getGameProfile();
+		
+		//copy the statistics, and trim the maps down to their size
+		final var statMap = new Object2IntOpenHashMap<Stat<?>>();
+		final var playerBadgeStatMap = new Object2IntOpenHashMap<ResourceLocation>();
+		source.forEachNonZeroStat(statMap::put);
+		source.forEachNonZeroPlayerBadge(playerBadgeStatMap::put);
+		statMap.trim();
+		playerBadgeStatMap.trim();
+		this.statMap = statMap;
+		this.playerBadgeStatMap = playerBadgeStatMap;
+	}
+	
+	/**
+	 * Creates a {@link StatsSnapshot} that shares the given maps, without copying them.
+	 * @apiNote The maps must never be modified afterwards.
+	 */
+	StatsSnapshot(
+			@Nullable Component displayName,
+			@Nullable GameProfile gameProfile,
+			long version,
+			Object2IntMap<Stat<?>> statMap,
+			Object2IntMap<ResourceLocation> playerBadgeStatMap) throws NullPointerException
+	{
+		this.displayName = displayName;
+		this.gameProfile = gameProfile;
+		this.version = version;
+		this.statMap = Objects.requireNonNull(statMap);
+		this.playerBadgeStatMap = Objects.requireNonNull(playerBadgeStatMap);
+	}
+	// ==================================================
+	public final @Override @Nullable Component getDisplayName() { return this.displayName; }
+	public final @Override @Nullable GameProfile getGameProfile() { return this.gameProfile; }
+	// --------------------------------------------------
+	public final @Override int getStatValue(Stat<?> stat) { return this.statMap.getInt(stat); }
+	public final @Override void forEachNonZeroStat(ObjIntConsumer<Stat<?>> action) throws NullPointerException
+	{
+		Objects.requireNonNull(action);
+		for(final var entry : Object2IntMaps.fastIterable(this.statMap))
+			action.accept(entry.getKey(), entry.getIntValue());
+	}
+	// --------------------------------------------------
+	public final @Override int getPlayerBadgeValue(ResourceLocation badgeId) { return this.playerBadgeStatMap.getInt(badgeId); }
+	public final @Override void forEachNonZeroPlayerBadge(ObjIntConsumer<ResourceLocation> action) throws NullPointerException
+	{
+		Objects.requireNonNull(action);
+		for(final var entry : Object2IntMaps.fastIterable(this.playerBadgeStatMap))
+			action.accept(entry.getKey(), entry.getIntValue());
+	}
+	// --------------------------------------------------
+	/**
+	 * {@inheritDoc}
+	 * @apiNote Returns the version of the original {@link IStatsProvider} at the time this snapshot was taken.
+	 */
+	public final @Override long getVersion() { return this.version; }
+	public final @Override @Nullable Set<StatType<?>> getChangedStatTypes(long sinceVersion)
+	{
+		//a snapshot never changes, so nothing changed since its own version
+		return (sinceVersion == this.version && this.version != -1) ? Set.of() : null;
+	}
+	// --------------------------------------------------
+	/**
+	 * Returns this {@link StatsSnapshot}, as it is already immutable.
+	 */
+	public final @Override StatsSnapshot snapshot() { return this; }
+	// ==================================================
+}
\ No newline at end of file
@@ -0,0 +1,263 @@
+package io.github.thecsdev.betterstats.api.util.io;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+import java.util.stream.IntStream;
+import net.minecraft.network.chat.Component;
+import net.minecraft.stats.Stat;
+import org.jetbrains.annotations.Nullable;
+
+import com.mojang.authlib.GameProfile;
+
+import it.unimi.dsi.fastutil.ints.IntArrays;
+import it.unimi.dsi.fastutil.ints.IntComparator;
+import it.unimi.dsi.fastutil.ints.IntHeapPriorityQueue;
+import it.unimi.dsi.fastutil.objects.Object2IntOpenHashMap;
+
+/**
+ * A table of many players' statistics, meant for analytics queries over large numbers of players.
+ * <p>
+ * Each player is a row, and each {@link Stat} is a column. The {@link Stat}s are kept once, in a
+ * schema that is shared by all rows, and each column stores its values in primitive {@code int}
+ * blocks that are only allocated once one of their rows has a non-zero value. Queries run on the
+ * blocks of a column in parallel, on the common {@link java.util.concurrent.ForkJoinPool}.
+ * <p>
+ * Rows are added using {@link #addRow(IStatsProvider)}, which accepts any {@link IStatsProvider},
+ * such as a {@link ServerPlayerStatsProvider} for a live player, or a {@link DenseStatsProvider}
+ * read from an MCBS file. Player badges are not part of the table.
+ * @apiNote Not thread-safe while rows are being added. Once populated, any number of
+ * queries may run concurrently.
+ */
+public final class StatsTable extends Object
+{
+	// ==================================================
+	private static final int BLOCK_SHIFT = 10;
+	private static final int BLOCK_SIZE  = 1 << BLOCK_SHIFT;
+	private static final int BLOCK_MASK  = BLOCK_SIZE - 1;
+	// --------------------------------------------------
+	private final Object2IntOpenHashMap<Stat<?>> columnIndex = new Object2IntOpenHashMap<>();
+	private final ArrayList<Stat<?>> columnStats = new ArrayList<>();
+	private final ArrayList<int[][]> columns = new ArrayList<>(); //blocks of rows, null when all-zero
+	// --------------------------------------------------
+	private final ArrayList<Component> rowDisplayNames = new ArrayList<>();
+	private final ArrayList<GameProfile> rowGameProfiles = new ArrayList<>();
+	// ==================================================
+	public StatsTable() { this.columnIndex.defaultReturnValue(-1); }
+	// ==================================================
+	/**
+	 * Adds a row to this {@link StatsTable}, by copying all non-zero statistics of an {@link IStatsProvider}.
+	 * @param stats The {@link IStatsProvider} to copy.
+	 * @return The index of the newly added row.
+	 * @throws NullPointerException If the argument is {@code null}.
+	 */
+	public final int addRow(IStatsProvider stats) throws NullPointerException
+	{
+		Objects.requireNonNull(stats);
+		final int row = this.rowDisplayNames.size();
+		this.rowDisplayNames.add(stats.getDisplayName());
+		this.rowGameProfiles.add(stats.getGameProfile());
+		
+		final int blockIndex = row >>> BLOCK_SHIFT, rowInBlock = row & BLOCK_MASK;
+		stats.forEachNonZeroStat((stat, value) ->
+		{
+			//obtain the column, adding it to the schema if it's new
+			int column = this.columnIndex.getInt(stat);
+			if(column < 0)
+			{
+				column = this.columnStats.size();
+				this.columnIndex.put(stat, column);
+				this.columnStats.add(stat);
+				this.columns.add(new int[0][]);
+			}
+			
+			//obtain the row's block, and set the value
+			int[][] blocks = this.columns.get(column);
+			if(blocks.length <= blockIndex) this.columns.set(column, blocks = Arrays.copyOf(blocks, blockIndex + 1));
+			if(blocks[blockIndex] == null) blocks[blockIndex] = new int[BLOCK_SIZE];
+			blocks[blockIndex][rowInBlock] = value;
+		});
+		return row;
+	}
+	
+	/**
+	 * Adds a row for each of the given {@link IStatsProvider}s.
+	 * @param stats The {@link IStatsProvider}s to copy.
+	 * @throws NullPointerException If an argument is {@code null}.
+	 * @see #addRow(IStatsProvider)
+	 */
+	public final void addRows(Iterable<? extends IStatsProvider> stats) throws NullPointerException
+	{
+		for(final var s : stats) addRow(s);
+	}
+	// --------------------------------------------------
+	/**
+	 * Returns the number of rows, which is the number of players.
+	 */
+	public final int getRowCount() { return this.rowDisplayNames.size(); }
+	
+	/**
+	 * Returns the {@link IStatsProvider#getDisplayName()} of the player in a given row.
+	 * @throws IndexOutOfBoundsException If the row does not exist.
+	 */
+	public final @Nullable Component getDisplayName(int row) throws IndexOutOfBoundsException { return this.rowDisplayNames.get(row); }
+	
+	/**
+	 * Returns the {@link IStatsProvider#getGameProfile()} of the player in a given row.
+	 * @throws IndexOutOfBoundsException If the row does not exist.
+	 */
+	public final @Nullable GameProfile getGameProfile(int row) throws IndexOutOfBoundsException { return this.rowGameProfiles.get(row); }
+	
+	/**
+	 * Returns the {@link Stat}s that at least one row has a non-zero value for.
+	 */
+	public final List<Stat<?>> getStats() { return Collections.unmodifiableList(this.columnStats); }
+	
+	/**
+	 * Returns the value of a {@link Stat} in a given row.
+	 * @throws IndexOutOfBoundsException If the row does not exist.
+	 */
+	public final int getStatValue(int row, Stat<?> stat) throws IndexOutOfBoundsException
+	{
+		Objects.checkIndex(row, getRowCount());
+		final int[][] blocks = getColumn(stat);
+		return (blocks != null) ? valueAt(blocks, row) : 0;
+	}
+	// --------------------------------------------------
+	private final @Nullable int[][] getColumn(Stat<?> stat)
+	{
+		final int column = this.columnIndex.getInt(stat);
+		return (column >= 0) ? this.columns.get(column) : null;
+	}
+	
+	private static final int valueAt(int[][] blocks, int row)
+	{
+		final int blockIndex = row >>> BLOCK_SHIFT;
+		if(blockIndex >= blocks.length || blocks[blockIndex] == null) return 0;
+		return blocks[blockIndex][row & BLOCK_MASK];
+	}
+	// ==================================================
+	/**
+	 * Returns the sum of a {@link Stat}'s values across all rows.
+	 * @param stat The {@link Stat}.
+	 */
+	public final long sum(Stat<?> stat)
+	{
+		final int[][] blocks = getColumn(stat);
+		if(blocks == null) return 0;
+		return IntStream.range(0, blocks.length).parallel().mapToLong(b ->
+		{
+			final int[] block = blocks[b];
+			if(block == null) return 0;
+			long sum = 0;
+			for(final int value : block) sum += value;
+			return sum;
+		}).sum();
+	}
+	
+	/**
+	 * Returns the mean of a {@link Stat}'s values across all rows, including
+	 * the rows whose value is zero, or {@code 0} if there are no rows.
+	 * @param stat The {@link Stat}.
+	 */
+	public final double mean(Stat<?> stat)
+	{
+		final int rowCount = getRowCount();
+		return (rowCount > 0) ? (double)sum(stat) / rowCount : 0;
+	}
+	
+	/**
+	 * Returns the highest value of a {@link Stat} across all rows, or {@code 0} if there are no rows.
+	 * @param stat The {@link Stat}.
+	 */
+	public final int max(Stat<?> stat)
+	{
+		final int[][] blocks = getColumn(stat);
+		if(blocks == null) return 0;
+		return IntStream.range(0, blocks.length).parallel().map(b ->
+		{
+			final int[] block = blocks[b];
+			if(block == null) return 0;
+			int max = 0;
+			for(final int value : block) max = Math.max(max, value);
+			return max;
+		}).max().orElse(0);
+	}
+	
+	/**
+	 * Returns the value of a {@link Stat} at a given percentile, using the nearest-rank method,
+	 * across all rows, including the rows whose value is zero. Returns {@code 0} if there are no rows.
+	 * @param stat The {@link Stat}.
+	 * @param percentile The percentile, from {@code 0} to {@code 100}.
+	 * @throws IllegalArgumentException If the percentile is out of range.
+	 */
+	public final int percentile(Stat<?> stat, double percentile) throws IllegalArgumentException
+	{
+		if(!(percentile >= 0 && percentile <= 100))
+			throw new IllegalArgumentException("Percentile out of range: " + percentile);
+		final int rowCount = getRowCount();
+		final int[][] blocks = getColumn(stat);
+		if(rowCount == 0 || blocks == null) return 0;
+		
+		//copy the column, sort it, and pick the nearest rank
+		final int[] values = new int[rowCount];
+		for(int b = 0; b < blocks.length; b++)
+			if(blocks[b] != null)
+				System.arraycopy(blocks[b], 0, values, b << BLOCK_SHIFT, Math.min(BLOCK_SIZE, rowCount - (b << BLOCK_SHIFT)));
+		Arrays.parallelSort(values);
+		final int rank = (int)Math.ceil(percentile / 100 * rowCount);
+		return values[Math.max(rank - 1, 0)];
+	}
+	
+	/**
+	 * Returns the rows with the highest values of a {@link Stat}, in descending order
+	 * of their values. Rows whose value is zero are never included, so fewer than
+	 * {@code count} rows may be returned. Rows with equal values are ordered by their index.
+	 * @param stat The {@link Stat}.
+	 * @param count The maximum number of rows to return.
+	 * @return The indices of the rows.
+	 */
+	public final int[] top(Stat<?> stat, int count)
+	{
+		final int[][] blocks = getColumn(stat);
+		if(blocks == null || count < 1) return new int[0];
+		
+		//order rows by their values in descending order, and then by their indices
+		final IntComparator descending = (a, b) ->
+		{
+			final int c = Integer.compare(valueAt(blocks, b), valueAt(blocks, a));
+			return (c != 0) ? c : Integer.compare(a, b);
+		};
+		
+		//find each block's top rows in parallel, and then the top rows among those
+		final int[] candidates = IntStream.range(0, blocks.length).parallel()
+				.flatMap(b -> IntStream.of(topInBlock(blocks, b, count, descending)))
+				.toArray();
+		IntArrays.quickSort(candidates, descending);
+		return (candidates.length > count) ? Arrays.copyOf(candidates, count) : candidates;
+	}
+	
+	private static final int[] topInBlock(int[][] blocks, int blockIndex, int count, IntComparator descending)
+	{
+		final int[] block = blocks[blockIndex];
+		if(block == null) return new int[0];
+		
+		//a heap whose head is the lowest of the top rows found so far
+		final var heap = new IntHeapPriorityQueue(descending.reversed());
+		final int firstRow = blockIndex << BLOCK_SHIFT;
+		for(int i = 0; i < block.length; i++)
+		{
+			if(block[i] == 0) continue;
+			final int row = firstRow + i;
+			if(heap.size() < count) heap.enqueue(row);
+			else if(descending.compare(row, heap.firstInt()) < 0) { heap.dequeueInt(); heap.enqueue(row); }
+		}
+		
+		final int[] result = new int[heap.size()];
+		for(int i = 0; i < result.length; i++) result[i] = heap.dequeueInt();
+		return result;
+	}
+	// ==================================================
+}
\ No newline at end of file
@@ -0,0 +1,164 @@
+package io.github.thecsdev.betterstats.api.util.io;
+
+import static io.github.thecsdev.tcdcommons.api.util.TextUtils.literal;
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.file.Files;
+import java.util.Objects;
+import net.minecraft.core.registries.BuiltInRegistries;
+import net.minecraft.resources.ResourceLocation;
+import net.minecraft.stats.ServerStatsCounter;
+import net.minecraft.stats.Stat;
+import net.minecraft.stats.StatType;
+import org.jetbrains.annotations.Nullable;
+
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+
+/**
+ * A utility class for reading the vanilla "{@code stats/<uuid>.json}" files
+ * that are written by {@link ServerStatsCounter}.
+ */
+public final class VanillaStatsIO extends Object
+{
+	// ==================================================
+	private VanillaStatsIO() {}
+	// ==================================================
+	/**
+	 * Reads a vanilla statistics JSON file into an {@link IEditableStatsProvider}.
+	 * @param file The vanilla statistics JSON {@link File}.
+	 * @param statsProvider The {@link IEditableStatsProvider} to read the statistics into.
+	 * @return The number of statistics that were skipped, because their IDs are not registered.
+	 * @throws FileNotFoundException If the {@link File} does not exist.
+	 * @throws IOException If the {@link File} IO operations raise an {@link IOException}, or the JSON is malformed.
+	 * @apiNote The {@link IStatsProvider#getDisplayName()} is set to the {@link File}'s name, without the extension,
+	 * which is the player's UUID for files from a world's "{@code stats}" directory.
+	 * @see #read(Reader, IEditableStatsProvider)
+	 */
+	public static int loadFromFile(File file, IEditableStatsProvider statsProvider)
+			throws FileNotFoundException, IOException
+	{
+		//requirements
+		Objects.requireNonNull(statsProvider);
+		if(!file.exists()) throw new FileNotFoundException(file.getAbsolutePath());
+		
+		//set the display name
+		final var fileName = file.getName();
+		final int extIndex = fileName.lastIndexOf('.');
+		statsProvider.setDisplayName(literal(extIndex > 0 ? fileName.substring(0, extIndex) : fileName));
+		
+		//read the statistics
+		try(final BufferedReader reader = Files.newBufferedReader(file.toPath(), UTF_8))
+		{
+			return read(reader, statsProvider);
+		}
+		catch(SecurityException se) { throw new IOException(se); }
+	}
+	// --------------------------------------------------
+	/**
+	 * Reads vanilla statistics JSON data into an {@link IEditableStatsProvider}.
+	 * <p>
+	 * The JSON is read using a streaming {@link JsonReader}, so no JSON tree is ever
+	 * constructed, and each statistic is put into the {@link IEditableStatsProvider} as soon
+	 * as it is read. Only the "{@code stats}" object is read. Everything else is skipped.
+	 * @param reader The {@link Reader} to read the JSON from. Is not closed by this method.
+	 * @param statsProvider The {@link IEditableStatsProvider} to read the statistics into.
+	 * @return The number of statistics that were skipped, because their IDs are not registered.
+	 * @throws IOException If the {@link Reader} raises an {@link IOException}, or the JSON is malformed.
+	 * @apiNote Unlike {@link ServerStatsCounter}, this does not apply data-fixers to outdated files.
+	 * Statistics whose IDs have since been renamed or removed are skipped and counted.
+	 */
+	public static int read(Reader reader, IEditableStatsProvider statsProvider) throws IOException
+	{
+		//requirements
+		Objects.requireNonNull(reader);
+		Objects.requireNonNull(statsProvider);
+		
+		//read the root object, looking for the stats object
+		final var json = new JsonReader(reader);
+		try
+		{
+			int skipped = 0;
+			json.beginObject();
+			while(json.hasNext())
+			{
+				if("stats".equals(json.nextName()) && json.peek() == JsonToken.BEGIN_OBJECT)
+					skipped += read_stats(json, statsProvider);
+				else json.skipValue();
+			}
+			json.endObject();
+			return skipped;
+		}
+		catch(IllegalStateException | NumberFormatException exc)
+		{
+			//thrown by the JsonReader when a value is of an unexpected type
+			throw new IOException("Malformed vanilla statistics JSON.", exc);
+		}
+	}
+	
+	private static int read_stats(JsonReader json, IEditableStatsProvider statsProvider) throws IOException
+	{
+		int skipped = 0;
+		json.beginObject();
+		while(json.hasNext())
+		{
+			//obtain the stat type, and skip it if it isn't registered
+			final var statTypeId = ResourceLocation.tryParse(json.nextName());
+			final var statType = (statTypeId != null) ?
+					BuiltInRegistries.STAT_TYPE.getOptional(statTypeId).orElse(null) : null;
+			if(statType == null || json.peek() != JsonToken.BEGIN_OBJECT)
+			{
+				skipped += countEntries(json);
+				continue;
+			}
+			
+			//read the stat type's stats
+			json.beginObject();
+			while(json.hasNext())
+			{
+				final var stat = getStat(statType, json.nextName());
+				if(stat == null || json.peek() != JsonToken.NUMBER) { json.skipValue(); skipped++; continue; }
+				statsProvider.setStatValue(stat, json.nextInt());
+			}
+			json.endObject();
+		}
+		json.endObject();
+		return skipped;
+	}
+	// --------------------------------------------------
+	/**
+	 * Returns the {@link Stat} for a given {@link StatType} and a stat ID,
+	 * or {@code null} if the ID is invalid or not registered.
+	 * @apiNote The {@link Stat} is obtained from the {@link StatSchema}, as files are
+	 * often read off the main thread, where {@link StatType#get(Object)} isn't safe to call.
+	 */
+	private static @Nullable <T> Stat<?> getStat(StatType<T> statType, String statId)
+	{
+		final var id = ResourceLocation.tryParse(statId);
+		if(id == null) return null;
+		final var registry = statType.getRegistry();
+		final int rawId = registry.getOptional(id).map(registry::getId).orElse(-1);
+		final var schema = StatSchema.get();
+		return schema.statOf(schema.idOfRawId(statType, rawId));
+	}
+	
+	/**
+	 * Skips the next JSON value, and returns the number of entries it had,
+	 * if it was an object. Otherwise returns 1.
+	 */
+	private static int countEntries(JsonReader json) throws IOException
+	{
+		if(json.peek() != JsonToken.BEGIN_OBJECT) { json.skipValue(); return 1; }
+		int count = 0;
+		json.beginObject();
+		while(json.hasNext()) { json.nextName(); json.skipValue(); count++; }
+		json.endObject();
+		return count;
+	}
+	// ==================================================
+}
\ No newline at end of file
@@ -5,12 +5,14 @@ import static io.github.thecsdev.tcdcommons.api.util.TextUtils.fTranslatable;
 import static io.github.thecsdev.tcdcommons.api.util.TextUtils.translatable;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.Comparator;
 import java.util.List;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.function.Predicate;
 import net.minecraft.core.registries.BuiltInRegistries;
+import net.minecraft.locale.Language;
 import net.minecraft.network.chat.Component;
 import net.minecraft.resources.ResourceLocation;
 import net.minecraft.stats.Stat;
@@ -40,6 +42,14 @@ public final class SUGeneralStat extends SUStat<ResourceLocation>
 	 * @see Stat#format(int)
 	 */
 	public final Component valueText;
+	// --------------------------------------------------
+	/**
+	 * The "general" {@link Stat}s, along with their IDs and labels, in the order
+	 * {@link #getGeneralStats(IStatsProvider, Predicate)} returns them. Cached once
+	 * per {@link Language}, as the order and the labels depend on the {@link Language}.
+	 */
+	private static @Nullable List<CachedStat> CACHED_STATS;
+	private static @Nullable Language CACHED_STATS_LANGUAGE;
 	// ==================================================
 	public SUGeneralStat(IStatsProvider statsProvider, Stat<ResourceLocation> stat)
 	{
@@ -49,6 +59,15 @@ public final class SUGeneralStat extends SUStat<ResourceLocation>
 		this.valueText = fLiteral(stat.format(this.value));
 		this.isEmpty = this.value == 0;
 	}
+	
+	private SUGeneralStat(IStatsProvider statsProvider, CachedStat cachedStat)
+	{
+		super(statsProvider, cachedStat.id, cachedStat.label);
+		this.stat = cachedStat.stat;
+		this.value = statsProvider.getStatValue(this.stat);
+		this.valueText = fLiteral(this.stat.format(this.value));
+		this.isEmpty = this.value == 0;
+	}
 	// --------------------------------------------------
 	private static final @Internal ResourceLocation id(Stat<ResourceLocation> stat)
 	{
@@ -92,18 +111,61 @@ public final class SUGeneralStat extends SUStat<ResourceLocation>
 		Objects.requireNonNull(statsProvider);
 		
 		//create an array list
-		final var result = new ArrayList<SUGeneralStat>();
-		
-		//obtain stats
-		final var statsList = new ObjectArrayList<Stat<ResourceLocation>>(Stats.CUSTOM.iterator());
-		statsList.sort(Comparator.comparing(stat -> translatable(getGeneralStatTranslationKey(stat)).getString()));
+		final var cachedStats = getCachedStats();
+		final var result = new ArrayList<SUGeneralStat>(cachedStats.size());
 		
-		for(final var stat : statsList) result.add(new SUGeneralStat(statsProvider, stat));
-		//filter out stats with NULL IDs and stats the filter filters out
-		result.removeIf(stat -> Objects.equals(ID_NULL, stat.getStatID()) || (filter != null && !filter.test(stat)));
+		//read the stat values, and filter out stats the filter filters out
+		for(final var cachedStat : cachedStats)
+		{
+			final var stat = new SUGeneralStat(statsProvider, cachedStat);
+			if(filter == null || filter.test(stat)) result.add(stat);
+		}
 		
 		//return the result list
 		return result;
 	}
+	// --------------------------------------------------
+	/**
+	 * Returns the {@link CachedStat}s for the current {@link Language}, sorting the "general"
+	 * {@link Stat}s and resolving their labels only if they aren't cached yet.
+	 */
+	private static synchronized List<CachedStat> getCachedStats()
+	{
+		//return the cached stats, if the language hasn't changed since
+		final var language = Language.getInstance();
+		if(CACHED_STATS != null && CACHED_STATS_LANGUAGE == language)
+			return CACHED_STATS;
+		
+		//obtain stats, filtering out stats with NULL IDs
+		final var statsList = new ObjectArrayList<CachedStat>();
+		for(final var stat : Stats.CUSTOM)
+		{
+			final var id = id(stat);
+			if(Objects.equals(ID_NULL, id)) continue;
+			statsList.add(new CachedStat(stat, id));
+		}
+		
+		//sort them, resolving each translation only once
+		statsList.sort(Comparator.comparing(cachedStat -> cachedStat.sortKey));
+		
+		//cache and return the result
+		CACHED_STATS_LANGUAGE = language;
+		return CACHED_STATS = Collections.unmodifiableList(statsList);
+	}
+	// ==================================================
+	private static final class CachedStat
+	{
+		final Stat<ResourceLocation> stat;
+		final ResourceLocation id;
+		final Component label;
+		final String sortKey;
+		CachedStat(Stat<ResourceLocation> stat, ResourceLocation id)
+		{
+			this.stat = stat;
+			this.id = id;
+			this.label = getGeneralStatText(stat);
+			this.sortKey = translatable(getGeneralStatTranslationKey(stat)).getString();
+		}
+	}
 	// ==================================================
 }
\ No newline at end of file
@@ -3,6 +3,7 @@ package io.github.thecsdev.betterstats.api.util.stats;
 import static io.github.thecsdev.tcdcommons.api.util.TextUtils.fTranslatable;
 
 import java.util.ArrayList;
+import java.util.BitSet;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
@@ -16,6 +17,7 @@ import net.minecraft.stats.Stats;
 import net.minecraft.world.item.CreativeModeTab;
 import net.minecraft.world.item.Item;
 import net.minecraft.world.level.block.Block;
+import net.minecraft.world.level.block.Blocks;
 import org.jetbrains.annotations.Nullable;
 
 import com.google.common.collect.Lists;
@@ -23,6 +25,7 @@ import com.google.common.collect.Lists;
 import io.github.thecsdev.betterstats.api.util.BSUtils;
 import io.github.thecsdev.betterstats.api.util.enumerations.FilterGroupBy;
 import io.github.thecsdev.betterstats.api.util.io.IStatsProvider;
+import io.github.thecsdev.betterstats.api.util.io.StatSchema;
 
 public final class SUItemStat extends SUStat<Item>
 {
@@ -33,14 +36,28 @@ public final class SUItemStat extends SUStat<Item>
 	// --------------------------------------------------
 	public final int mined, crafted, used, broken, pickedUp, dropped;
 	// ==================================================
-	public SUItemStat(IStatsProvider statsProvider, Item item)
+	public SUItemStat(IStatsProvider statsProvider, Item item) { this(statsProvider, item, true); }
+	
+	/**
+	 * @param lookup Whether to look up the values. When {@code false}, the values are all
+	 * {@code 0}, which saves the lookups for {@link Item}s that are known to have no statistics.
+	 */
+	private SUItemStat(IStatsProvider statsProvider, Item item, boolean lookup)
 	{
 		super(statsProvider, BuiltInRegistries.ITEM.getKey(Objects.requireNonNull(item)), getItemStatText(item));
 		this.item = item;
-		this.block = Block.byItem(item);
+		this.block = Objects.requireNonNullElse(StatSchema.get().getBlockOf(item), Blocks.AIR);
+		
+		//handle empty stats
+		if(!lookup)
+		{
+			this.mined = this.crafted = this.used = this.broken = this.pickedUp = this.dropped = 0;
+			this.isEmpty = true;
+			return;
+		}
 		
 		//handle sMined
-		if(this.block == null) mined = 0;
+		if(this.block == Blocks.AIR) mined = 0;
 		else this.mined = statsProvider.getStatValue(Stats.BLOCK_MINED, this.block);
 		
 		//handle other stats
@@ -63,7 +80,8 @@ public final class SUItemStat extends SUStat<Item>
 	
 	/**
 	 * Returns the {@link Block} that corresponds with {@link #getItem()},
-	 * or {@code null} if the {@link Item} does not have a corresponding {@link Block}.
+	 * or {@link Blocks#AIR} if the {@link Item} does not have a corresponding {@link Block}.
+	 * @see Block#byItem(Item)
 	 */
 	public final @Nullable Block getBlock() { return this.block; }
 	// --------------------------------------------------
@@ -82,20 +100,55 @@ public final class SUItemStat extends SUStat<Item>
 	public static List<SUItemStat> getItemStats
 	(IStatsProvider statsProvider, @Nullable Predicate<SUItemStat> filter)
 	{
+		return getItemStats(statsProvider, filter, true);
+	}
+	
+	/**
+	 * Obtains all {@link Item} {@link Stat}s in form of {@link SUItemStat}.
+	 * <p>
+	 * The {@link Item}s that have statistics are found by walking the {@link IStatsProvider}'s
+	 * non-zero {@link Stat}s, so when empty {@link SUItemStat}s are excluded, only the
+	 * {@link Item}s that have statistics are ever visited. When they are included,
+	 * the empty ones are created without looking up their values.
+	 * @param statsProvider The {@link IStatsProvider}.
+	 * @param filter Optional. A {@link Predicate} used to filter out any unwanted {@link SUItemStat}s.
+	 * @param includeEmpty Whether to include {@link SUItemStat}s that are {@link #isEmpty()}.
+	 */
+	public static List<SUItemStat> getItemStats
+	(IStatsProvider statsProvider, @Nullable Predicate<SUItemStat> filter, boolean includeEmpty)
+	{
+		//find the raw ids of items that have stats
+		final var nonEmpty = new BitSet(BuiltInRegistries.ITEM.size());
+		final var schema = StatSchema.get();
+		statsProvider.forEachNonZeroStat((stat, value) ->
+		{
+			final @Nullable Item item;
+			if(stat.getValue() instanceof Item i) item = i;
+			else if(stat.getType() == Stats.BLOCK_MINED && stat.getValue() instanceof Block b) item = schema.getItemOf(b);
+			else return;
+			final int id = (item != null) ? BuiltInRegistries.ITEM.getId(item) : -1;
+			if(id >= 0) nonEmpty.set(id);
+		});
+		
 		//create the result list
-		final var result = new ArrayList<SUItemStat>();
+		final var result = new ArrayList<SUItemStat>(includeEmpty ? BuiltInRegistries.ITEM.size() : nonEmpty.cardinality());
 		
-		//iterate and group all items
-		for(final Item itemReg : BuiltInRegistries.ITEM)
+		//iterate all items, or only the ones that have stats, in the order of their raw ids
+		if(includeEmpty) for(final Item itemReg : BuiltInRegistries.ITEM)
 		{
-			//create item stat
-			final var itemStat = new SUItemStat(statsProvider, itemReg);
+			//create item stat, only looking up the values of items that have stats
+			final var itemStat = new SUItemStat(statsProvider, itemReg, nonEmpty.get(BuiltInRegistries.ITEM.getId(itemReg)));
 			
-			//filter
-			if(filter != null && !filter.test(itemStat))
-				continue;
+			//filter, and add to the list
+			if(filter == null || filter.test(itemStat)) result.add(itemStat);
+		}
+		else for(int id = nonEmpty.nextSetBit(0); id >= 0; id = nonEmpty.nextSetBit(id + 1))
+		{
+			//create item stat
+			final var itemStat = new SUItemStat(statsProvider, BuiltInRegistries.ITEM.byId(id));
 			
-			//add to the list
+			//filter, and add to the list
+			if(itemStat.isEmpty || (filter != null && !filter.test(itemStat))) continue;
 			result.add(itemStat);
 		}
 		
@@ -142,6 +195,20 @@ public final class SUItemStat extends SUStat<Item>
 	 */
 	public static Map<String, List<SUItemStat>> getItemStatsByModGroups
 	(IStatsProvider statsProvider, @Nullable Predicate<SUItemStat> filter)
+	{
+		return getItemStatsByModGroups(statsProvider, filter, true);
+	}
+	
+	/**
+	 * Obtains all {@link Item} {@link Stat}s in form of {@link SUItemStat}, grouped
+	 * into "mod groups" using a {@link Map}. The {@link Map} keys represent "mod IDs".
+	 * @param statsProvider The {@link IStatsProvider}.
+	 * @param filter Optional. A {@link Predicate} used to filter out any unwanted {@link SUItemStat}s.
+	 * @param includeEmpty Whether to include {@link SUItemStat}s that are {@link #isEmpty()}.
+	 * @see #getItemStats(IStatsProvider, Predicate, boolean)
+	 */
+	public static Map<String, List<SUItemStat>> getItemStatsByModGroups
+	(IStatsProvider statsProvider, @Nullable Predicate<SUItemStat> filter, boolean includeEmpty)
 	{
 		//create the result map
 		final var result = new LinkedHashMap<String, List<SUItemStat>>();
@@ -151,7 +218,7 @@ public final class SUItemStat extends SUStat<Item>
 		result.put(mcModId, new ArrayList<>());
 		
 		//iterate all items and add them to the map
-		for(final SUItemStat itemStat : getItemStats(statsProvider, filter))
+		for(final SUItemStat itemStat : getItemStats(statsProvider, filter, includeEmpty))
 		{
 			//---------- group the item
 			//obtain mod id
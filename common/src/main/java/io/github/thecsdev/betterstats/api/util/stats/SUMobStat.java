@@ -4,6 +4,7 @@ import static io.github.thecsdev.tcdcommons.api.util.TextUtils.fTranslatable;
 import static io.github.thecsdev.tcdcommons.api.util.TextUtils.literal;
 
 import java.util.ArrayList;
+import java.util.BitSet;
 import java.util.Collection;
 import java.util.LinkedHashMap;
 import java.util.List;
@@ -31,13 +32,19 @@ public final class SUMobStat extends SUStat<EntityType<?>>
 	// --------------------------------------------------
 	public final int kills, deaths;
 	// ==================================================
-	public SUMobStat(IStatsProvider statsProvider, EntityType<?> entityType)
+	public SUMobStat(IStatsProvider statsProvider, EntityType<?> entityType) { this(statsProvider, entityType, true); }
+	
+	/**
+	 * @param lookup Whether to look up the values. When {@code false}, the values are all
+	 * {@code 0}, which saves the lookups for {@link EntityType}s that are known to have no statistics.
+	 */
+	private SUMobStat(IStatsProvider statsProvider, EntityType<?> entityType, boolean lookup)
 	{
 		super(statsProvider, BuiltInRegistries.ENTITY_TYPE.getKey(Objects.requireNonNull(entityType)), getMobStatText(entityType));
 		this.entityType = entityType;
 		
-		this.kills = statsProvider.getStatValue(Stats.ENTITY_KILLED, entityType);
-		this.deaths = statsProvider.getStatValue(Stats.ENTITY_KILLED_BY, entityType);
+		this.kills = lookup ? statsProvider.getStatValue(Stats.ENTITY_KILLED, entityType) : 0;
+		this.deaths = lookup ? statsProvider.getStatValue(Stats.ENTITY_KILLED_BY, entityType) : 0;
 		this.isEmpty = (this.kills == 0 && this.deaths == 0);
 	}
 	// ==================================================
@@ -61,20 +68,51 @@ public final class SUMobStat extends SUStat<EntityType<?>>
 	public static List<SUMobStat> getMobStats
 	(IStatsProvider statsProvider, @Nullable Predicate<SUMobStat> filter)
 	{
+		return getMobStats(statsProvider, filter, true);
+	}
+	
+	/**
+	 * Obtains all "mob" {@link Stat}s, in form of {@link SUMobStat}.
+	 * <p>
+	 * The {@link EntityType}s that have statistics are found by walking the {@link IStatsProvider}'s
+	 * non-zero {@link Stat}s, so when empty {@link SUMobStat}s are excluded, only the
+	 * {@link EntityType}s that have statistics are ever visited. When they are included,
+	 * the empty ones are created without looking up their values.
+	 * @param statsProvider The {@link IStatsProvider}.
+	 * @param filter Optional. A {@link Predicate} used to filter out any unwanted {@link SUMobStat}s.
+	 * @param includeEmpty Whether to include {@link SUMobStat}s that are {@link #isEmpty()}.
+	 */
+	public static List<SUMobStat> getMobStats
+	(IStatsProvider statsProvider, @Nullable Predicate<SUMobStat> filter, boolean includeEmpty)
+	{
+		//find the raw ids of entity types that have stats
+		final var nonEmpty = new BitSet(BuiltInRegistries.ENTITY_TYPE.size());
+		statsProvider.forEachNonZeroStat((stat, value) ->
+		{
+			if(!(stat.getValue() instanceof EntityType<?> entityType)) return;
+			final int id = BuiltInRegistries.ENTITY_TYPE.getId(entityType);
+			if(id >= 0) nonEmpty.set(id);
+		});
+		
 		//create the result list
-		final var result = new ArrayList<SUMobStat>();
+		final var result = new ArrayList<SUMobStat>(includeEmpty ? BuiltInRegistries.ENTITY_TYPE.size() : nonEmpty.cardinality());
 		
-		//iterate all entity types
-		for(final EntityType<?> entityType : BuiltInRegistries.ENTITY_TYPE)
+		//iterate all entity types, or only the ones that have stats, in the order of their raw ids
+		if(includeEmpty) for(final EntityType<?> entityType : BuiltInRegistries.ENTITY_TYPE)
 		{
-			//create the mob stat
-			final var mobStat = new SUMobStat(statsProvider, entityType);
+			//create the mob stat, only looking up the values of entity types that have stats
+			final var mobStat = new SUMobStat(statsProvider, entityType, nonEmpty.get(BuiltInRegistries.ENTITY_TYPE.getId(entityType)));
 			
-			//filter
-			if(filter != null && !filter.test(mobStat))
-				continue;
+			//filter, and add to the list
+			if(filter == null || filter.test(mobStat)) result.add(mobStat);
+		}
+		else for(int id = nonEmpty.nextSetBit(0); id >= 0; id = nonEmpty.nextSetBit(id + 1))
+		{
+			//create the mob stat
+			final var mobStat = new SUMobStat(statsProvider, BuiltInRegistries.ENTITY_TYPE.byId(id));
 			
-			//add to the list
+			//filter, and add to the list
+			if(mobStat.isEmpty || (filter != null && !filter.test(mobStat))) continue;
 			result.add(mobStat);
 		}
 		
@@ -90,6 +128,20 @@ public final class SUMobStat extends SUStat<EntityType<?>>
 	 */
 	public static Map<String, List<SUMobStat>> getMobStatsByModGroups
 	(IStatsProvider statsProvider, @Nullable Predicate<SUMobStat> filter)
+	{
+		return getMobStatsByModGroups(statsProvider, filter, true);
+	}
+	
+	/**
+	 * Obtains all "mob" {@link Stat}s, in form of {@link SUMobStat}, grouped
+	 * into "mod groups" using a {@link Map}. The {@link Map} keys represent "mod IDs".
+	 * @param statsProvider The {@link IStatsProvider}.
+	 * @param filter Optional. A {@link Predicate} used to filter out any unwanted {@link SUMobStat}s.
+	 * @param includeEmpty Whether to include {@link SUMobStat}s that are {@link #isEmpty()}.
+	 * @see #getMobStats(IStatsProvider, Predicate, boolean)
+	 */
+	public static Map<String, List<SUMobStat>> getMobStatsByModGroups
+	(IStatsProvider statsProvider, @Nullable Predicate<SUMobStat> filter, boolean includeEmpty)
 	{
 		//create a new list
 		final var result = new LinkedHashMap<String, List<SUMobStat>>();
@@ -99,7 +151,7 @@ public final class SUMobStat extends SUStat<EntityType<?>>
 		result.put(mcModId, Lists.newArrayList());
 		
 		//iterate all mob stats and add them to the map
-		for(final SUMobStat mobStat : getMobStats(statsProvider, filter))
+		for(final SUMobStat mobStat : getMobStats(statsProvider, filter, includeEmpty))
 		{
 			//---------- group the mob
 			//obtain mod id
@@ -43,10 +43,7 @@ public final class SUPlayerBadgeStat extends SUStat<PlayerBadge>
 		//       Using `BetterStats.isClient()` before calling client code, to avoid issues.
 		int clientSideAward = 0;
 		if(BetterStats.isClient() && playerBadge instanceof BSClientPlayerBadge)
-		{
-			final var statCrit = ((BSClientPlayerBadge)playerBadge).getStatCriteria();
-			clientSideAward = (statCrit != null) ? statCrit.apply(statsProvider) : 0;
-		}
+			clientSideAward = ((BSClientPlayerBadge)playerBadge).evaluateStatCriteria(statsProvider);
 		
 		this.value = statsProvider.getPlayerBadgeValue(getStatID()) + clientSideAward;
 		this.isEmpty = (this.value == 0);
@@ -1,6 +1,9 @@
 package io.github.thecsdev.betterstats.api.util.stats;
 
+import java.util.Map;
 import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import net.minecraft.locale.Language;
 import net.minecraft.network.chat.Component;
 import net.minecraft.resources.ResourceLocation;
 import net.minecraft.stats.Stat;
@@ -9,9 +12,9 @@ import net.minecraft.world.entity.EntityType;
 import net.minecraft.world.item.Item;
 import org.apache.commons.lang3.StringUtils;
 import org.jetbrains.annotations.ApiStatus.Internal;
+import org.jetbrains.annotations.Nullable;
 
 import io.github.thecsdev.betterstats.api.util.io.IStatsProvider;
-import io.github.thecsdev.tcdcommons.api.util.annotations.Virtual;
 
 /**
  * A "Stat utils stat".<p>
@@ -25,10 +28,20 @@ public abstract @Internal class SUStat<T> extends Object
 	// ==================================================
 	public static final ResourceLocation ID_NULL = ResourceLocation.parse("null");
 	// --------------------------------------------------
+	/**
+	 * Normalized "search query" helpers, shared by all {@link SUStat}s, so that they're computed
+	 * once per label and ID, rather than once per {@link SUStat}. Labels depend on the current
+	 * {@link Language}, so their cache is cleared whenever the {@link Language} changes.
+	 */
+	private static final Map<Component, String> LABEL_SQ_CACHE = new ConcurrentHashMap<>();
+	private static final Map<ResourceLocation, String> ID_SQ_CACHE = new ConcurrentHashMap<>();
+	private static volatile @Nullable Language LABEL_SQ_LANGUAGE;
+	// --------------------------------------------------
 	protected final IStatsProvider statsProvider;
 	protected final ResourceLocation statId;
 	protected final Component statLabel;
 	protected final String statLabelSQ, statIdSQ; //"search query" helpers
+	volatile @Nullable StatSearchIndex.Documents searchDocuments; //assigned lazily, by the StatSearchIndex
 	// ==================================================
 	protected SUStat(IStatsProvider statsProvider, ResourceLocation statId, Component statLabel) throws NullPointerException
 	{
@@ -36,8 +49,8 @@ public abstract @Internal class SUStat<T> extends Object
 		this.statId = Objects.requireNonNull(statId);
 		this.statLabel = Objects.requireNonNull(statLabel);
 		
-		this.statLabelSQ = this.statLabel.getString().toLowerCase().replaceAll("\\s+","");
-		this.statIdSQ = Objects.toString(statId);
+		this.statLabelSQ = getLabelSQ(this.statLabel);
+		this.statIdSQ = ID_SQ_CACHE.computeIfAbsent(statId, Objects::toString);
 	}
 	// ==================================================
 	/**
@@ -64,10 +77,53 @@ public abstract @Internal class SUStat<T> extends Object
 	 * @param search The search query being performed.
 	 * @see #getStatLabel()
 	 */
-	public @Virtual boolean matchesSearchQuery(String search)
+	public final boolean matchesSearchQuery(String search)
+	{
+		return matchesNormalizedSearchQuery(normalizeSearchQuery(search));
+	}
+	
+	/**
+	 * Same as {@link #matchesSearchQuery(String)}, but for a search query that was already
+	 * normalized using {@link #normalizeSearchQuery(String)}. When matching the same
+	 * search query against many {@link SUStat}s, use {@link StatSearchIndex} instead.
+	 * @param normalizedSearch The normalized search query being performed.
+	 */
+	public final boolean matchesNormalizedSearchQuery(String normalizedSearch)
+	{
+		return this.statLabelSQ.contains(normalizedSearch) || this.statIdSQ.contains(normalizedSearch);
+	}
+	// --------------------------------------------------
+	/**
+	 * Normalizes a "search query", by turning it lower-case and removing all whitespace from it.
+	 * @param search The search query. {@code null} is treated as an empty search query.
+	 */
+	public static final String normalizeSearchQuery(@Nullable String search)
+	{
+		search = StringUtils.defaultString(search).toLowerCase();
+		final var result = new StringBuilder(search.length());
+		for(int i = 0; i < search.length(); i++)
+		{
+			//same characters as the "\s" regex
+			final char c = search.charAt(i);
+			if(c == ' ' || c == '\t' || c == '\n' || c == '\u000B' || c == '\f' || c == '\r') continue;
+			result.append(c);
+		}
+		return result.toString();
+	}
+	
+	/**
+	 * Returns the normalized "search query" helper for a given label, computing it only
+	 * if it isn't cached for the current {@link Language}.
+	 */
+	private static final String getLabelSQ(Component label)
 	{
-		search = StringUtils.defaultString(search).toLowerCase().replaceAll("\\s+","");
-		return this.statLabelSQ.contains(search) || this.statIdSQ.contains(search);
+		final var language = Language.getInstance();
+		if(LABEL_SQ_LANGUAGE != language)
+		{
+			LABEL_SQ_CACHE.clear();
+			LABEL_SQ_LANGUAGE = language;
+		}
+		return LABEL_SQ_CACHE.computeIfAbsent(label, l -> normalizeSearchQuery(l.getString()));
 	}
 	// ==================================================
 	/**
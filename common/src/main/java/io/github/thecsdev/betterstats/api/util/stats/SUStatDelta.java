@@ -0,0 +1,145 @@
+package io.github.thecsdev.betterstats.api.util.stats;
+
+import static io.github.thecsdev.tcdcommons.api.util.TextUtils.fLiteral;
+import static io.github.thecsdev.tcdcommons.api.util.TextUtils.literal;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.function.Predicate;
+import net.minecraft.network.chat.Component;
+import net.minecraft.resources.ResourceLocation;
+import net.minecraft.stats.Stat;
+import net.minecraft.stats.StatType;
+import net.minecraft.stats.Stats;
+import net.minecraft.world.entity.EntityType;
+import net.minecraft.world.item.Item;
+import net.minecraft.world.level.block.Block;
+import org.jetbrains.annotations.Nullable;
+
+import io.github.thecsdev.betterstats.api.util.io.IStatsProvider;
+import io.github.thecsdev.betterstats.api.util.io.StatSchema;
+import io.github.thecsdev.betterstats.api.util.io.StatsDiff;
+
+/**
+ * Represents the difference between the values of a single {@link Stat}
+ * in two {@link IStatsProvider}s, as computed by a {@link StatsDiff}.
+ * <p>
+ * Unlike {@link SUItemStat} and {@link SUMobStat}, which are created for every registry
+ * item, {@link SUStatDelta}s are only ever created for the {@link Stat}s whose values differ.
+ */
+public final class SUStatDelta extends SUStat<Stat<?>>
+{
+	// ==================================================
+	private final Stat<?> stat;
+	private final int schemaId; //used for the "default" order, -1 when none
+	
+	/**
+	 * The {@link Stat}'s value in the {@link IStatsProvider} that is being compared.
+	 */
+	public final int oldValue;
+	
+	/**
+	 * The {@link Stat}'s value in the {@link IStatsProvider} it is being compared against.
+	 */
+	public final int newValue;
+	
+	/**
+	 * The difference between the {@link #newValue} and the {@link #oldValue}.
+	 */
+	public final int delta;
+	
+	/**
+	 * The formatted {@link Component}ual user-friendly versions of the values.
+	 * @see Stat#format(int)
+	 */
+	public final Component oldValueText, newValueText, deltaText;
+	// ==================================================
+	public SUStatDelta(IStatsProvider statsProvider, Stat<?> stat, int oldValue, int newValue) throws NullPointerException
+	{
+		super(statsProvider, id(stat), getStatDeltaText(stat));
+		this.stat = stat;
+		this.schemaId = StatSchema.get().idOf(stat);
+		this.oldValue = oldValue;
+		this.newValue = newValue;
+		this.delta = (int)Math.max(Integer.MIN_VALUE + 1, Math.min((long)newValue - oldValue, Integer.MAX_VALUE));
+		
+		this.oldValueText = fLiteral(stat.format(oldValue));
+		this.newValueText = fLiteral(stat.format(newValue));
+		if(this.delta > 0) this.deltaText = fLiteral("§a+" + stat.format(this.delta));
+		else if(this.delta < 0) this.deltaText = fLiteral("§c-" + stat.format(-this.delta));
+		else this.deltaText = fLiteral(stat.format(0));
+	}
+	// --------------------------------------------------
+	private static final ResourceLocation id(Stat<?> stat)
+	{
+		//the schema knows the ids of all registered stats, so the registries needn't be looked up
+		final var schema = StatSchema.get();
+		return Optional.ofNullable(schema.entryIdOf(schema.idOf(stat))).orElse(ID_NULL);
+	}
+	// ==================================================
+	/**
+	 * Returns the {@link Stat} that corresponds with this {@link SUStatDelta}.
+	 */
+	public final Stat<?> getStat() { return this.stat; }
+	
+	/**
+	 * Returns the {@link StatType} of the {@link Stat} that corresponds with this {@link SUStatDelta}.
+	 */
+	public final StatType<?> getStatType() { return this.stat.getType(); }
+	// --------------------------------------------------
+	public final @Override boolean isEmpty() { return this.delta == 0; }
+	// ==================================================
+	/**
+	 * Returns the {@link Component} that should correspond to a given {@link Stat},
+	 * which is the name of its registry item, followed by the name of its {@link StatType}.
+	 * The {@link StatType} name is omitted for "general" {@link Stat}s.
+	 * @param stat The {@link Stat}.
+	 */
+	@SuppressWarnings("unchecked")
+	public static Component getStatDeltaText(Stat<?> stat) throws NullPointerException
+	{
+		final Object value = stat.getValue();
+		if(stat.getType() == Stats.CUSTOM && value instanceof ResourceLocation)
+			return SUGeneralStat.getGeneralStatText((Stat<ResourceLocation>)stat);
+		
+		final Component name;
+		if(value instanceof Item item) name = SUItemStat.getItemStatText(item);
+		else if(value instanceof Block block) name = block.getName();
+		else if(value instanceof EntityType<?> entityType) name = SUMobStat.getMobStatText(entityType);
+		else name = literal(Objects.toString(id(stat)));
+		return literal("").append(name).append(" - ").append(stat.getType().getDisplayName());
+	}
+	// ==================================================
+	/**
+	 * Obtains a list of {@link SUStatDelta}s, one for each {@link Stat} whose value differs,
+	 * in the order of their {@link StatSchema} IDs.
+	 * @param statsProvider The {@link IStatsProvider} that is being compared.
+	 * @param diff The {@link StatsDiff} between said {@link IStatsProvider} and the one it is compared against.
+	 * @param filter Optional. A {@link Predicate} used to filter out any unwanted {@link SUStatDelta}s.
+	 * @throws NullPointerException If a non-{@link Nullable} argument is {@code null}.
+	 * @see StatsDiff#of(IStatsProvider, IStatsProvider)
+	 */
+	public static List<SUStatDelta> getStatDeltas
+	(IStatsProvider statsProvider, StatsDiff diff, @Nullable Predicate<SUStatDelta> filter) throws NullPointerException
+	{
+		//null checks
+		Objects.requireNonNull(statsProvider);
+		Objects.requireNonNull(diff);
+		
+		//create a stat delta for each changed stat
+		final var result = new ArrayList<SUStatDelta>(diff.getChangedStats().size());
+		diff.forEachStatDelta((stat, oldValue, newValue) ->
+		{
+			final var statDelta = new SUStatDelta(statsProvider, stat, oldValue, newValue);
+			if(filter == null || filter.test(statDelta)) result.add(statDelta);
+		});
+		
+		//sort them in the "default" order, with unindexed stats at the end
+		result.sort(Comparator.comparingInt(statDelta -> (statDelta.schemaId >= 0) ? statDelta.schemaId : Integer.MAX_VALUE));
+		return result;
+	}
+	// ==================================================
+}
\ No newline at end of file
@@ -0,0 +1,232 @@
+package io.github.thecsdev.betterstats.api.util.stats;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Objects;
+import net.minecraft.locale.Language;
+import org.jetbrains.annotations.Nullable;
+
+import it.unimi.dsi.fastutil.ints.IntArrayList;
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
+import it.unimi.dsi.fastutil.objects.Object2IntOpenHashMap;
+
+/**
+ * A trigram index over the normalized "search query" helpers of all {@link SUStat}s,
+ * meaning their labels and IDs, that speeds up matching a search query against them.
+ * <p>
+ * Each distinct normalized label or ID is a document, that is indexed once, the first time an
+ * {@link SUStat} with it is matched against a non-empty search query, so creating {@link SUStat}s
+ * never touches the index, and neither does browsing without searching.
+ * <p>
+ * Once its documents are indexed, a search only checks the documents that contain the search
+ * query's rarest trigram, and narrowing the previous search query, such as when the user types
+ * another character, only checks the documents that matched the previous search query.
+ * The first search after the index is built or rebuilt does not benefit from this however, as
+ * the documents it is matched against are only indexed while it is being matched, so it falls
+ * back to checking each {@link SUStat} directly, see {@link SUStat#matchesNormalizedSearchQuery(String)}.
+ * <p>
+ * Labels depend on the current {@link Language}, so the index is discarded and rebuilt
+ * whenever the {@link Language} changes.
+ * @apiNote Thread-safe.
+ * @see SUStat#normalizeSearchQuery(String)
+ */
+public final class StatSearchIndex extends Object
+{
+	// ==================================================
+	private static final StatSearchIndex INSTANCE = new StatSearchIndex();
+	// --------------------------------------------------
+	private @Nullable Language language;
+	private int generation = 0; //incremented every time the index is discarded
+	// --------------------------------------------------
+	private final ArrayList<String> documents = new ArrayList<>();
+	private final Object2IntOpenHashMap<String> documentIds = new Object2IntOpenHashMap<>();
+	private final Long2ObjectOpenHashMap<IntArrayList> trigrams = new Long2ObjectOpenHashMap<>(); //ascending document ids
+	// --------------------------------------------------
+	private @Nullable Result lastResult;
+	// ==================================================
+	private StatSearchIndex() { this.documentIds.defaultReturnValue(-1); }
+	// --------------------------------------------------
+	/**
+	 * Returns the {@link StatSearchIndex}.
+	 */
+	public static final StatSearchIndex get() { return INSTANCE; }
+	// ==================================================
+	/**
+	 * Returns the number of times the index was discarded. Document IDs are only valid for
+	 * as long as this value doesn't change.
+	 */
+	public final synchronized int getGeneration() { checkLanguage(); return this.generation; }
+	
+	/**
+	 * Returns the ID of the document for a given normalized label or ID, indexing it if it isn't indexed yet.
+	 * @param normalized The normalized label or ID.
+	 * @throws NullPointerException If the argument is {@code null}.
+	 * @see #getGeneration()
+	 */
+	public final synchronized int getDocumentId(String normalized) throws NullPointerException
+	{
+		Objects.requireNonNull(normalized);
+		checkLanguage();
+		
+		//return the existing document, if any
+		int id = this.documentIds.getInt(normalized);
+		if(id >= 0) return id;
+		
+		//add the new document, and index its trigrams
+		id = this.documents.size();
+		this.documents.add(normalized);
+		this.documentIds.put(normalized, id);
+		for(int i = 0; i + 3 <= normalized.length(); i++)
+		{
+			final var postings = this.trigrams.computeIfAbsent(trigram(normalized, i), __ -> new IntArrayList());
+			if(postings.isEmpty() || postings.getInt(postings.size() - 1) != id) postings.add(id);
+		}
+		return id;
+	}
+	
+	/**
+	 * Returns the {@link Documents} of an {@link SUStat}'s label and ID, indexing them if
+	 * they aren't indexed yet, or if they were indexed before the index was last discarded.
+	 */
+	final synchronized Documents getDocuments(SUStat<?> stat)
+	{
+		checkLanguage();
+		final @Nullable var documents = stat.searchDocuments;
+		if(documents != null && documents.generation == this.generation) return documents;
+		return stat.searchDocuments = new Documents(
+				getDocumentId(stat.statLabelSQ), getDocumentId(stat.statIdSQ), this.generation);
+	}
+	// --------------------------------------------------
+	/**
+	 * Searches for the documents that contain a given normalized search query.
+	 * @param normalizedSearch The normalized search query.
+	 * @throws NullPointerException If the argument is {@code null}.
+	 * @see SUStat#normalizeSearchQuery(String)
+	 */
+	public final synchronized Result search(String normalizedSearch) throws NullPointerException
+	{
+		Objects.requireNonNull(normalizedSearch);
+		checkLanguage();
+		
+		//an empty search query matches everything
+		final int documentCount = this.documents.size();
+		if(normalizedSearch.isEmpty())
+			return new Result(normalizedSearch, null, documentCount, this.generation);
+		
+		//the same search query yields the same result, unless new documents were added since
+		final @Nullable var last = this.lastResult;
+		if(last != null && last.generation == this.generation && last.documentCount == documentCount &&
+				last.query.equals(normalizedSearch))
+			return last;
+		
+		//obtain the candidate documents, which is either the result of the previous search query,
+		//if this search query narrows it down, or the documents that contain the rarest trigram
+		final var candidates = new BitSet(documentCount);
+		if(last != null && last.generation == this.generation && last.documents != null && normalizedSearch.contains(last.query))
+		{
+			candidates.or(last.documents);
+			candidates.set(last.documentCount, documentCount); //documents added since
+		}
+		else if(normalizedSearch.length() >= 3)
+		{
+			@Nullable IntArrayList rarest = null;
+			for(int i = 0; i + 3 <= normalizedSearch.length(); i++)
+			{
+				final @Nullable var postings = this.trigrams.get(trigram(normalizedSearch, i));
+				if(postings == null) { rarest = new IntArrayList(); break; }
+				if(rarest == null || postings.size() < rarest.size()) rarest = postings;
+			}
+			for(int i = 0; i < rarest.size(); i++) candidates.set(rarest.getInt(i));
+		}
+		else candidates.set(0, documentCount);
+		
+		//keep the candidates that actually contain the search query
+		for(int id = candidates.nextSetBit(0); id >= 0; id = candidates.nextSetBit(id + 1))
+			if(!this.documents.get(id).contains(normalizedSearch))
+				candidates.clear(id);
+		return this.lastResult = new Result(normalizedSearch, candidates, documentCount, this.generation);
+	}
+	// --------------------------------------------------
+	/**
+	 * Discards the index if the {@link Language} changed since it was built.
+	 */
+	private final void checkLanguage()
+	{
+		final var language = Language.getInstance();
+		if(this.language == language) return;
+		this.language = language;
+		this.generation++;
+		this.documents.clear();
+		this.documentIds.clear();
+		this.trigrams.clear();
+		this.lastResult = null;
+	}
+	
+	private static final long trigram(String s, int index)
+	{
+		return ((long)s.charAt(index) << 32) | ((long)s.charAt(index + 1) << 16) | s.charAt(index + 2);
+	}
+	// ==================================================
+	/**
+	 * The result of a {@link StatSearchIndex#search(String)}.
+	 * @apiNote Immutable.
+	 */
+	public static final class Result
+	{
+		private final String query;
+		private final @Nullable BitSet documents; //null when everything matches
+		private final int documentCount, generation;
+		
+		private Result(String query, @Nullable BitSet documents, int documentCount, int generation)
+		{
+			this.query = query;
+			this.documents = documents;
+			this.documentCount = documentCount;
+			this.generation = generation;
+		}
+		
+		/**
+		 * Returns the normalized search query.
+		 */
+		public final String getQuery() { return this.query; }
+		
+		/**
+		 * Returns {@code true} if an {@link SUStat}'s label or ID contains the search query.
+		 * @param stat The {@link SUStat}.
+		 * @see SUStat#matchesNormalizedSearchQuery(String)
+		 */
+		public final boolean matches(SUStat<?> stat)
+		{
+			if(this.documents == null) return true;
+			
+			//index the stat's documents on first use, unless they're already indexed
+			@Nullable var documents = stat.searchDocuments;
+			if(documents == null || documents.generation != this.generation)
+				documents = StatSearchIndex.get().getDocuments(stat);
+			
+			//the stat's documents may have been indexed after this search was performed,
+			//or after the index was discarded, in which case the result doesn't know them
+			if(documents.generation != this.generation ||
+					documents.labelId >= this.documentCount || documents.idId >= this.documentCount)
+				return stat.matchesNormalizedSearchQuery(this.query);
+			return this.documents.get(documents.labelId) || this.documents.get(documents.idId);
+		}
+	}
+	
+	/**
+	 * The IDs of the documents of an {@link SUStat}'s label and ID, along
+	 * with the {@link StatSearchIndex#getGeneration()} they are valid for.
+	 * @apiNote Immutable.
+	 */
+	static final class Documents
+	{
+		final int labelId, idId, generation;
+		Documents(int labelId, int idId, int generation)
+		{
+			this.labelId = labelId;
+			this.idId = idId;
+			this.generation = generation;
+		}
+	}
+	// ==================================================
+}
\ No newline at end of file
@@ -7,6 +7,7 @@ import io.github.thecsdev.betterstats.api.client.gui.screen.BetterStatsScreen;
 import io.github.thecsdev.betterstats.api.client.registry.BSClientPlayerBadges;
 import io.github.thecsdev.betterstats.api.client.registry.BSStatsTabs;
 import io.github.thecsdev.betterstats.api.util.BSUtils;
+import io.github.thecsdev.betterstats.api.util.io.StatSchema;
 import io.github.thecsdev.betterstats.util.BST;
 import io.github.thecsdev.tcdcommons.api.client.gui.util.GuiUtils;
 import io.github.thecsdev.tcdcommons.api.events.client.MinecraftClientEvent;
@@ -79,6 +80,10 @@ public final class BetterStatsClient extends BetterStats
 		});
 		
 		// ---------- Performance optimizations
+		//create the stat schema on the main thread, before any async task gets to need it.
+		//screens are only ever set once the game is done loading, and its registries are frozen
+		MinecraftClientEvent.SET_SCREEN_POST.register(__ -> StatSchema.init());
+		
 		//update the "Item to Group" map whenever item groups update
 		ItemGroupEvent.UPDATE_DISPLAY_CONTEXT.register((a, b, c) -> BSUtils.updateITG());
 		
@@ -52,6 +52,7 @@ import io.github.thecsdev.tcdcommons.api.util.io.cache.IResourceFetchTask;
 import io.github.thecsdev.tcdcommons.api.util.math.Tuple2;
 import io.netty.buffer.ByteBufInputStream;
 import io.netty.buffer.ByteBufOutputStream;
+import io.netty.buffer.PooledByteBufAllocator;
 import io.netty.buffer.Unpooled;
 
 public final class QuickShareUploadScreen extends QuickShareScreen
@@ -70,7 +71,8 @@ public final class QuickShareUploadScreen extends QuickShareScreen
 			throws NullPointerException
 	{
 		super(parent, BST.gui_qsscreen_upload_title());
-		this.stats = Objects.requireNonNull(stats);
+		//the statistics are exported on a background thread, so a snapshot is used
+		this.stats = Objects.requireNonNull(stats).snapshot();
 	}
 	// ==================================================
 	protected final @Override void init()
@@ -372,10 +374,9 @@ public final class QuickShareUploadScreen extends QuickShareScreen
 		byte[] compressed = null;
 		
 		//obtain the raw statistics
-		final var rawBuffer = new FriendlyByteBuf(Unpooled.buffer());
+		final var rawBuffer = StatsProviderIO.write(PooledByteBufAllocator.DEFAULT, this.stats);
 		try
 		{
-			StatsProviderIO.write(rawBuffer, this.stats);
 			raw = new byte[rawBuffer.readableBytes()];
 			rawBuffer.readBytes(raw);
 		}
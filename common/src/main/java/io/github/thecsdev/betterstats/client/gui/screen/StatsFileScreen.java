@@ -0,0 +1,178 @@
+package io.github.thecsdev.betterstats.client.gui.screen;
+
+import static io.github.thecsdev.betterstats.BetterStats.LOGGER;
+import static io.github.thecsdev.betterstats.client.BetterStatsClient.MC_CLIENT;
+import static io.github.thecsdev.tcdcommons.api.client.gui.panel.TPanelElement.COLOR_BACKGROUND;
+import static io.github.thecsdev.tcdcommons.api.util.TextUtils.literal;
+
+import java.io.File;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import net.minecraft.Util;
+import net.minecraft.client.gui.screens.Screen;
+import net.minecraft.network.chat.Component;
+import org.jetbrains.annotations.ApiStatus.Internal;
+import org.jetbrains.annotations.Nullable;
+
+import io.github.thecsdev.betterstats.api.client.gui.screen.BetterStatsScreen;
+import io.github.thecsdev.betterstats.api.util.io.IStatsProvider;
+import io.github.thecsdev.betterstats.api.util.io.StatsProviderIO;
+import io.github.thecsdev.betterstats.util.BST;
+import io.github.thecsdev.tcdcommons.api.client.gui.layout.UIListLayout;
+import io.github.thecsdev.tcdcommons.api.client.gui.other.TLabelElement;
+import io.github.thecsdev.tcdcommons.api.client.gui.panel.TStackTracePanel;
+import io.github.thecsdev.tcdcommons.api.client.gui.screen.TScreenPlus;
+import io.github.thecsdev.tcdcommons.api.client.gui.util.TDrawContext;
+import io.github.thecsdev.tcdcommons.api.client.util.interfaces.IParentScreenProvider;
+import io.github.thecsdev.tcdcommons.api.util.enumerations.Axis2D;
+import io.github.thecsdev.tcdcommons.api.util.enumerations.HorizontalAlignment;
+import io.github.thecsdev.tcdcommons.api.util.enumerations.VerticalAlignment;
+
+/**
+ * A screen that loads or saves an {@link IStatsProvider} from or to a {@link File},
+ * on a background thread, while showing the progress of the operation.
+ * <p>
+ * The file IO, as well as the decoding and encoding of the data, never takes place on
+ * the render thread. The render thread only ever swaps in the finished {@link IStatsProvider}.
+ */
+public final class StatsFileScreen extends TScreenPlus implements IParentScreenProvider
+{
+	// ==================================================
+	private final @Nullable Screen bssParent, parent;
+	private final File file;
+	private final @Nullable IStatsProvider statsToSave; //is null when loading
+	// --------------------------------------------------
+	private @Internal volatile boolean   __started = false;
+	private @Internal volatile int       __stage   = 0;
+	private @Internal volatile Throwable __error   = null;
+	// ==================================================
+	private StatsFileScreen(@Nullable Screen bssParent, @Nullable Screen parent, File file, @Nullable IStatsProvider statsToSave)
+			throws NullPointerException
+	{
+		super(statsToSave != null ? BST.menu_file_saveAs() : BST.menu_file_open());
+		this.bssParent = bssParent;
+		this.parent = parent;
+		this.file = Objects.requireNonNull(file);
+		this.statsToSave = statsToSave;
+	}
+	
+	/**
+	 * Creates a {@link StatsFileScreen} that loads an {@link IStatsProvider} from a {@link File},
+	 * and then opens a {@link BetterStatsScreen} for the loaded {@link IStatsProvider}.
+	 * @param bssParent The parent {@link Screen} of the {@link BetterStatsScreen} that will be opened.
+	 * @param parent The parent {@link Screen} to return to if loading fails.
+	 * @param file The {@link File} to load.
+	 */
+	public static StatsFileScreen load(@Nullable Screen bssParent, @Nullable Screen parent, File file) throws NullPointerException
+	{
+		return new StatsFileScreen(bssParent, parent, file, null);
+	}
+	
+	/**
+	 * Creates a {@link StatsFileScreen} that saves an {@link IStatsProvider} to a {@link File},
+	 * and then returns to the parent {@link Screen}.
+	 * @param parent The parent {@link Screen}.
+	 * @param file The {@link File} to save to.
+	 * @param stats The {@link IStatsProvider} to save.
+	 */
+	public static StatsFileScreen save(@Nullable Screen parent, File file, IStatsProvider stats) throws NullPointerException
+	{
+		//the statistics are written on a background thread, so a snapshot is used
+		return new StatsFileScreen(null, parent, file, Objects.requireNonNull(stats).snapshot());
+	}
+	// --------------------------------------------------
+	public final @Override Screen getParentScreen() { return this.parent; }
+	public final @Override void close() { MC_CLIENT.setScreen(getParentScreen()); }
+	// ==================================================
+	protected final @Override void init()
+	{
+		//start the operation
+		__start();
+		
+		//the primary label
+		final var lbl = new TLabelElement(0, 0, getWidth(), getHeight());
+		lbl.setTextHorizontalAlignment(HorizontalAlignment.CENTER);
+		lbl.setTextColor(0xffffff00);
+		addChild(lbl, false);
+		
+		//the primary label text
+		switch(this.__stage)
+		{
+			case -1:
+				removeChild(lbl, false);
+				int w = (int) ((float) this.getWidth() * 0.6F);
+				if (w < 300) w = 300; if (w > this.getWidth()) w = this.getWidth();
+				final var panel_st = new TStackTracePanel(0, 0, w, this.getHeight() - 50, this.__error);
+				panel_st.setCloseAction(() -> close());
+				panel_st.setTitle((this.statsToSave != null ? BST.gui_fscreen_save_stageN1() : BST.gui_fscreen_load_stageN1()).getString());
+				panel_st.setDescription(this.__error.getMessage());
+				addChild(panel_st, false);
+				new UIListLayout(Axis2D.Y, VerticalAlignment.CENTER, HorizontalAlignment.CENTER).apply(this);
+				break;
+			case 1:
+				final Component fileName = literal(this.file.getName());
+				lbl.setText(this.statsToSave != null ? BST.gui_fscreen_save_stage1(fileName) : BST.gui_fscreen_load_stage1(fileName));
+				break;
+			default: break;
+		}
+	}
+	// --------------------------------------------------
+	public final @Override void renderBackground(TDrawContext pencil)
+	{
+		super.renderBackground(pencil);
+		pencil.drawTFill(COLOR_BACKGROUND);
+	}
+	// ==================================================
+	private final void refresh() { MC_CLIENT.executeIfPossible(() -> { if(!isOpen()) return; clearChildren(); init(); }); }
+	// --------------------------------------------------
+	private @Internal void __start()
+	{
+		//prepare
+		if(this.__started) return;
+		this.__started = true;
+		this.__stage = 1;
+		//note: do not call `refresh()` here
+		
+		//perform the file IO on a background thread, and handle the outcome on the render thread
+		final var stats = this.statsToSave;
+		CompletableFuture.<IStatsProvider>supplyAsync(() ->
+		{
+			try
+			{
+				if(stats == null) return StatsProviderIO.loadFromFile(this.file);
+				StatsProviderIO.saveToFile(this.file, stats);
+				return stats;
+			}
+			catch(Exception exc) { throw new CompletionException(exc); }
+		}, Util.ioPool())
+		.whenComplete((result, error) -> MC_CLIENT.execute(() ->
+		{
+			if(error != null) __start_onError(error);
+			else __start_onDone(result);
+		}));
+	}
+	
+	private @Internal void __start_onError(Throwable error)
+	{
+		//unwrap the exception thrown by the background task
+		if(error instanceof CompletionException && error.getCause() != null)
+			error = error.getCause();
+		
+		this.__stage = -1;
+		this.__error = error;
+		LOGGER.error("Failed to " + (this.statsToSave != null ? "save" : "load") +
+				" statistics file " + this.file.getAbsolutePath(), error);
+		if(!isOpen()) return; //break the operation if the user closed the screen
+		refresh();
+	}
+	
+	private @Internal void __start_onDone(IStatsProvider stats)
+	{
+		this.__stage = 2;
+		if(!isOpen()) return; //break the operation if the user closed the screen
+		if(this.statsToSave != null) close();
+		else MC_CLIENT.setScreen(new BetterStatsScreen(this.bssParent, stats).getAsScreen());
+	}
+	// ==================================================
+}
\ No newline at end of file
@@ -20,6 +20,7 @@ import net.minecraft.sounds.SoundEvents;
 import org.jetbrains.annotations.Nullable;
 
 import io.github.thecsdev.betterstats.BetterStats;
+import io.github.thecsdev.betterstats.api.client.util.io.LocalPlayerStatsProvider;
 import io.github.thecsdev.betterstats.client.network.BetterStatsClientPlayNetworkHandler;
 import io.github.thecsdev.betterstats.util.BST;
 import io.github.thecsdev.tcdcommons.api.client.gui.screen.TScreenWrapper;
@@ -51,6 +52,8 @@ public final class BetterStatsHudScreen extends TWidgetHudScreen implements IPar
 	//
 	private float requestTimer = 0;
 	private final int requestDelay = 20 * 10;
+	//
+	private long localStatsVersion = -1; //the local player's stats version as of the last initialization
 	// ==================================================
 	private BetterStatsHudScreen() { super(TEXT_TITLE, HUD_SCREEN_ID); }
 	// --------------------------------------------------
@@ -109,8 +112,24 @@ public final class BetterStatsHudScreen extends TWidgetHudScreen implements IPar
 		}
 		
 		//initialize the 'super' gui afterwards
+		final var lpsp = LocalPlayerStatsProvider.getInstance();
+		this.localStatsVersion = (lpsp != null) ? lpsp.getVersion() : -1;
 		super.init();
 	}
+	
+	/**
+	 * Calls {@link #refresh()}, but only if the local player's statistics changed
+	 * since this screen was last initialized. Used when a statistics packet is received,
+	 * which happens every time the statistics are auto-requested, even if nothing changed.
+	 * @see LocalPlayerStatsProvider#getVersion()
+	 */
+	final void refreshIfChanged()
+	{
+		final var lpsp = LocalPlayerStatsProvider.getInstance();
+		final long version = (lpsp != null) ? lpsp.getVersion() : -1;
+		if(version != -1 && version == this.localStatsVersion) return;
+		refresh();
+	}
 	// --------------------------------------------------
 	public final @Override void render(TDrawContext pencil)
 	{
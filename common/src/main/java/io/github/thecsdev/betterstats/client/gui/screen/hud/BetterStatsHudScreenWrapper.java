@@ -10,6 +10,6 @@ import io.github.thecsdev.tcdcommons.api.client.util.interfaces.IStatsListener;
 	// ==================================================
 	public BetterStatsHudScreenWrapper(BetterStatsHudScreen target) { super(target); }
 	// --------------------------------------------------
-	public final @Override void onStatsReady() { this.target.refresh(); }
+	public final @Override void onStatsReady() { this.target.refreshIfChanged(); }
 	// ==================================================
 }
\ No newline at end of file
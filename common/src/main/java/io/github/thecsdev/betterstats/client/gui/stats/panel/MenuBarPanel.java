@@ -31,13 +31,13 @@ import io.github.thecsdev.betterstats.api.events.client.gui.BetterStatsGUIEvent;
 import io.github.thecsdev.betterstats.api.util.io.IEditableStatsProvider;
 import io.github.thecsdev.betterstats.api.util.io.IStatsProvider;
 import io.github.thecsdev.betterstats.api.util.io.StatsProviderIO;
+import io.github.thecsdev.betterstats.client.gui.screen.StatsFileScreen;
 import io.github.thecsdev.betterstats.client.gui.screen.hud.BetterStatsHudScreen;
 import io.github.thecsdev.betterstats.client.gui.stats.panel.impl.BetterStatsPanel.BetterStatsPanelProxy;
 import io.github.thecsdev.betterstats.util.BST;
 import io.github.thecsdev.tcdcommons.api.client.gui.other.TLabelElement;
 import io.github.thecsdev.tcdcommons.api.client.gui.panel.menu.TContextMenuPanel;
 import io.github.thecsdev.tcdcommons.api.client.gui.panel.menu.TMenuBarPanel;
-import io.github.thecsdev.tcdcommons.api.client.gui.screen.TStackTraceScreen;
 import io.github.thecsdev.tcdcommons.api.client.gui.screen.explorer.TFileChooserResult.ReturnValue;
 import io.github.thecsdev.tcdcommons.api.client.gui.screen.explorer.TFileChooserScreen;
 import io.github.thecsdev.tcdcommons.api.client.gui.util.GuiUtils;
@@ -98,14 +98,11 @@ public final class MenuBarPanel extends BSComponentPanel
 				{
 					if(result.getReturnValue() != ReturnValue.APPROVE_OPTION)
 						return;
-					try
-					{
-						//show the stats screen
-						final var stats = StatsProviderIO.loadFromFile(result.getSelectedFile());
-						final var parentScreen = GuiUtils.getCurrentScreenParent();
-						MC_CLIENT.setScreen(new BetterStatsScreen(parentScreen, stats).getAsScreen());
-					}
-					catch(Exception exc) { MC_CLIENT.setScreen(new TStackTraceScreen(MC_CLIENT.screen, exc).getAsScreen()); }
+					
+					//load the file in the background, and then show the stats screen
+					final var parentScreen = GuiUtils.getCurrentScreenParent();
+					final var fileScreen = StatsFileScreen.load(parentScreen, MC_CLIENT.screen, result.getSelectedFile());
+					MC_CLIENT.setScreen(fileScreen.getAsScreen());
 				});
 			});
 			//cMenu.addButton(translatable(tr + "menu_file.save"), null);
@@ -115,13 +112,11 @@ public final class MenuBarPanel extends BSComponentPanel
 				{
 					if(result.getReturnValue() != ReturnValue.APPROVE_OPTION)
 						return;
-					try
-					{
-						final var file = result.getSelectedFile();
-						final var stats = MenuBarPanel.this.proxy.getStatsProvider();
-						StatsProviderIO.saveToFile(file, stats);
-					}
-					catch(Exception exc) { MC_CLIENT.setScreen(new TStackTraceScreen(MC_CLIENT.screen, exc).getAsScreen()); }
+					
+					//save the file in the background, and then return to the current screen
+					final var file = result.getSelectedFile();
+					final var stats = MenuBarPanel.this.proxy.getStatsProvider();
+					MC_CLIENT.setScreen(StatsFileScreen.save(MC_CLIENT.screen, file, stats).getAsScreen());
 				});
 			});
 			cMenu.open();
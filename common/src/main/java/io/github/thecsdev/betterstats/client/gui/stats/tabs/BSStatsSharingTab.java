@@ -20,6 +20,7 @@ import io.github.thecsdev.betterstats.client.gui.screen.QuickShareDownloadScreen
 import io.github.thecsdev.betterstats.client.gui.screen.QuickShareUploadScreen;
 import io.github.thecsdev.betterstats.client.network.BetterStatsClientPlayNetworkHandler;
 import io.github.thecsdev.betterstats.util.BST;
+import io.github.thecsdev.betterstats.util.stats.ServerStatsTotals;
 import io.github.thecsdev.tcdcommons.api.client.gui.layout.UILayout;
 import io.github.thecsdev.tcdcommons.api.client.gui.other.TBlankElement;
 import io.github.thecsdev.tcdcommons.api.client.gui.other.TTextureElement;
@@ -130,6 +131,20 @@ public class BSStatsSharingTab extends StatsTab
 			});
 		});
 		panel.addChild(btn_submit, false);
+		
+		//the server-wide totals button
+		final var n2 = UILayout.nextChildVerticalRect(panel); n2.y += 3;
+		final var btn_totals = new TButtonWidget(n2.x, n2.y, n2.width, 20);
+		btn_totals.setText(BST.gui_tpsbs_ssps_serverTotals());
+		btn_totals.setTooltip(Tooltip.create(BST.gui_tpsbs_ssps_serverTotals_requirements()));
+		btn_totals.setEnabled(a && MC_CLIENT.player != null && MC_CLIENT.player.hasPermissions(2)); //operators only
+		btn_totals.setOnClick(__ -> cpnh.ifPresent(net ->
+		{
+			final var stats = net.getSessionPlayerStats(ServerStatsTotals.PLAYER_NAME);
+			final var bss = new BetterStatsScreen(GuiUtils.getCurrentScreenParent(), stats);
+			MC_CLIENT.setScreen(bss.getAsScreen());
+		}));
+		panel.addChild(btn_totals, false);
 	}
 	
 	private final void init_quickShare(StatsInitContext initContext)
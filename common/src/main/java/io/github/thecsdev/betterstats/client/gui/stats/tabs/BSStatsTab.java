@@ -18,6 +18,7 @@ import io.github.thecsdev.betterstats.api.client.gui.util.StatsTabUtils;
 import io.github.thecsdev.betterstats.api.client.registry.StatsTab;
 import io.github.thecsdev.betterstats.api.client.util.StatFilterSettings;
 import io.github.thecsdev.betterstats.api.util.stats.SUStat;
+import io.github.thecsdev.betterstats.api.util.stats.StatSearchIndex;
 import io.github.thecsdev.betterstats.client.gui.panel.PageChooserPanel;
 import io.github.thecsdev.betterstats.client.gui.panel.PageChooserPanel.PageChooserPanelProxy;
 import io.github.thecsdev.tcdcommons.api.client.gui.panel.TPanelElement;
@@ -42,9 +43,30 @@ import io.github.thecsdev.tcdcommons.api.util.enumerations.HorizontalAlignment;
 	// --------------------------------------------------
 	protected @Virtual Predicate<S> getPredicate(StatFilterSettings filterSettings)
 	{
-		final String sq = filterSettings.getPropertyOrDefault(StatsTabUtils.FILTER_ID_SEARCH, "");
+		final var search = getSearchResult(filterSettings);
 		final boolean se = filterSettings.getPropertyOrDefault(StatsTabUtils.FILTER_ID_SHOWEMPTY, false);
-		return stat -> stat.matchesSearchQuery(sq) && (se || !stat.isEmpty());
+		return stat -> search.matches(stat) && (se || !stat.isEmpty());
+	}
+	
+	/**
+	 * Searches the {@link StatSearchIndex} for the "search" filter value,
+	 * normalized using {@link SUStat#normalizeSearchQuery(String)}.
+	 * @param filterSettings The {@link StatFilterSettings}.
+	 */
+	protected static final StatSearchIndex.Result getSearchResult(StatFilterSettings filterSettings)
+	{
+		return StatSearchIndex.get().search(SUStat.normalizeSearchQuery(
+				filterSettings.getPropertyOrDefault(StatsTabUtils.FILTER_ID_SEARCH, "")));
+	}
+	
+	/**
+	 * Returns {@code true} if {@link #getPredicate(StatFilterSettings)} may let empty stats through,
+	 * in which case they have to be created. When {@code false}, only the non-empty stats are created.
+	 * @param filterSettings The {@link StatFilterSettings}.
+	 */
+	protected @Virtual boolean getIncludeEmpty(StatFilterSettings filterSettings)
+	{
+		return filterSettings.getPropertyOrDefault(StatsTabUtils.FILTER_ID_SHOWEMPTY, false);
 	}
 	// ==================================================
 	/**
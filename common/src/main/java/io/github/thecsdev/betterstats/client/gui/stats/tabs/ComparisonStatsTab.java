@@ -0,0 +1,143 @@
+package io.github.thecsdev.betterstats.client.gui.stats.tabs;
+
+import static io.github.thecsdev.betterstats.api.client.gui.util.StatsTabUtils.FILTER_ID_GROUP;
+import static io.github.thecsdev.betterstats.api.client.gui.util.StatsTabUtils.FILTER_ID_SORT_CUSTOMS;
+import static io.github.thecsdev.betterstats.api.client.gui.util.StatsTabUtils.GAP;
+import static io.github.thecsdev.tcdcommons.api.util.TUtils.safeSubList;
+import static io.github.thecsdev.tcdcommons.api.util.TextUtils.literal;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import net.minecraft.network.chat.Component;
+import net.minecraft.stats.StatType;
+import org.jetbrains.annotations.ApiStatus.Internal;
+
+import io.github.thecsdev.betterstats.api.client.gui.stats.widget.StatDeltaWidget;
+import io.github.thecsdev.betterstats.api.client.gui.util.StatsTabUtils;
+import io.github.thecsdev.betterstats.api.client.registry.StatsTab;
+import io.github.thecsdev.betterstats.api.client.util.io.LocalPlayerStatsProvider;
+import io.github.thecsdev.betterstats.api.util.enumerations.FilterGroupBy;
+import io.github.thecsdev.betterstats.api.util.enumerations.FilterSortCustomsBy;
+import io.github.thecsdev.betterstats.api.util.io.StatsDiff;
+import io.github.thecsdev.betterstats.api.util.stats.SUStatDelta;
+import io.github.thecsdev.betterstats.util.BST;
+import io.github.thecsdev.tcdcommons.api.client.gui.layout.UILayout;
+import io.github.thecsdev.tcdcommons.api.client.gui.other.TFillColorElement;
+import io.github.thecsdev.tcdcommons.api.client.gui.other.TLabelElement;
+import io.github.thecsdev.tcdcommons.api.client.gui.panel.TPanelElement;
+import io.github.thecsdev.tcdcommons.api.util.enumerations.HorizontalAlignment;
+
+/**
+ * A {@link StatsTab} that compares the statistics that are being viewed
+ * with the local player's own statistics, and shows the differences.
+ * <p>
+ * The differences are computed using {@link StatsDiff}, which only ever visits the
+ * non-zero statistics of both, so this tab's cost scales with the number of
+ * differences, rather than with the size of the registries.
+ */
+public final @Internal class ComparisonStatsTab extends BSStatsTab<SUStatDelta>
+{
+	// ==================================================
+	private static final int ITEMS_PER_PAGE = 300;
+	// ==================================================
+	public final @Override Component getName() { return BST.sTab_comparison(); }
+	// --------------------------------------------------
+	public final @Override void initStats(StatsInitContext initContext)
+	{
+		//gather initialization info and filter info
+		final var panel = initContext.getStatsPanel();
+		final var statsProvider = initContext.getStatsProvider();
+		
+		final var filters = initContext.getFilterSettings();
+		final var filter_group = filters.getPropertyOrDefault(FILTER_ID_GROUP, FilterGroupBy.DEFAULT);
+		final var filter_sort = filters.getPropertyOrDefault(FILTER_ID_SORT_CUSTOMS, FilterSortCustomsBy.DEFAULT);
+		
+		//there is nothing to compare against when not in-game, or when viewing one's own stats
+		final var localStats = LocalPlayerStatsProvider.getInstance();
+		if(localStats == null || localStats == statsProvider)
+		{
+			initMessageLabel(panel, BST.sTab_comparison_unavailable());
+			return;
+		}
+		
+		//obtain the differences and sort them
+		final var diff = StatsDiff.of(statsProvider, localStats);
+		final var statDeltas = SUStatDelta.getStatDeltas(statsProvider, diff, getPredicate(filters));
+		final int statDeltasSize = statDeltas.size();
+		FilterSortCustomsBy.sortStats(statDeltas, stat -> stat.delta, filter_sort);
+		if(statDeltasSize == 0)
+		{
+			initMessageLabel(panel, BST.sTab_comparison_noDifferences());
+			return;
+		}
+		
+		//top page chooser
+		initPageChooser(initContext, statDeltasSize, ITEMS_PER_PAGE);
+		
+		//paginate the differences
+		final int maxPages = Math.max((int)Math.ceil((double)statDeltasSize / ITEMS_PER_PAGE), 1);
+		final int page     = Math.min(getPageFilter(filters).get(), maxPages);
+		final int from = Math.max(page - 1, 0) * ITEMS_PER_PAGE;
+		final int to   = Math.max(Math.min(page * ITEMS_PER_PAGE, statDeltasSize), from);
+		final var subl = safeSubList(statDeltas, from, to);
+		
+		//group the paginated differences, and init gui for each group
+		final Map<Component, List<SUStatDelta>> statGroups = (filter_group == FilterGroupBy.DEFAULT) ?
+				groupByStatType(subl) : filter_group.apply(subl);
+		for(final var statGroup : statGroups.entrySet())
+		{
+			final var group = statGroup.getKey();
+			StatsTabUtils.initGroupLabel(panel, group != null ? group : literal("*"));
+			for(final var stat : statGroup.getValue())
+			{
+				final var n1 = UILayout.nextChildVerticalRect(panel);
+				panel.addChild(new StatDeltaWidget(n1.x, n1.y + GAP, n1.width, stat), false);
+			}
+		}
+		
+		//bottom page chooser
+		initPageChooser(initContext, statDeltasSize, ITEMS_PER_PAGE);
+	}
+	// --------------------------------------------------
+	protected final @Override void initExtraFilters(FiltersInitContext initContext)
+	{
+		StatsTabUtils.initGroupByFilter(initContext);
+		StatsTabUtils.initSortCustomsByFilter(initContext);
+	}
+	// ==================================================
+	/**
+	 * Groups {@link SUStatDelta}s by their {@link StatType}s, preserving their order.
+	 */
+	private static final Map<Component, List<SUStatDelta>> groupByStatType(List<SUStatDelta> stats)
+	{
+		final var byType = new LinkedHashMap<StatType<?>, List<SUStatDelta>>();
+		for(final var stat : stats) byType.computeIfAbsent(stat.getStatType(), __ -> new ArrayList<>()).add(stat);
+		
+		final var result = new LinkedHashMap<Component, List<SUStatDelta>>();
+		for(final var entry : byType.entrySet()) result.put(entry.getKey().getDisplayName(), entry.getValue());
+		return result;
+	}
+	
+	/**
+	 * Initializes a label that informs the user why there are no differences to show.
+	 */
+	private static final void initMessageLabel(TPanelElement panel, Component message)
+	{
+		//obtain the next XYWH
+		final var n1 = UILayout.nextChildVerticalRect(panel);
+		
+		//create and add the element
+		final var fill = new TFillColorElement(n1.x, n1.y + GAP, n1.width, StatDeltaWidget.HEIGHT);
+		fill.setColor(TPanelElement.COLOR_BACKGROUND);
+		panel.addChild(fill, false);
+		
+		//create and add the element's label
+		final var lbl_message = new TLabelElement(0, 0, fill.getWidth(), fill.getHeight());
+		lbl_message.setText(message);
+		lbl_message.setTextHorizontalAlignment(HorizontalAlignment.CENTER);
+		fill.addChild(lbl_message, true);
+	}
+	// ==================================================
+}
\ No newline at end of file
@@ -8,7 +8,6 @@ import net.minecraft.network.chat.Component;
 import org.jetbrains.annotations.ApiStatus.Internal;
 
 import io.github.thecsdev.betterstats.api.client.gui.stats.widget.ItemStatWidget;
-import io.github.thecsdev.betterstats.api.client.gui.util.StatsTabUtils;
 import io.github.thecsdev.betterstats.api.client.registry.BSStatsTabs;
 import io.github.thecsdev.betterstats.api.client.util.StatFilterSettings;
 import io.github.thecsdev.betterstats.api.util.enumerations.FilterGroupBy;
@@ -32,9 +31,12 @@ public final @Internal class FoodStuffsStatsTab extends ItemStatsTab
 	// --------------------------------------------------
 	protected @Virtual @Override Predicate<SUItemStat> getPredicate(StatFilterSettings filterSettings)
 	{
-		final String sq = filterSettings.getPropertyOrDefault(StatsTabUtils.FILTER_ID_SEARCH, "");
-		final Predicate<SUItemStat> sqPred = stat -> stat.matchesSearchQuery(sq);
+		final var search = getSearchResult(filterSettings);
+		final Predicate<SUItemStat> sqPred = search::matches;
 		return sqPred.and(stat -> stat.getItem().components().has(DataComponents.FOOD));
 	}
+	
+	//this tab shows empty stats regardless of the "show empty stats" filter
+	protected @Virtual @Override boolean getIncludeEmpty(StatFilterSettings filterSettings) { return true; }
 	// ==================================================
 }
\ No newline at end of file
@@ -45,7 +45,7 @@ public @Internal @Virtual class ItemStatsTab extends BSStatsTab<SUItemStat>
 		final var filter_sort  = filters.getPropertyOrDefault(StatsTabUtils.FILTER_ID_SORT_ITEMS, FilterSortItemsBy.DEFAULT);
 		
 		//obtain stats and sort them
-		final var itemStats = SUItemStat.getItemStats(stats, getPredicate(filters));
+		final var itemStats = SUItemStat.getItemStats(stats, getPredicate(filters), getIncludeEmpty(filters));
 		final int itemStatsSize = itemStats.size();
 		filter_sort.sortItemStats(itemStats);
 		
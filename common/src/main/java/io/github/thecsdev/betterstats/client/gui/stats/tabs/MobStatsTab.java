@@ -50,7 +50,7 @@ public @Internal @Virtual class MobStatsTab extends BSStatsTab<SUMobStat>
 		final var filter_sort = filters.getPropertyOrDefault(StatsTabUtils.FILTER_ID_SORT_MOBS, FilterSortMobsBy.DEFAULT);
 		
 		//obtain stats and sort them
-		final var mobStats = SUMobStat.getMobStats(stats, getPredicate(filters));
+		final var mobStats = SUMobStat.getMobStats(stats, getPredicate(filters), getIncludeEmpty(filters));
 		final int mobStatsSize = mobStats.size();
 		filter_sort.sortMobStats(mobStats);
 		
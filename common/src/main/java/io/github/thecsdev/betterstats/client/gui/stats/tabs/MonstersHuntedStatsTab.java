@@ -8,7 +8,6 @@ import net.minecraft.world.entity.MobCategory;
 import org.jetbrains.annotations.ApiStatus.Internal;
 
 import io.github.thecsdev.betterstats.api.client.gui.stats.widget.MobStatWidget;
-import io.github.thecsdev.betterstats.api.client.gui.util.StatsTabUtils;
 import io.github.thecsdev.betterstats.api.client.registry.BSStatsTabs;
 import io.github.thecsdev.betterstats.api.client.util.StatFilterSettings;
 import io.github.thecsdev.betterstats.api.util.stats.SUMobStat;
@@ -29,9 +28,12 @@ public final @Internal class MonstersHuntedStatsTab extends MobStatsTab
 	// --------------------------------------------------
 	protected @Virtual Predicate<SUMobStat> getPredicate(StatFilterSettings filterSettings)
 	{
-		final String sq = filterSettings.getPropertyOrDefault(StatsTabUtils.FILTER_ID_SEARCH, "");
-		final Predicate<SUMobStat> sqPred = stat -> stat.matchesSearchQuery(sq);
+		final var search = getSearchResult(filterSettings);
+		final Predicate<SUMobStat> sqPred = search::matches;
 		return sqPred.and(stat ->  stat.getEntityType().getCategory() == MobCategory.MONSTER);
 	}
+	
+	//this tab shows empty stats regardless of the "show empty stats" filter
+	protected @Virtual @Override boolean getIncludeEmpty(StatFilterSettings filterSettings) { return true; }
 	// ==================================================
 }
\ No newline at end of file
@@ -75,8 +75,8 @@ public final class PlayerBadgeStatsTab extends BSStatsTab<SUPlayerBadgeStat>
 	// --------------------------------------------------
 	protected @Virtual Predicate<SUPlayerBadgeStat> getPredicate(StatFilterSettings filterSettings)
 	{
-		final String sq = filterSettings.getPropertyOrDefault(StatsTabUtils.FILTER_ID_SEARCH, "");
-		return stat -> stat.matchesSearchQuery(sq);
+		final var search = getSearchResult(filterSettings);
+		return search::matches;
 	}
 	// ==================================================
 	protected @Virtual void processWidget(PlayerBadgeStatWidget widget)
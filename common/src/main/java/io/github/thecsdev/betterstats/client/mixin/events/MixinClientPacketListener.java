@@ -0,0 +1,26 @@
+package io.github.thecsdev.betterstats.client.mixin.events;
+
+import org.spongepowered.asm.mixin.Mixin;
+import org.spongepowered.asm.mixin.injection.At;
+import org.spongepowered.asm.mixin.injection.Inject;
+import org.spongepowered.asm.mixin.injection.callback.CallbackInfo;
+
+import io.github.thecsdev.betterstats.api.client.util.io.LocalPlayerStatsProvider;
+import io.github.thecsdev.betterstats.client.BetterStatsClient;
+import net.minecraft.client.multiplayer.ClientPacketListener;
+import net.minecraft.network.protocol.game.ClientboundAwardStatsPacket;
+
+@Mixin(ClientPacketListener.class)
+public abstract class MixinClientPacketListener
+{
+	// ==================================================
+	@Inject(method = "handleAwardStats", at = @At("HEAD"))
+	public void onPreHandleAwardStats(ClientboundAwardStatsPacket packet, CallbackInfo callback)
+	{
+		//the packet handler is first called on the network thread, and then again on
+		//the main thread, which is where the stats are actually applied
+		if(!BetterStatsClient.MC_CLIENT.isSameThread()) return;
+		LocalPlayerStatsProvider.__onAwardStats(packet.stats());
+	}
+	// ==================================================
+}
\ No newline at end of file
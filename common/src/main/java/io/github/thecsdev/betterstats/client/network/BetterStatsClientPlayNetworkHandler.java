@@ -28,6 +28,7 @@ import io.github.thecsdev.betterstats.BetterStatsConfig;
 import io.github.thecsdev.betterstats.api.util.interfaces.IThirdPartyStatsListener;
 import io.github.thecsdev.betterstats.api.util.interfaces.IThirdPartyStatsListener.TpslContext;
 import io.github.thecsdev.betterstats.api.util.io.IStatsProvider;
+import io.github.thecsdev.betterstats.api.util.io.RAMStatsProvider;
 import io.github.thecsdev.betterstats.api.util.io.StatsProviderIO;
 import io.github.thecsdev.tcdcommons.api.client.gui.screen.TScreenWrapper;
 import io.github.thecsdev.tcdcommons.api.events.client.MinecraftClientEvent;
@@ -187,13 +188,18 @@ public final @Internal class BetterStatsClientPlayNetworkHandler
 				final var playerName = buffer.readUtf();
 				
 				//read MCBS
-				final var tempStatsProvider = new OtherClientPlayerStatsProvider(playerName);
-				try { StatsProviderIO.read(buffer, tempStatsProvider); }
+				//(into a temporary provider, so that the stored stats get published all at once)
+				final var tempStatsProvider = new RAMStatsProvider();
+				boolean mcbsRead = false;
+				try { StatsProviderIO.read(buffer, tempStatsProvider, StatsProviderIO.ReadOptions.NETWORK); mcbsRead = true; }
 				catch(Exception exc) {/*ignore failures to process the MCBS file*/}
 				
 				//store MCBS
+				//(a complete MCBS replaces the stored stats, removing stale ones, while
+				//a partially read one is only merged, so the stored stats aren't lost)
 				final var spss = getSessionPlayerStats(playerName);
-				spss.setAll(tempStatsProvider);
+				if(mcbsRead) spss.replaceAll(tempStatsProvider);
+				else spss.setAll(tempStatsProvider);
 				
 				//the following must be done on Minecraft's main thread
 				MC_CLIENT.executeIfPossible(() ->
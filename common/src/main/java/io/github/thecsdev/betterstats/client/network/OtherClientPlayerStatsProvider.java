@@ -6,16 +6,21 @@ import org.jetbrains.annotations.ApiStatus.Internal;
 
 import com.mojang.authlib.GameProfile;
 
+import io.github.thecsdev.betterstats.api.util.io.CopyOnWriteStatsProvider;
 import io.github.thecsdev.betterstats.api.util.io.IStatsProvider;
-import io.github.thecsdev.betterstats.api.util.io.RAMStatsProvider;
+import io.github.thecsdev.betterstats.util.BST;
+import io.github.thecsdev.betterstats.util.stats.ServerStatsTotals;
 import io.github.thecsdev.tcdcommons.api.util.TUtils;
 import io.github.thecsdev.tcdcommons.api.util.TextUtils;
 
 /**
- * A {@link RAMStatsProvider}, except in form of a {@link Class} that is specifically
+ * A {@link CopyOnWriteStatsProvider}, except in form of a {@link Class} that is specifically
  * used for storing {@link IStatsProvider} data about another player that isn't the client.
+ * <p>
+ * The statistics are received on the network thread, and read on the render thread,
+ * which is why reading them must never block.
  */
-public final @Internal class OtherClientPlayerStatsProvider extends RAMStatsProvider
+public final @Internal class OtherClientPlayerStatsProvider extends CopyOnWriteStatsProvider
 {
 	// ==================================================
 	private final String playerName;
@@ -23,6 +28,13 @@ public final @Internal class OtherClientPlayerStatsProvider extends RAMStatsProv
 	OtherClientPlayerStatsProvider(String playerName) throws NullPointerException
 	{
 		this.playerName = Objects.requireNonNull(playerName);
+		
+		//the server-wide totals do not belong to any player
+		if(ServerStatsTotals.PLAYER_NAME.equals(playerName))
+		{
+			setDisplayName(BST.gui_tpsbs_ssps_serverTotals());
+			return;
+		}
 		setDisplayName(TextUtils.literal(playerName));
 		setGameProfile(new GameProfile(TUtils.getOfflinePlayerUuid(playerName), playerName));
 	}
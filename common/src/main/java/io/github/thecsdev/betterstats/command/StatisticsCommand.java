@@ -33,6 +33,7 @@ import com.mojang.brigadier.suggestion.SuggestionProvider;
 
 import io.github.thecsdev.betterstats.BetterStatsConfig;
 import io.github.thecsdev.betterstats.util.BST;
+import io.github.thecsdev.betterstats.util.stats.ServerStatsTotals;
 import io.github.thecsdev.tcdcommons.api.util.TextUtils;
 import io.github.thecsdev.tcdcommons.mixin.hooks.AccessorStatHandler;
 
@@ -190,7 +191,8 @@ public final class StatisticsCommand
 				//null check
 				if(target == null) continue;
 				
-				//clear statistics
+				//clear statistics, bypassing `setValue`, so the totals have to be told
+				ServerStatsTotals.__onStatsCleared(target);
 				((AccessorStatHandler)target.getStats()).getStatMap().clear();
 				affected.incrementAndGet();
 				
@@ -0,0 +1,36 @@
+package io.github.thecsdev.betterstats.mixin.events;
+
+import org.spongepowered.asm.mixin.Mixin;
+import org.spongepowered.asm.mixin.injection.At;
+import org.spongepowered.asm.mixin.injection.Inject;
+import org.spongepowered.asm.mixin.injection.callback.CallbackInfo;
+
+import io.github.thecsdev.betterstats.api.util.io.StatSchema;
+import io.github.thecsdev.betterstats.util.io.OfflinePlayerStatsCache;
+import io.github.thecsdev.betterstats.util.stats.ServerStatsTotals;
+import net.minecraft.server.MinecraftServer;
+
+@Mixin(MinecraftServer.class)
+public abstract class MixinMinecraftServer
+{
+	// ==================================================
+	@Inject(method = "runServer", at = @At("HEAD"))
+	public void onRunServer(CallbackInfo callback)
+	{
+		//the registries are frozen by now, and this is the server's main thread,
+		//so create the stat schema before any async task gets to need it
+		StatSchema.init();
+		
+		//load the world's saved statistics sharing consent
+		OfflinePlayerStatsCache.__onServerStarting((MinecraftServer)(Object)this);
+	}
+	
+	@Inject(method = "stopServer", at = @At("TAIL"))
+	public void onStopServer(CallbackInfo callback)
+	{
+		//release everything that refers to this server, or its world
+		ServerStatsTotals.__onServerStopped((MinecraftServer)(Object)this);
+		OfflinePlayerStatsCache.__onServerStopped();
+	}
+	// ==================================================
+}
\ No newline at end of file
@@ -9,6 +9,7 @@ import org.spongepowered.asm.mixin.injection.Inject;
 import org.spongepowered.asm.mixin.injection.callback.CallbackInfo;
 
 import io.github.thecsdev.betterstats.network.BetterStatsServerPlayNetworkHandler;
+import io.github.thecsdev.betterstats.util.stats.ServerStatsTotals;
 import io.github.thecsdev.betterstats.util.stats.StatAnnouncementSystem;
 import net.minecraft.server.level.ServerPlayer;
 import net.minecraft.stats.ServerStatsCounter;
@@ -27,8 +28,13 @@ public abstract class MixinServerStatHandler extends StatsCounter
 		//only handle server players
 		if(player instanceof ServerPlayer sPlayer)
 		{
+			final int oldValue = stats.getInt(stat);
+			
 			//handle SAS
-			StatAnnouncementSystem.__handleStatChange(sPlayer, stat, stats.getInt(stat), value);
+			StatAnnouncementSystem.__handleStatChange(sPlayer, stat, oldValue, value);
+			
+			//handle server-wide totals
+			ServerStatsTotals.__onStatChanged(sPlayer, stat, oldValue, value);
 		}
 	}
 	
@@ -14,6 +14,8 @@ import org.jetbrains.annotations.ApiStatus.Internal;
 import io.github.thecsdev.betterstats.BetterStats;
 import io.github.thecsdev.betterstats.client.network.BetterStatsClientPlayNetworkHandler;
 import io.github.thecsdev.betterstats.util.BST;
+import io.github.thecsdev.betterstats.util.stats.ServerStatsTotals;
+import io.github.thecsdev.tcdcommons.api.events.server.MinecraftServerEvent;
 import io.github.thecsdev.tcdcommons.api.events.server.PlayerManagerEvent;
 import io.github.thecsdev.tcdcommons.api.network.CustomPayloadNetwork;
 
@@ -28,7 +30,7 @@ public final @Internal class BetterStatsNetwork
 	public static final Component TXT_TOGGLE_TOOLTIP  = BST.net_toggleTooltip();
 	public static final Component TXT_CONSENT_WARNING = BST.net_consentWarning();
 	//
-	public static final int NETWORK_VERSION = 3;
+	public static final int NETWORK_VERSION = 4; //NV 4+ sends MCBS file version 5
 	//
 	public static final ResourceLocation S2C_I_HAVE_BSS   = ResourceLocation.fromNamespaceAndPath(getModID(), "s2c_bss");
 	public static final ResourceLocation C2S_I_HAVE_BSS   = ResourceLocation.fromNamespaceAndPath(getModID(), "c2s_bss");
@@ -49,6 +51,8 @@ public final @Internal class BetterStatsNetwork
 		//init event handlers
 		PlayerManagerEvent.PLAYER_CONNECTED.register(player ->
 			s.apply(player).onPlayerConnected());
+		MinecraftServerEvent.TICKED_WORLDS.register(server ->
+			ServerStatsTotals.__onTickedWorlds(server));
 		
 		//init network handlers
 		CustomPayloadNetwork.registerReciever(PacketFlow.SERVERBOUND, C2S_I_HAVE_BSS, ctx ->
@@ -12,8 +12,11 @@ import org.jetbrains.annotations.Nullable;
 
 import io.github.thecsdev.betterstats.BetterStats;
 import io.github.thecsdev.betterstats.api.util.interfaces.IThirdPartyStatsListener.TpslContext;
+import io.github.thecsdev.betterstats.api.util.io.IStatsProvider;
 import io.github.thecsdev.betterstats.api.util.io.ServerPlayerStatsProvider;
 import io.github.thecsdev.betterstats.api.util.io.StatsProviderIO;
+import io.github.thecsdev.betterstats.util.io.OfflinePlayerStatsCache;
+import io.github.thecsdev.betterstats.util.stats.ServerStatsTotals;
 import io.github.thecsdev.tcdcommons.api.hooks.entity.EntityHooks;
 import io.github.thecsdev.tcdcommons.api.network.CustomPayloadNetwork;
 import io.github.thecsdev.tcdcommons.api.network.CustomPayloadNetworkReceiver.PacketContext;
@@ -106,6 +109,9 @@ public final @Internal class BetterStatsServerPlayNetworkHandler
 	{
 		this.netPref_enableLiveStats     = ctx.getPacketBuffer().readBoolean();
 		this.netPref_statsSharingConsent = ctx.getPacketBuffer().readBoolean();
+		
+		//remember the consent, for when the player is offline
+		OfflinePlayerStatsCache.setConsent(this.player.getGameProfile(), this.netPref_statsSharingConsent);
 	}
 	
 	/**
@@ -123,12 +129,19 @@ public final @Internal class BetterStatsServerPlayNetworkHandler
 			{
 				//read requested player name, and obtain the player
 				final var playerName = buffer.readUtf();
+				
+				//if the server-wide totals are requested, send them
+				if(ServerStatsTotals.PLAYER_NAME.equals(playerName))
+				{
+					sendServerTotalsMcbs();
+					return;
+				}
 				final @Nullable var targetPlayer = this.server.getPlayerList().getPlayerByName(playerName);
 				
-				//if the requested player is offline, send null MCBS
+				//if the requested player is offline, send their MCBS from their stats file
 				if(targetPlayer == null)
 				{
-					sendNullPlayerMcbs(playerName);
+					sendOfflinePlayerMcbs(playerName);
 					return;
 				}
 				
@@ -184,16 +197,76 @@ public final @Internal class BetterStatsServerPlayNetworkHandler
 			return false;
 		
 		//send
-		final var data = new FriendlyByteBuf(Unpooled.buffer());
-		data.writeInt(TpslContext.Type.SAME_SERVER_PLAYER.getIntValue()); //write packet type (1 = player)
-		data.writeUtf(targetPlayer.getName().getString());             //write player name
-		StatsProviderIO.write(data, ServerPlayerStatsProvider.of(targetPlayer));
-		CustomPayloadNetwork.sendS2C(this.player, S2C_MCBS, data);
+		sendMcbs(targetPlayer.getName().getString(), ServerPlayerStatsProvider.of(targetPlayer));
 		
 		//return true to indicate success
 		return true;
 	}
 	
+	/**
+	 * Sends an MCBS file of a given offline player, to the {@link #player}.
+	 * The statistics are loaded from the offline player's statistics file on a background thread.
+	 * Sends null MCBS if the offline player did not consent to sharing their statistics, or
+	 * if their statistics are not available.
+	 * @param playerName The offline player's name.
+	 * @see OfflinePlayerStatsCache
+	 */
+	public final void sendOfflinePlayerMcbs(String playerName) throws NullPointerException
+	{
+		//check for consent
+		Objects.requireNonNull(playerName);
+		final @Nullable var targetProfile = OfflinePlayerStatsCache.getConsentingPlayer(playerName);
+		if(targetProfile == null)
+		{
+			sendNullPlayerMcbs(playerName);
+			return;
+		}
+		
+		//load the statistics, and send them on the server thread once they're loaded
+		OfflinePlayerStatsCache.loadAsync(this.server, targetProfile).whenComplete((stats, error) -> this.server.execute(() ->
+		{
+			if(this.player.hasDisconnected()) return;
+			if(stats != null) sendMcbs(targetProfile.getName(), stats);
+			else sendNullPlayerMcbs(playerName);
+		}));
+	}
+	
+	/**
+	 * Sends an MCBS file of the server-wide statistics totals, to the {@link #player}.
+	 * Sends null MCBS if the {@link #player} is not an operator, or if the totals are not built yet.
+	 * @see ServerStatsTotals
+	 */
+	public final void sendServerTotalsMcbs()
+	{
+		//the totals include the statistics of players who did not consent
+		//to sharing them, so they are only ever sent to operators
+		if(!this.player.hasPermissions(2))
+		{
+			sendNullPlayerMcbs(ServerStatsTotals.PLAYER_NAME);
+			return;
+		}
+		
+		//the totals may only be accessed on the server thread
+		this.server.execute(() ->
+		{
+			final @Nullable var totals = ServerStatsTotals.getInstance(this.server);
+			if(totals != null) sendMcbs(ServerStatsTotals.PLAYER_NAME, totals);
+			else sendNullPlayerMcbs(ServerStatsTotals.PLAYER_NAME);
+		});
+	}
+	
+	/**
+	 * Writes and sends an MCBS file to the {@link #player}.
+	 */
+	private final void sendMcbs(String playerName, IStatsProvider stats)
+	{
+		final var data = new FriendlyByteBuf(Unpooled.buffer());
+		data.writeInt(TpslContext.Type.SAME_SERVER_PLAYER.getIntValue()); //write packet type (1 = player)
+		data.writeUtf(playerName);                                      //write player name
+		StatsProviderIO.write(data, stats, true);
+		CustomPayloadNetwork.sendS2C(this.player, S2C_MCBS, data);
+	}
+	
 	/**
 	 * Sends an indicator that the MCBS for a given player is "null". The purpose of
 	 * this is usually to let the client know that a given player's statistics cannot
@@ -65,6 +65,10 @@ public final @Internal class BST
 	// --------------------------------------------------
 	public static final MutableComponent sTab_noStatsYet() { return translatable("betterstats.client.gui.stats.panel.statstabpanel.no_stats_yet"); }
 	public static final MutableComponent sTab_hashedSeed() { return translatable("betterstats.client.gui.stats.panel.statstabpanel.seed_sha256"); }
+	//
+	public static final MutableComponent sTab_comparison()               { return translatable("betterstats.client.gui.stats.tabs.comparisonstatstab"); }
+	public static final MutableComponent sTab_comparison_unavailable()   { return translatable("betterstats.client.gui.stats.tabs.comparisonstatstab.unavailable"); }
+	public static final MutableComponent sTab_comparison_noDifferences() { return translatable("betterstats.client.gui.stats.tabs.comparisonstatstab.no_differences"); }
 	// --------------------------------------------------
 	public static final MutableComponent config_debugMode()                     { return translatable("betterstats.config.debug_mode"); }
 	public static final MutableComponent config_guiSmoothScroll()               { return translatable("betterstats.config.gui_smooth_scroll"); }
@@ -120,6 +124,8 @@ public final @Internal class BST
 	public static final MutableComponent gui_tpsbs_ssps_description()    { return translatable("betterstats.gui.tpsbs.tab.ssps.description"); }
 	public static final MutableComponent gui_tpsbs_ssps_requirements()   { return translatable("betterstats.gui.tpsbs.tab.ssps.requirements"); }
 	public static final MutableComponent gui_tpsbs_ssps_playerNotFound() { return translatable("betterstats.gui.tpsbs.tab.ssps.player_not_found"); }
+	public static final MutableComponent gui_tpsbs_ssps_serverTotals()   { return translatable("betterstats.gui.tpsbs.tab.ssps.server_totals"); }
+	public static final MutableComponent gui_tpsbs_ssps_serverTotals_requirements() { return translatable("betterstats.gui.tpsbs.tab.ssps.server_totals.requirements"); }
 	public static final MutableComponent gui_tpsbs_qs()                  { return translatable("betterstats.gui.tpsbs.tab.qs"); }
 	public static final MutableComponent gui_tpsbs_qs_description()      { return translatable("betterstats.gui.tpsbs.tab.qs.description"); }
 	public static final MutableComponent gui_tpsbs_qs_tosnotice()        { return translatable("betterstats.gui.tpsbs.tab.qs.tos_notice"); }
@@ -151,5 +157,10 @@ public final @Internal class BST
 	public static final MutableComponent gui_qsscreen_err_upld_act_httpN200(String serverRes) { return translatable("betterstats.gui.qs_screen.err.upld.act.http_non200", serverRes); }
 	public static final MutableComponent gui_qsscreen_err_dwnl_gdu_httpN200(String serverRes) { return translatable("betterstats.gui.qs_screen.err.dwnl.gdu.http_non200", serverRes); }
 	public static final MutableComponent gui_qsscreen_err_dwnl_act_httpN200(String serverRes) { return translatable("betterstats.gui.qs_screen.err.dwnl.act.http_non200", serverRes); }
+	// --------------------------------------------------
+	public static final MutableComponent gui_fscreen_load_stageN1()                 { return translatable("betterstats.gui.file_screen.load.stage_n1"); }
+	public static final MutableComponent gui_fscreen_load_stage1(Component fileName) { return translatable("betterstats.gui.file_screen.load.stage_1", fileName); }
+	public static final MutableComponent gui_fscreen_save_stageN1()                 { return translatable("betterstats.gui.file_screen.save.stage_n1"); }
+	public static final MutableComponent gui_fscreen_save_stage1(Component fileName) { return translatable("betterstats.gui.file_screen.save.stage_1", fileName); }
 	// ==================================================
 }
\ No newline at end of file
@@ -0,0 +1,259 @@
+package io.github.thecsdev.betterstats.util.io;
+
+import static io.github.thecsdev.betterstats.BetterStats.LOGGER;
+import static io.github.thecsdev.tcdcommons.api.util.TextUtils.literal;
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+import java.io.IOException;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import net.minecraft.Util;
+import net.minecraft.server.MinecraftServer;
+import net.minecraft.world.level.storage.LevelResource;
+import org.jetbrains.annotations.ApiStatus.Internal;
+import org.jetbrains.annotations.Nullable;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.gson.JsonArray;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import com.mojang.authlib.GameProfile;
+
+import io.github.thecsdev.betterstats.api.util.io.DenseStatsProvider;
+import io.github.thecsdev.betterstats.api.util.io.IStatsProvider;
+import io.github.thecsdev.betterstats.api.util.io.VanillaStatsIO;
+
+/**
+ * Provides the statistics of players that are offline, by loading their vanilla
+ * "{@code stats/<uuid>.json}" files from the world's directory.
+ * <p>
+ * Loaded statistics are kept in a size-bounded cache, and are only loaded again once
+ * their file's last-modified time changes. Loading takes place on a background thread.
+ * <p>
+ * Only the statistics of players who consented to sharing their statistics the last
+ * time they were online are ever provided. Their consent is saved to the world's directory,
+ * on a background thread, and is forgotten, along with the cache, once the server stops.
+ */
+public final @Internal class OfflinePlayerStatsCache extends Object
+{
+	// ==================================================
+	/**
+	 * The maximum number of offline players whose statistics are kept in the cache.
+	 */
+	public static final int MAX_SIZE = 64;
+	// --------------------------------------------------
+	/**
+	 * The name of the file, in the world's directory, that the consent is saved to.
+	 */
+	public static final String CONSENT_FILE_NAME = "betterstats_sharing_consent.json";
+	// --------------------------------------------------
+	/**
+	 * Players who consented to sharing their statistics, keyed by their lower-case names.
+	 */
+	private static final Map<String, GameProfile> CONSENTING_PLAYERS = new ConcurrentHashMap<>();
+	
+	/**
+	 * The file the consent of the current server's players is saved to, or {@code null} if no server is running.
+	 */
+	private static volatile @Nullable Path CONSENT_FILE;
+	
+	/**
+	 * Whether the consent changed since it was last saved. Saving is requested at most once
+	 * while this is set, and the saves themselves are serialized using {@link #SAVE_LOCK}.
+	 */
+	private static final AtomicBoolean SAVE_PENDING = new AtomicBoolean();
+	private static final Object SAVE_LOCK = new Object();
+	
+	/**
+	 * The loaded statistics, keyed by their file's absolute {@link Path}, so that
+	 * different worlds never share entries.
+	 */
+	private static final Cache<Path, Entry> CACHE = CacheBuilder.newBuilder().maximumSize(MAX_SIZE).build();
+	// ==================================================
+	private OfflinePlayerStatsCache() {}
+	// ==================================================
+	/**
+	 * Keeps track of a player's consent to sharing their statistics,
+	 * for when they are offline later on.
+	 * @param player The player's {@link GameProfile}.
+	 * @param consent The player's consent.
+	 */
+	public static final void setConsent(GameProfile player, boolean consent) throws NullPointerException
+	{
+		final var name = Objects.requireNonNull(player.getName()).toLowerCase(Locale.ROOT);
+		final @Nullable var previous = consent ? CONSENTING_PLAYERS.put(name, player) : CONSENTING_PLAYERS.remove(name);
+		
+		//save the consent soon after it changes, so that withdrawn consent is never lost
+		//(on a background thread, as this is called while handling the player's packets)
+		if(!Objects.equals(previous, consent ? player : null)) requestSaveConsent();
+	}
+	
+	/**
+	 * Returns the {@link GameProfile} of a player with a given name, or {@code null}
+	 * if said player did not consent to sharing their statistics.
+	 * @param playerName The player's name.
+	 */
+	public static final @Nullable GameProfile getConsentingPlayer(String playerName) throws NullPointerException
+	{
+		return CONSENTING_PLAYERS.get(playerName.toLowerCase(Locale.ROOT));
+	}
+	// --------------------------------------------------
+	/**
+	 * Loads the statistics of an offline player on a background thread.
+	 * @param server The {@link MinecraftServer} whose world the statistics are loaded from.
+	 * @param player The player's {@link GameProfile}.
+	 * @return A {@link CompletableFuture} that completes with the player's statistics,
+	 * or with {@code null} if the player has no statistics file, or it failed to load.
+	 * @apiNote The returned {@link IStatsProvider} must not be modified.
+	 */
+	public static final CompletableFuture<IStatsProvider> loadAsync(MinecraftServer server, GameProfile player)
+			throws NullPointerException
+	{
+		final var file = server.getWorldPath(LevelResource.PLAYER_STATS_DIR)
+				.resolve(Objects.requireNonNull(player.getId()) + ".json")
+				.toAbsolutePath();
+		return CompletableFuture.supplyAsync(() -> load(file, player), Util.ioPool());
+	}
+	
+	private static final @Nullable IStatsProvider load(Path file, GameProfile player)
+	{
+		try
+		{
+			//return the cached statistics, if the file hasn't changed since
+			if(!Files.isRegularFile(file)) return null;
+			final long lastModified = Files.getLastModifiedTime(file).toMillis();
+			final @Nullable var entry = CACHE.getIfPresent(file);
+			if(entry != null && entry.lastModified == lastModified) return entry.stats;
+			
+			//load the statistics, and cache them
+			final var stats = new DenseStatsProvider();
+			VanillaStatsIO.loadFromFile(file.toFile(), stats);
+			stats.setDisplayName(literal(player.getName()));
+			stats.setGameProfile(player);
+			CACHE.put(file, new Entry(lastModified, stats));
+			return stats;
+		}
+		catch(IOException | RuntimeException exc)
+		{
+			LOGGER.error("Failed to load offline player statistics file " + file, exc);
+			return null;
+		}
+	}
+	// ==================================================
+	/**
+	 * Loads the saved consent from the file in the world's directory.
+	 */
+	private static final void loadConsent(Path file)
+	{
+		if(!Files.isRegularFile(file)) return;
+		try(final var reader = Files.newBufferedReader(file, UTF_8))
+		{
+			for(final var element : JsonParser.parseReader(reader).getAsJsonArray())
+			{
+				final var json = element.getAsJsonObject();
+				final var player = new GameProfile(UUID.fromString(json.get("id").getAsString()), json.get("name").getAsString());
+				CONSENTING_PLAYERS.put(player.getName().toLowerCase(Locale.ROOT), player);
+			}
+		}
+		catch(IOException | RuntimeException exc) { LOGGER.error("Failed to load statistics sharing consent file " + file, exc); }
+	}
+	
+	/**
+	 * Schedules saving the consent on the I/O thread pool, unless a save is already pending,
+	 * in which case that save will include the latest changes as well.
+	 */
+	private static final void requestSaveConsent()
+	{
+		final @Nullable var file = CONSENT_FILE;
+		if(file == null || !SAVE_PENDING.compareAndSet(false, true)) return;
+		Util.ioPool().execute(() -> saveConsent(file));
+	}
+	
+	/**
+	 * Saves the consent to a given file, if a save is still pending, and said file still
+	 * belongs to the running server. Otherwise, the consent was already saved.
+	 */
+	private static final void saveConsent(Path file)
+	{
+		synchronized(SAVE_LOCK)
+		{
+			if(CONSENT_FILE != file || !SAVE_PENDING.getAndSet(false)) return;
+			writeConsent(file);
+		}
+	}
+	
+	/**
+	 * Writes the consent to a given file. The data is first written to a temporary
+	 * file, which then atomically replaces the given file, where supported.
+	 * @apiNote Only call this while holding {@link #SAVE_LOCK}.
+	 */
+	private static final void writeConsent(Path file)
+	{
+		final var json = new JsonArray();
+		for(final var player : CONSENTING_PLAYERS.values())
+		{
+			final var entry = new JsonObject();
+			entry.addProperty("id", player.getId().toString());
+			entry.addProperty("name", player.getName());
+			json.add(entry);
+		}
+		final var temp = file.resolveSibling(file.getFileName() + ".tmp");
+		try
+		{
+			Files.writeString(temp, json.toString(), UTF_8);
+			try { Files.move(temp, file, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING); }
+			catch(AtomicMoveNotSupportedException amnse) { Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING); }
+		}
+		catch(IOException exc) { LOGGER.error("Failed to save statistics sharing consent file " + file, exc); }
+	}
+	// --------------------------------------------------
+	/**
+	 * Called when a {@link MinecraftServer} starts running. Loads its players' saved consent.
+	 */
+	public static final void __onServerStarting(MinecraftServer server)
+	{
+		final var file = server.getWorldPath(LevelResource.ROOT).resolve(CONSENT_FILE_NAME).toAbsolutePath().normalize();
+		synchronized(SAVE_LOCK)
+		{
+			CONSENTING_PLAYERS.clear();
+			SAVE_PENDING.set(false);
+			loadConsent(file);
+			CONSENT_FILE = file;
+		}
+	}
+	
+	/**
+	 * Called when a {@link MinecraftServer} stops. Forgets its players' consent,
+	 * and the statistics that were loaded from its world.
+	 */
+	public static final void __onServerStopped()
+	{
+		//save any pending changes first, as the pending save no longer will once the file is forgotten
+		synchronized(SAVE_LOCK)
+		{
+			final @Nullable var file = CONSENT_FILE;
+			if(file != null && SAVE_PENDING.getAndSet(false)) writeConsent(file);
+			CONSENT_FILE = null;
+			CONSENTING_PLAYERS.clear();
+		}
+		CACHE.invalidateAll();
+	}
+	// ==================================================
+	private static final class Entry
+	{
+		final long lastModified;
+		final IStatsProvider stats;
+		Entry(long lastModified, IStatsProvider stats) { this.lastModified = lastModified; this.stats = stats; }
+	}
+	// ==================================================
+}
\ No newline at end of file
@@ -0,0 +1,248 @@
+package io.github.thecsdev.betterstats.util.io;
+
+import static io.github.thecsdev.betterstats.BetterStats.LOGGER;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Objects;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import net.minecraft.SharedConstants;
+import net.minecraft.server.Bootstrap;
+import org.jetbrains.annotations.ApiStatus.Internal;
+
+import io.github.thecsdev.betterstats.api.util.io.DenseStatsProvider;
+import io.github.thecsdev.betterstats.api.util.io.StatSchema;
+import io.github.thecsdev.betterstats.api.util.io.StatsProviderIO;
+import io.github.thecsdev.betterstats.api.util.io.VanillaStatsIO;
+
+/**
+ * A headless tool that converts a world's vanilla "{@code stats/<uuid>.json}"
+ * files to {@link StatsProviderIO#FILE_EXTENSION} files, outside of the game.
+ * <p>
+ * Files are converted in parallel on a {@link ForkJoinPool}. The memory used by files
+ * that are being converted at the same time is capped by a budget, and the throughput
+ * is logged periodically, as well as once the conversion is done.
+ * @apiNote Run using {@link #main(String[])}, with Minecraft and this mod's
+ * dependencies on the class-path. See {@link #USAGE} for the arguments.
+ */
+@Internal
+public final class VanillaStatsConverter extends Object
+{
+	// ==================================================
+	public static final String USAGE = "Arguments: <stats directory> <output directory> "
+			+ "[--threads <count>] [--max-memory <MiB>] [--compress]";
+	// --------------------------------------------------
+	/**
+	 * How often the throughput is logged while converting, in nanoseconds.
+	 */
+	private static final long REPORT_INTERVAL = TimeUnit.SECONDS.toNanos(5);
+	// --------------------------------------------------
+	private final File inputDirectory, outputDirectory;
+	private final int threads;
+	private final boolean compress;
+	// --------------------------------------------------
+	/**
+	 * The memory budget, where each permit is one KiB.
+	 * @see #getMemoryCost(File)
+	 */
+	private final Semaphore memoryBudget;
+	private final int memoryBudgetKiB;
+	// --------------------------------------------------
+	private final AtomicInteger convertedFiles = new AtomicInteger(), failedFiles = new AtomicInteger();
+	private final AtomicLong bytesRead = new AtomicLong(), bytesWritten = new AtomicLong(), skippedStats = new AtomicLong();
+	private final AtomicLong lastReport = new AtomicLong();
+	private long startTime;
+	// ==================================================
+	/**
+	 * Creates a {@link VanillaStatsConverter} instance.
+	 * @param inputDirectory The directory containing the vanilla statistics JSON files.
+	 * @param outputDirectory The directory the converted files will be written to.
+	 * @param threads The number of files that may be converted at the same time.
+	 * @param maxMemoryMiB The approximate maximum amount of memory, in MiB, used by files that are being converted.
+	 * @param compress Whether to write the {@link StatsProviderIO#COMPRESSED_FORM_TYPE}.
+	 * @throws NullPointerException If a {@link File} argument is {@code null}.
+	 * @throws IllegalArgumentException If a numeric argument is less than 1.
+	 */
+	public VanillaStatsConverter(File inputDirectory, File outputDirectory, int threads, int maxMemoryMiB, boolean compress)
+			throws NullPointerException, IllegalArgumentException
+	{
+		this.inputDirectory = Objects.requireNonNull(inputDirectory);
+		this.outputDirectory = Objects.requireNonNull(outputDirectory);
+		if(threads < 1) throw new IllegalArgumentException("Thread count must be at least 1.");
+		if(maxMemoryMiB < 1) throw new IllegalArgumentException("Memory budget must be at least 1 MiB.");
+		this.threads = threads;
+		this.compress = compress;
+		this.memoryBudgetKiB = (int)Math.min((long)maxMemoryMiB * 1024, Integer.MAX_VALUE);
+		this.memoryBudget = new Semaphore(this.memoryBudgetKiB);
+	}
+	// ==================================================
+	/**
+	 * Converts all vanilla statistics JSON files in the input directory.
+	 * @return The number of files that failed to convert.
+	 * @throws IOException If the input directory cannot be listed, or the output directory cannot be created.
+	 */
+	public final int run() throws IOException
+	{
+		//list the input files
+		final File[] files = this.inputDirectory.listFiles((dir, name) -> name.endsWith(".json"));
+		if(files == null) throw new IOException("Unable to list files in " + this.inputDirectory.getAbsolutePath());
+		if(!this.outputDirectory.isDirectory() && !this.outputDirectory.mkdirs())
+			throw new IOException("Unable to create directory " + this.outputDirectory.getAbsolutePath());
+		
+		//convert the files
+		LOGGER.info("Converting " + files.length + " vanilla statistics files, using " + this.threads +
+				" threads and a " + (this.memoryBudgetKiB / 1024) + " MiB memory budget.");
+		this.startTime = System.nanoTime();
+		this.lastReport.set(this.startTime);
+		final var pool = new ForkJoinPool(this.threads);
+		try { pool.invoke(new ConvertTask(files, 0, files.length)); }
+		finally { pool.shutdown(); }
+		
+		//log the results and return
+		logThroughput("Done");
+		return this.failedFiles.get();
+	}
+	// --------------------------------------------------
+	/**
+	 * Converts a single vanilla statistics JSON file.
+	 */
+	private final void convert(File file)
+	{
+		//acquire a portion of the memory budget, waiting if needed
+		final int memoryCost = getMemoryCost(file);
+		this.memoryBudget.acquireUninterruptibly(memoryCost);
+		try
+		{
+			//read the vanilla file, and write the converted file
+			final var statsProvider = new DenseStatsProvider();
+			this.skippedStats.addAndGet(VanillaStatsIO.loadFromFile(file, statsProvider));
+			
+			final var fileName = file.getName();
+			final var outputFile = new File(this.outputDirectory,
+					fileName.substring(0, fileName.length() - ".json".length()) + "." + StatsProviderIO.FILE_EXTENSION);
+			//(without forcing each file onto the storage device, which would throttle converting many files)
+			StatsProviderIO.saveToFile(outputFile, statsProvider, this.compress, false);
+			
+			//keep track of the throughput
+			this.bytesRead.addAndGet(file.length());
+			this.bytesWritten.addAndGet(outputFile.length());
+			this.convertedFiles.incrementAndGet();
+		}
+		catch(IOException | RuntimeException exc)
+		{
+			this.failedFiles.incrementAndGet();
+			LOGGER.error("Failed to convert vanilla statistics file " + file.getAbsolutePath(), exc);
+		}
+		finally { this.memoryBudget.release(memoryCost); }
+		
+		//log the throughput periodically
+		final long now = System.nanoTime(), last = this.lastReport.get();
+		if(now - last >= REPORT_INTERVAL && this.lastReport.compareAndSet(last, now))
+			logThroughput("Progress");
+	}
+	
+	/**
+	 * Returns the estimated amount of memory, in KiB, used while converting a file.
+	 * @apiNote The estimate is twice the JSON file's size, which covers the loaded statistics
+	 * and the written data. It is capped at the whole budget, so large files still get converted.
+	 */
+	private final int getMemoryCost(File file)
+	{
+		final long kib = (file.length() * 2) / 1024;
+		return (int)Math.max(1, Math.min(kib, this.memoryBudgetKiB));
+	}
+	
+	private final void logThroughput(String prefix)
+	{
+		final double seconds = Math.max(System.nanoTime() - this.startTime, 1) / 1_000_000_000d;
+		final int converted = this.convertedFiles.get();
+		final double mib = this.bytesRead.get() / (1024d * 1024d);
+		LOGGER.info(String.format(
+				"%s: %d files converted, %d failed, %d unknown stats skipped, %.2f MiB read, %.2f MiB written, "
+				+ "%.1f files/s, %.2f MiB/s.",
+				prefix, converted, this.failedFiles.get(), this.skippedStats.get(), mib,
+				this.bytesWritten.get() / (1024d * 1024d), converted / seconds, mib / seconds));
+	}
+	// ==================================================
+	/**
+	 * Splits the file array in halves, until each task is left with a single file to convert.
+	 */
+	private final class ConvertTask extends RecursiveAction
+	{
+		private static final long serialVersionUID = 1L;
+		private final File[] files;
+		private final int from, to;
+		
+		public ConvertTask(File[] files, int from, int to) { this.files = files; this.from = from; this.to = to; }
+		
+		protected final @Override void compute()
+		{
+			if(this.to - this.from <= 1)
+			{
+				if(this.to > this.from) convert(this.files[this.from]);
+				return;
+			}
+			final int middle = (this.from + this.to) >>> 1;
+			invokeAll(new ConvertTask(this.files, this.from, middle), new ConvertTask(this.files, middle, this.to));
+		}
+	}
+	// ==================================================
+	/**
+	 * The headless entry point.
+	 * @see #USAGE
+	 */
+	public static void main(String[] args)
+	{
+		//parse the arguments
+		File inputDirectory = null, outputDirectory = null;
+		int threads = Runtime.getRuntime().availableProcessors();
+		int maxMemoryMiB = (int)Math.max(1, Runtime.getRuntime().maxMemory() / (2 * 1024 * 1024));
+		boolean compress = false;
+		try
+		{
+			for(int i = 0; i < args.length; i++)
+			{
+				switch(args[i])
+				{
+					case "--threads": threads = Integer.parseInt(args[++i]); break;
+					case "--max-memory": maxMemoryMiB = Integer.parseInt(args[++i]); break;
+					case "--compress": compress = true; break;
+					default:
+						if(inputDirectory == null) inputDirectory = new File(args[i]);
+						else if(outputDirectory == null) outputDirectory = new File(args[i]);
+						else throw new IllegalArgumentException("Unexpected argument " + args[i]);
+						break;
+				}
+			}
+			if(outputDirectory == null) throw new IllegalArgumentException("Missing directory arguments.");
+		}
+		catch(IllegalArgumentException | ArrayIndexOutOfBoundsException exc)
+		{
+			System.err.println(exc.getMessage());
+			System.err.println(USAGE);
+			System.exit(2);
+			return;
+		}
+		
+		//bootstrap the game's registries, and convert the files
+		SharedConstants.tryDetectVersion();
+		Bootstrap.bootStrap();
+		StatSchema.init();
+		try
+		{
+			final var converter = new VanillaStatsConverter(inputDirectory, outputDirectory, threads, maxMemoryMiB, compress);
+			System.exit(converter.run() > 0 ? 1 : 0);
+		}
+		catch(IOException | IllegalArgumentException exc)
+		{
+			LOGGER.error("Failed to convert vanilla statistics files.", exc);
+			System.exit(2);
+		}
+	}
+	// ==================================================
+}
\ No newline at end of file
@@ -0,0 +1,199 @@
+package io.github.thecsdev.betterstats.util.stats;
+
+import static io.github.thecsdev.betterstats.BetterStats.LOGGER;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Objects;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.ObjIntConsumer;
+import java.util.stream.Collectors;
+import net.minecraft.Util;
+import net.minecraft.network.chat.Component;
+import net.minecraft.resources.ResourceLocation;
+import net.minecraft.server.MinecraftServer;
+import net.minecraft.server.level.ServerPlayer;
+import net.minecraft.stats.Stat;
+import net.minecraft.world.level.storage.LevelResource;
+import org.jetbrains.annotations.ApiStatus.Internal;
+import org.jetbrains.annotations.Nullable;
+
+import com.mojang.authlib.GameProfile;
+
+import io.github.thecsdev.betterstats.api.util.io.DenseStatsProvider;
+import io.github.thecsdev.betterstats.api.util.io.IStatsProvider;
+import io.github.thecsdev.betterstats.api.util.io.ServerPlayerStatsProvider;
+import io.github.thecsdev.betterstats.api.util.io.VanillaStatsIO;
+import io.github.thecsdev.betterstats.util.BST;
+import it.unimi.dsi.fastutil.objects.Object2LongMaps;
+import it.unimi.dsi.fastutil.objects.Object2LongOpenHashMap;
+
+/**
+ * An {@link IStatsProvider} whose statistics are the server-wide totals of
+ * all players' statistics, including the players that are offline.
+ * <p>
+ * The totals are built once, from the world's "{@code stats}" directory and the online
+ * players' statistics, after which they are updated incrementally every time a player's
+ * statistic changes, using the difference between the old and the new value.
+ * <p>
+ * As the totals include the statistics of players who did not consent to sharing
+ * them, they are only ever sent to operators.
+ * @apiNote Not thread-safe. Must only be used on the server thread.
+ */
+public final @Internal class ServerStatsTotals implements IStatsProvider
+{
+	// ==================================================
+	/**
+	 * The player name that is used for requesting the server-wide totals,
+	 * in place of an actual player name. It is not a valid player name.
+	 */
+	public static final String PLAYER_NAME = "*";
+	// --------------------------------------------------
+	private static @Nullable ServerStatsTotals INSTANCE;
+	// ==================================================
+	private final MinecraftServer server;
+	private final Object2LongOpenHashMap<Stat<?>> totals = new Object2LongOpenHashMap<>();
+	private boolean built = false;
+	// ==================================================
+	private ServerStatsTotals(MinecraftServer server) throws NullPointerException
+	{
+		this.server = Objects.requireNonNull(server);
+	}
+	// ==================================================
+	public final @Override Component getDisplayName() { return BST.gui_tpsbs_ssps_serverTotals(); }
+	public final @Override @Nullable GameProfile getGameProfile() { return null; }
+	// --------------------------------------------------
+	/**
+	 * {@inheritDoc}
+	 * @apiNote Totals that do not fit into an {@link Integer} are capped at {@link Integer#MAX_VALUE}.
+	 */
+	public final @Override int getStatValue(Stat<?> stat) { return clamp(this.totals.getLong(stat)); }
+	public final @Override void forEachNonZeroStat(ObjIntConsumer<Stat<?>> action) throws NullPointerException
+	{
+		Objects.requireNonNull(action);
+		for(final var entry : Object2LongMaps.fastIterable(this.totals))
+		{
+			final int value = clamp(entry.getLongValue());
+			if(value != 0) action.accept(entry.getKey(), value);
+		}
+	}
+	// --------------------------------------------------
+	public final @Override int getPlayerBadgeValue(ResourceLocation badgeId) { return 0; }
+	public final @Override void forEachNonZeroPlayerBadge(ObjIntConsumer<ResourceLocation> action) throws NullPointerException
+	{
+		Objects.requireNonNull(action);
+	}
+	// --------------------------------------------------
+	private static final int clamp(long value) { return (int)Math.max(0, Math.min(value, Integer.MAX_VALUE)); }
+	private final void add(Stat<?> stat, long delta) { if(delta != 0) this.totals.addTo(stat, delta); }
+	// ==================================================
+	/**
+	 * Builds the totals.
+	 * <p>
+	 * The online players' statistics are added right away, and changes to any player's statistics
+	 * are tracked from this point onwards. The offline players' statistics files are then loaded
+	 * on a background thread, and added to the totals on the server thread once they're loaded.
+	 */
+	private final void build()
+	{
+		//add the online players' statistics, and exclude their files from loading,
+		//as their statistics may have changed since their files were last saved
+		final Set<UUID> online = this.server.getPlayerList().getPlayers().stream()
+				.map(ServerPlayer::getUUID)
+				.collect(Collectors.toSet());
+		for(final var player : this.server.getPlayerList().getPlayers())
+			ServerPlayerStatsProvider.of(player).forEachNonZeroStat(this::add);
+		
+		//load the offline players' statistics files, one after another, on the I/O pool
+		//(this is blocking I/O, which is what the I/O pool is for, unlike the common fork-join pool)
+		final File statsDirectory = this.server.getWorldPath(LevelResource.PLAYER_STATS_DIR).toFile();
+		CompletableFuture.supplyAsync(() ->
+		{
+			final var fileTotals = new Object2LongOpenHashMap<Stat<?>>();
+			final @Nullable File[] files = statsDirectory.listFiles((dir, name) -> name.endsWith(".json"));
+			if(files == null) return fileTotals;
+			for(final var file : files)
+			{
+				if(online.contains(getUuid(file))) continue;
+				try
+				{
+					final var stats = new DenseStatsProvider();
+					VanillaStatsIO.loadFromFile(file, stats);
+					stats.forEachNonZeroStat(fileTotals::addTo);
+				}
+				catch(IOException exc) { LOGGER.error("Failed to load statistics file " + file.getAbsolutePath(), exc); }
+			}
+			return fileTotals;
+		}, Util.ioPool())
+		.whenComplete((fileTotals, error) -> this.server.execute(() ->
+		{
+			if(error != null) { LOGGER.error("Failed to build the server-wide statistics totals.", error); return; }
+			for(final var entry : Object2LongMaps.fastIterable(fileTotals))
+				add(entry.getKey(), entry.getLongValue());
+			this.built = true;
+		}));
+	}
+	
+	/**
+	 * Returns the {@link UUID} a statistics file belongs to, based on its name, or {@code null}.
+	 */
+	private static final @Nullable UUID getUuid(File file)
+	{
+		final var name = file.getName();
+		try { return UUID.fromString(name.substring(0, name.length() - ".json".length())); }
+		catch(IllegalArgumentException exc) { return null; }
+	}
+	// ==================================================
+	/**
+	 * Returns the {@link ServerStatsTotals} for a given {@link MinecraftServer},
+	 * or {@code null} if they are not built yet.
+	 */
+	public static final @Nullable ServerStatsTotals getInstance(MinecraftServer server)
+	{
+		final @Nullable var totals = INSTANCE;
+		return (totals != null && totals.server == server && totals.built) ? totals : null;
+	}
+	// --------------------------------------------------
+	/**
+	 * Called every server tick. Starts building the totals the first time a given
+	 * {@link MinecraftServer} ticks, which is at startup.
+	 */
+	public static final void __onTickedWorlds(MinecraftServer server)
+	{
+		if(INSTANCE != null && INSTANCE.server == server) return;
+		INSTANCE = new ServerStatsTotals(server);
+		INSTANCE.build();
+	}
+	
+	/**
+	 * Called when a {@link MinecraftServer} stops. Discards its totals,
+	 * so that they no longer keep the {@link MinecraftServer} from being garbage collected.
+	 */
+	public static final void __onServerStopped(MinecraftServer server)
+	{
+		if(INSTANCE != null && INSTANCE.server == server) INSTANCE = null;
+	}
+	
+	/**
+	 * Called right before a {@link ServerPlayer}'s statistic changes.
+	 */
+	public static final void __onStatChanged(ServerPlayer player, Stat<?> stat, int oldValue, int newValue)
+	{
+		final @Nullable var totals = INSTANCE;
+		if(totals == null || totals.server != player.getServer()) return;
+		totals.add(stat, (long)newValue - oldValue);
+	}
+	
+	/**
+	 * Called right before all of a {@link ServerPlayer}'s statistics are cleared.
+	 */
+	public static final void __onStatsCleared(ServerPlayer player)
+	{
+		final @Nullable var totals = INSTANCE;
+		if(totals == null || totals.server != player.getServer()) return;
+		ServerPlayerStatsProvider.of(player).forEachNonZeroStat((stat, value) -> totals.add(stat, -value));
+	}
+	// ==================================================
+}
\ No newline at end of file
@@ -0,0 +1,269 @@
+package io.github.thecsdev.betterstats.api.util.io;
+
+import static java.nio.charset.StandardCharsets.US_ASCII;
+import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTimeoutPreemptively;
+import static org.junit.jupiter.api.Assertions.fail;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.UUID;
+import net.minecraft.SharedConstants;
+import net.minecraft.core.registries.BuiltInRegistries;
+import net.minecraft.network.FriendlyByteBuf;
+import net.minecraft.network.chat.Component;
+import net.minecraft.resources.ResourceLocation;
+import net.minecraft.server.Bootstrap;
+import net.minecraft.stats.Stats;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import com.mojang.authlib.GameProfile;
+
+import io.github.thecsdev.betterstats.api.util.io.StatsProviderIO.ReadOptions;
+import io.github.thecsdev.tcdcommons.api.util.exceptions.UnsupportedFileVersionException;
+import io.netty.buffer.Unpooled;
+
+/**
+ * Feeds random and mutated MCBS data to {@link StatsProviderIO#read(FriendlyByteBuf, IEditableStatsProvider, ReadOptions)},
+ * and ensures malformed data is always rejected in a timely manner, and only ever by throwing
+ * an {@link IllegalHeaderException} or an {@link UnsupportedFileVersionException}.
+ * <p>
+ * The {@link Random}s are seeded, so any failure can be reproduced using the reported iteration.
+ */
+public final class StatsProviderIOFuzzTest
+{
+	// ==================================================
+	private static final long SEED = 0x4D434253L; //"MCBS"
+	private static final int ITERATIONS = 2000;
+	private static final Duration TIME_LIMIT = Duration.ofSeconds(2);
+	private static final int[] EXTREME_INTS = { 0, -1, 1, Integer.MIN_VALUE, Integer.MAX_VALUE, Short.MAX_VALUE, 0x7F, 0x80 };
+	// --------------------------------------------------
+	/**
+	 * {@link ReadOptions#NETWORK}, but decoding in parallel where possible.
+	 */
+	private static final ReadOptions NETWORK_PARALLEL = new ReadOptions()
+	{
+		public final @Override boolean parallel() { return true; }
+		public final @Override int maxDataSize() { return ReadOptions.NETWORK.maxDataSize(); }
+		public final @Override int maxStringLength() { return ReadOptions.NETWORK.maxStringLength(); }
+		public final @Override int maxEntries() { return ReadOptions.NETWORK.maxEntries(); }
+		public final @Override int maxTotalStats() { return ReadOptions.NETWORK.maxTotalStats(); }
+	};
+	// --------------------------------------------------
+	private static final List<byte[]> VALID_FILES = new ArrayList<>();
+	// ==================================================
+	@BeforeAll
+	public static void bootstrap()
+	{
+		//bootstrap the game's registries, and create the stat schema on this thread
+		SharedConstants.tryDetectVersion();
+		Bootstrap.bootStrap();
+		StatSchema.init();
+		
+		//create statistics that use every part of the file format
+		final var stats = new RAMStatsProvider();
+		stats.setDisplayName(Component.literal("Fuzz"));
+		stats.setGameProfile(new GameProfile(new UUID(SEED, SEED), "Fuzz"));
+		int i = 0;
+		for(final var item : BuiltInRegistries.ITEM)
+		{
+			if(++i % 7 != 0) continue;
+			stats.setStatValue(Stats.ITEM_USED, item, i);
+			stats.setStatValue(Stats.ITEM_CRAFTED, item, -i);
+		}
+		for(final var entityType : BuiltInRegistries.ENTITY_TYPE)
+			stats.setStatValue(Stats.ENTITY_KILLED, entityType, ++i);
+		for(final var stat : Stats.CUSTOM)
+			stats.setStatValue(stat, ++i);
+		stats.setPlayerBadgeValue(ResourceLocation.fromNamespaceAndPath("betterstats", "fuzz"), 1);
+		
+		//write them in each form, to be mutated later
+		VALID_FILES.add(write(stats, false));
+		VALID_FILES.add(write(stats, true));
+		VALID_FILES.add(writeVersion4(stats));
+	}
+	// ==================================================
+	@Test
+	public void validDataIsRead()
+	{
+		//the mutations only make sense if the data they start out from is valid
+		for(final var data : VALID_FILES)
+		{
+			assertDoesNotThrow(() -> StatsProviderIO.read(buffer(data), new RAMStatsProvider(), ReadOptions.NETWORK));
+			assertDoesNotThrow(() -> StatsProviderIO.read(buffer(data), new RAMStatsProvider(), NETWORK_PARALLEL));
+		}
+	}
+	
+	@Test
+	public void unregisteredStatsAreSkipped()
+	{
+		//a custom stat whose identifier isn't registered has nothing to be written as, so it is left out
+		final var stats = new RAMStatsProvider();
+		final var unregistered = Stats.CUSTOM.get(ResourceLocation.fromNamespaceAndPath("betterstats", "unregistered"));
+		stats.setStatValue(unregistered, 1);
+		stats.setStatValue(Stats.CUSTOM.get(Stats.JUMP), 2);
+		for(final boolean compress : new boolean[] { false, true })
+		{
+			final var read = new RAMStatsProvider();
+			assertDoesNotThrow(() -> StatsProviderIO.read(buffer(write(stats, compress)), read, ReadOptions.NETWORK));
+			assertEquals(0, read.getStatValue(unregistered));
+			assertEquals(2, read.getStatValue(Stats.CUSTOM.get(Stats.JUMP)));
+		}
+	}
+	
+	@Test
+	public void randomDataIsRejected()
+	{
+		final var random = new Random(SEED);
+		for(int iteration = 0; iteration < ITERATIONS; iteration++)
+		{
+			//random bytes, half of which get a valid header, so the chunk readers get to see them
+			final byte[] data = new byte[random.nextInt(512)];
+			random.nextBytes(data);
+			if(random.nextBoolean() && data.length >= 16)
+			{
+				System.arraycopy("RIFF".getBytes(US_ASCII), 0, data, 0, 4);
+				System.arraycopy((random.nextBoolean() ? "MCBS" : "MCBZ").getBytes(US_ASCII), 0, data, 8, 4);
+				setIntLE(data, 12, random.nextBoolean() ? StatsProviderIO.FILE_VERSION : 4);
+				patchRiffSize(data);
+			}
+			assertReadTerminates(data, "random data, iteration " + iteration);
+		}
+	}
+	
+	@Test
+	public void mutatedDataIsRejected()
+	{
+		final var random = new Random(SEED);
+		for(int file = 0; file < VALID_FILES.size(); file++)
+			for(int iteration = 0; iteration < ITERATIONS; iteration++)
+			{
+				//mutate the data, and fix up its size half of the time, so it gets past the header checks
+				final byte[] data = mutate(VALID_FILES.get(file), random);
+				if(random.nextBoolean()) patchRiffSize(data);
+				assertReadTerminates(data, "valid file " + file + ", iteration " + iteration);
+			}
+	}
+	// ==================================================
+	/**
+	 * Reads the data using both {@link ReadOptions#NETWORK} and {@link #NETWORK_PARALLEL}, and fails if
+	 * reading takes too long, or throws anything other than the exceptions meant for malformed data.
+	 */
+	private static final void assertReadTerminates(byte[] data, String description)
+	{
+		for(final var options : new ReadOptions[] { ReadOptions.NETWORK, NETWORK_PARALLEL })
+			assertTimeoutPreemptively(TIME_LIMIT, () ->
+			{
+				try { StatsProviderIO.read(buffer(data), new RAMStatsProvider(), options); }
+				catch(IllegalHeaderException | UnsupportedFileVersionException expected) {}
+				catch(RuntimeException exc) { fail("Unexpected exception for " + description, exc); }
+			}, () -> "Reading took too long for " + description);
+	}
+	
+	/**
+	 * Returns a copy of the data with one random mutation applied.
+	 */
+	private static final byte[] mutate(byte[] data, Random random)
+	{
+		final byte[] result = Arrays.copyOf(data, data.length);
+		final int index = random.nextInt(data.length);
+		switch(random.nextInt(6))
+		{
+			//flip a few bits
+			case 0:
+				for(int i = random.nextInt(8); i >= 0; i--)
+					result[random.nextInt(result.length)] ^= (byte)(1 << random.nextInt(8));
+				return result;
+			
+			//overwrite a few bytes with random ones
+			case 1:
+				for(int i = random.nextInt(8); i >= 0; i--)
+					result[random.nextInt(result.length)] = (byte)random.nextInt(256);
+				return result;
+			
+			//overwrite an int, such as a size or a count, with an extreme value
+			case 2:
+				if(index + 4 <= result.length) setIntLE(result, index, EXTREME_INTS[random.nextInt(EXTREME_INTS.length)]);
+				return result;
+			
+			//truncate the data
+			case 3: return Arrays.copyOf(data, index);
+			
+			//remove a range of bytes
+			case 4:
+			{
+				final int length = random.nextInt(data.length - index + 1);
+				final byte[] removed = new byte[data.length - length];
+				System.arraycopy(data, 0, removed, 0, index);
+				System.arraycopy(data, index + length, removed, index, data.length - index - length);
+				return removed;
+			}
+			
+			//duplicate a range of bytes
+			default:
+			{
+				final int length = random.nextInt(Math.min(data.length - index, 256) + 1);
+				final byte[] duplicated = new byte[data.length + length];
+				System.arraycopy(data, 0, duplicated, 0, index + length);
+				System.arraycopy(data, index, duplicated, index + length, data.length - index);
+				return duplicated;
+			}
+		}
+	}
+	// --------------------------------------------------
+	private static final byte[] write(IStatsProvider stats, boolean compress)
+	{
+		final var buffer = new FriendlyByteBuf(Unpooled.buffer());
+		StatsProviderIO.write(buffer, stats, compress);
+		return toByteArray(buffer);
+	}
+	
+	/**
+	 * Writes file version 4, whose stat type chunks are the ones that get decoded in parallel.
+	 */
+	private static final byte[] writeVersion4(IStatsProvider stats)
+	{
+		final var buffer = new FriendlyByteBuf(Unpooled.buffer());
+		buffer.writeBytes("RIFF".getBytes(US_ASCII));
+		final int fileSizeIndex = StatsProviderIO.reserveChunkSize(buffer);
+		buffer.writeBytes(StatsProviderIO.FILE_EXTENSION.toUpperCase().getBytes(US_ASCII));
+		buffer.writeIntLE(4);
+		StatsProviderIO_fv4.write_fileChunks(buffer, stats);
+		StatsProviderIO.patchChunkSize(buffer, fileSizeIndex);
+		return toByteArray(buffer);
+	}
+	
+	private static final byte[] toByteArray(FriendlyByteBuf buffer)
+	{
+		try
+		{
+			final byte[] result = new byte[buffer.readableBytes()];
+			buffer.readBytes(result);
+			return result;
+		}
+		finally { buffer.release(); }
+	}
+	
+	private static final FriendlyByteBuf buffer(byte[] data) { return new FriendlyByteBuf(Unpooled.wrappedBuffer(data)); }
+	// --------------------------------------------------
+	private static final void setIntLE(byte[] data, int index, int value)
+	{
+		ByteBuffer.wrap(data).order(ByteOrder.LITTLE_ENDIAN).putInt(index, value);
+	}
+	
+	/**
+	 * Makes the "RIFF" header's size match the actual size of the data.
+	 */
+	private static final void patchRiffSize(byte[] data)
+	{
+		if(data.length >= 8) setIntLE(data, 4, data.length - 8);
+	}
+	// ==================================================
+}
\ No newline at end of file